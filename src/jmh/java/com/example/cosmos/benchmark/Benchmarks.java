@@ -0,0 +1,84 @@
+package com.example.cosmos.benchmark;
+
+import com.example.cosmos.admission.AdmissionControl;
+import com.example.cosmos.config.AdmissionControlConfig;
+import com.example.cosmos.config.BulkIngestConfig;
+import com.example.cosmos.config.EventReadCacheConfig;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.config.HedgingConfig;
+import com.example.cosmos.controller.BulkEventRequestReader;
+import com.example.cosmos.controller.EventController;
+import com.example.cosmos.projection.TransactionStatusProjection;
+import com.example.cosmos.repository.BlockingEventRepository;
+import com.example.cosmos.repository.EventStore;
+import com.example.cosmos.repository.HedgedReads;
+import com.example.cosmos.service.EventReadCache;
+import com.example.cosmos.service.EventService;
+import com.example.cosmos.service.ReadCoalescer;
+import com.example.cosmos.service.TimeOrderedEventIdGenerator;
+import com.example.cosmos.timeindex.LocalEventTimeIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * Montagem dos componentes da aplicação fora do Spring para os benchmarks.
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    /**
+     * ObjectMapper equivalente ao configurado pelo Spring Boot (datas ISO-8601).
+     */
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    static EventService eventService(EventStore store, boolean readCacheEnabled) {
+        return eventService(store, readCacheEnabled, admissionConfig(), ExecutionMode.platform());
+    }
+
+    static EventService eventService(
+        EventStore store,
+        boolean readCacheEnabled,
+        AdmissionControlConfig admissionConfig,
+        ExecutionMode execution
+    ) {
+        var meterRegistry = new SimpleMeterRegistry();
+        var hedgedReads = new HedgedReads(new HedgingConfig(false, Duration.ofMillis(50)), meterRegistry);
+        var repository = new BlockingEventRepository(store, new BulkIngestConfig(100, 4), hedgedReads, execution);
+        var cacheConfig = new EventReadCacheConfig(
+            readCacheEnabled, 10_000, Duration.ofMinutes(5),
+            readCacheEnabled, 10_000, Duration.ofSeconds(2)
+        );
+        var readCache = new EventReadCache(cacheConfig, meterRegistry);
+        return new EventService(
+            repository,
+            readCache,
+            new TimeOrderedEventIdGenerator(),
+            new ReadCoalescer(meterRegistry),
+            new TransactionStatusProjection(meterRegistry),
+            new AdmissionControl(admissionConfig, meterRegistry),
+            new LocalEventTimeIndex(store)
+        );
+    }
+
+    /**
+     * Admission control com os padrões da aplicação.
+     */
+    static AdmissionControlConfig admissionConfig() {
+        return new AdmissionControlConfig(true, 64, 512, 32, 256, 2, Duration.ofMillis(500), 0.7, Duration.ofSeconds(1));
+    }
+
+    static EventController eventController(EventService eventService) {
+        return new EventController(eventService, new BulkEventRequestReader(objectMapper(), ExecutionMode.platform()));
+    }
+}
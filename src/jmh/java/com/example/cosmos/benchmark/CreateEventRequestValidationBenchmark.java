@@ -0,0 +1,50 @@
+package com.example.cosmos.benchmark;
+
+import com.example.cosmos.controller.dto.CreateEventRequest;
+import com.example.cosmos.model.EventType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Set;
+
+/**
+ * Bean Validation do {@link CreateEventRequest} ({@code @Valid} no POST /api/events).
+ */
+@State(Scope.Benchmark)
+public class CreateEventRequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CreateEventRequest valid;
+    private CreateEventRequest invalid;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = new CreateEventRequest(EventType.STARTED);
+        invalid = new CreateEventRequest(null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateEventRequest>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateEventRequest>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+}
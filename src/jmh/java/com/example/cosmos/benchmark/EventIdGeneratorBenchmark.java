@@ -0,0 +1,44 @@
+package com.example.cosmos.benchmark;
+
+import com.example.cosmos.service.EventIdGenerator;
+import com.example.cosmos.service.RandomUuidEventIdGenerator;
+import com.example.cosmos.service.TimeOrderedEventIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Geração de ids: UUIDv4 aleatório (original) vs time-ordered, com 1 e com 8 threads
+ * disputando o mesmo gerador (como no service sob carga).
+ */
+@State(Scope.Benchmark)
+public class EventIdGeneratorBenchmark {
+
+    @Param({"uuid", "time-ordered"})
+    public String generator;
+
+    private EventIdGenerator idGenerator;
+
+    @Setup
+    public void setup() {
+        idGenerator = switch (generator) {
+            case "uuid" -> new RandomUuidEventIdGenerator();
+            case "time-ordered" -> new TimeOrderedEventIdGenerator();
+            default -> throw new IllegalArgumentException("Unknown generator: " + generator);
+        };
+    }
+
+    @Benchmark
+    public String nextId() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String nextIdContended() {
+        return idGenerator.nextId();
+    }
+}
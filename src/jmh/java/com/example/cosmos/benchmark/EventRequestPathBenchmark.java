@@ -0,0 +1,62 @@
+package com.example.cosmos.benchmark;
+
+import com.example.cosmos.config.InMemoryStoreConfig;
+import com.example.cosmos.controller.EventController;
+import com.example.cosmos.controller.dto.CreateEventRequest;
+import com.example.cosmos.controller.dto.EventCreatedResponse;
+import com.example.cosmos.controller.dto.EventResponse;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.memory.InMemoryEventStore;
+import com.example.cosmos.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Caminho completo de uma requisição: {@link EventController} -> {@link EventService} ->
+ * repositório, sobre o {@link InMemoryEventStore}. Mede o custo por requisição do próprio
+ * serviço, sem HTTP nem Cosmos DB.
+ */
+@State(Scope.Benchmark)
+public class EventRequestPathBenchmark {
+
+    @Param({"true", "false"})
+    public boolean readCacheEnabled;
+
+    private EventController controller;
+    private CreateEventRequest request;
+    private Event existing;
+
+    // Recriado a cada iteração para o store não crescer indefinidamente com os creates
+    @Setup(Level.Iteration)
+    public void setup() {
+        var store = new InMemoryEventStore(InMemoryStoreConfig.noLatency());
+        EventService eventService = Benchmarks.eventService(store, readCacheEnabled);
+        controller = Benchmarks.eventController(eventService);
+        request = new CreateEventRequest(EventType.STARTED);
+        existing = eventService.createEvent(EventType.STARTED).block();
+        eventService.createEvent(existing.getTransactionId(), EventType.FINALIZED).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<EventCreatedResponse> createEvent() {
+        return controller.createEvent(request).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<EventResponse> getEvent() {
+        return controller.getEvent(existing.getId(), existing.getTransactionId(), null, null).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<EventResponse>> getEventsByTransactionId() {
+        return controller.getEvents(existing.getTransactionId(), null, null, null, null, null, null).block();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.cosmos.benchmark;
+
+import com.example.cosmos.controller.dto.EventResponse;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Mapeamento {@link Event} -> {@link EventResponse} feito em toda leitura.
+ */
+@State(Scope.Benchmark)
+public class EventResponseMappingBenchmark {
+
+    private Event event;
+
+    @Setup
+    public void setup() {
+        event = new Event(UUID.randomUUID().toString(), UUID.randomUUID().toString(), EventType.FINALIZED, Instant.now());
+    }
+
+    @Benchmark
+    public EventResponse from() {
+        return EventResponse.from(event);
+    }
+}
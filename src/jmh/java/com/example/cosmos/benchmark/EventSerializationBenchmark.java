@@ -0,0 +1,61 @@
+package com.example.cosmos.benchmark;
+
+import com.example.cosmos.model.CompactEvent;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * (De)serialização Jackson do {@link Event}, o formato trafegado com o Cosmos DB,
+ * nos formatos full e compact ({@link CompactEvent}).
+ */
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private Event event;
+    private byte[] json;
+    private ObjectWriter compactWriter;
+    private byte[] compactJson;
+
+    @Setup
+    public void setup() throws IOException {
+        var objectMapper = Benchmarks.objectMapper();
+        writer = objectMapper.writerFor(Event.class);
+        reader = objectMapper.readerFor(Event.class);
+        event = new Event(UUID.randomUUID().toString(), UUID.randomUUID().toString(), EventType.STARTED, Instant.now());
+        json = writer.writeValueAsBytes(event);
+        compactWriter = objectMapper.writerFor(CompactEvent.class);
+        compactJson = compactWriter.writeValueAsBytes(CompactEvent.from(event));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public Event deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] serializeCompact() throws IOException {
+        return compactWriter.writeValueAsBytes(CompactEvent.from(event));
+    }
+
+    @Benchmark
+    public Event deserializeCompact() throws IOException {
+        return reader.readValue(compactJson);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.cosmos.benchmark;
+
+import com.example.cosmos.controller.RawEventJson;
+import com.example.cosmos.controller.dto.EventResponse;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.EventDocumentFormat;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resposta de GET /api/events?transactionId a partir dos documentos já recebidos do Cosmos DB
+ * (árvores JSON, como o SDK os entrega), pelos dois caminhos:
+ * <ul>
+ *   <li><b>mapped</b> - documento -> {@link Event} -> {@link EventResponse} -> JSON (caminho atual)</li>
+ *   <li><b>raw</b> - documento -> JSON, removendo as propriedades de sistema ({@link RawEventJson})</li>
+ * </ul>
+ * Os documentos incluem as propriedades de sistema do Cosmos. O profiler gc mostra a alocação por
+ * resposta ({@code gc.alloc.rate.norm}). Os dois caminhos escrevem num stream, como a resposta
+ * HTTP, em vez de montar um byte[].
+ */
+@State(Scope.Benchmark)
+public class RawReadBenchmark {
+
+    private static final int EVENTS_PER_TRANSACTION = 20;
+
+    @Param({"FULL", "COMPACT"})
+    public String documentFormat;
+
+    private ObjectReader eventReader;
+    private ObjectWriter responseWriter;
+    private List<JsonNode> documents;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = Benchmarks.objectMapper();
+        // Como o SDK: propriedades desconhecidas (as de sistema) são ignoradas
+        eventReader = objectMapper.readerFor(Event.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        responseWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, EventResponse.class));
+
+        var format = EventDocumentFormat.of(documentFormat);
+        var transactionId = UUID.randomUUID().toString();
+        documents = new ArrayList<>(EVENTS_PER_TRANSACTION);
+        for (int i = 0; i < EVENTS_PER_TRANSACTION; i++) {
+            var event = new Event(UUID.randomUUID().toString(), transactionId,
+                i == EVENTS_PER_TRANSACTION - 1 ? EventType.FINALIZED : EventType.STARTED, Instant.now());
+            ObjectNode document = objectMapper.valueToTree(format.toDocument(event));
+            document.put("_rid", "3f0aAJ2bPjEBAAAAAAAAAA==");
+            document.put("_self", "dbs/3f0aAA==/colls/3f0aAJ2bPjE=/docs/3f0aAJ2bPjEBAAAAAAAAAA==/");
+            document.put("_etag", "\"0000d20b-0000-0200-0000-663240000000\"");
+            document.put("_attachments", "attachments/");
+            document.put("_ts", 1714569216);
+            documents.add(document);
+        }
+    }
+
+    @Benchmark
+    public long mapped() throws IOException {
+        List<EventResponse> responses = new ArrayList<>(documents.size());
+        for (JsonNode document : documents) {
+            Event event = eventReader.readValue(document);
+            responses.add(EventResponse.from(event));
+        }
+        var out = new CountingOutputStream();
+        responseWriter.writeValue(out, responses);
+        return out.count;
+    }
+
+    @Benchmark
+    public long raw() throws IOException {
+        var out = new CountingOutputStream();
+        RawEventJson.writeJsonArray(documents, out);
+        return out.count;
+    }
+
+    /**
+     * Faz o papel do stream da resposta: só conta os bytes.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.cosmos.benchmark;
+
+import com.example.cosmos.config.AdmissionControlConfig;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.config.InMemoryStoreConfig;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.memory.InMemoryEventStore;
+import com.example.cosmos.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Requisições concorrentes com chamadas bloqueantes ao store: threads de plataforma x virtuais.
+ * <p>
+ * Simula o caminho do modo sync com o servlet stack: cada requisição ocupa uma thread enquanto
+ * espera o backend. O backend é o {@link InMemoryEventStore} com latência injetada em toda leitura,
+ * no lugar do Cosmos DB. Com threads de plataforma o pool tem o tamanho padrão do Tomcat
+ * ({@value #PLATFORM_POOL_SIZE}) e as requisições excedentes esperam na fila; com threads virtuais
+ * cada requisição tem sua thread e o limite passa a ser o backend. Cache e admission control ficam
+ * desligados para medir apenas o modelo de threads.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class VirtualThreadsBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final int CONCURRENCY = 2_000;
+    private static final Duration READ_LATENCY = Duration.ofMillis(10);
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ExecutorService executor;
+    private EventService eventService;
+    private List<Event> events;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final boolean virtual = threads.equals("virtual");
+        executor = virtual
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+
+        var store = new InMemoryEventStore(InMemoryStoreConfig.readLatency(READ_LATENCY, 0, Duration.ZERO));
+        var admissionDisabled = new AdmissionControlConfig(
+            false, 64, 512, 32, 256, 2, Duration.ofMillis(500), 0.7, Duration.ofSeconds(1)
+        );
+        eventService = Benchmarks.eventService(store, false, admissionDisabled, new ExecutionMode(virtual));
+
+        events = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            events.add(eventService.createEvent(EventType.STARTED).block());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Uma rajada de {@value #CONCURRENCY} leituras por ID simultâneas; o score é em leituras/s.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public int concurrentReads() throws InterruptedException, ExecutionException {
+        final List<Future<Event>> futures = new ArrayList<>(CONCURRENCY);
+        for (Event event : events) {
+            futures.add(executor.submit(() -> eventService.getEvent(event.getId(), event.getTransactionId()).block()));
+        }
+        int found = 0;
+        for (Future<Event> future : futures) {
+            if (future.get() != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
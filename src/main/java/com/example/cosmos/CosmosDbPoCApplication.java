@@ -10,7 +10,10 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 public class CosmosDbPoCApplication {
 
 	public static void main(String[] args) {
-      ApplicationInsights.attach();
+      // Sem connection string o agente não envia nada, mas ainda sonda o IMDS do Azure e atrasa o startup fora da nuvem
+      if (System.getenv("APPLICATIONINSIGHTS_CONNECTION_STRING") != null) {
+          ApplicationInsights.attach();
+      }
       SpringApplication.run(CosmosDbPoCApplication.class, args);
 	}
 
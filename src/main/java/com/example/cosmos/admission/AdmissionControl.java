@@ -0,0 +1,189 @@
+package com.example.cosmos.admission;
+
+import com.azure.cosmos.CosmosException;
+import com.example.cosmos.config.AdmissionControlConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Admission control na frente do repositório de eventos, com orçamentos separados para
+ * leitura e escrita ({@link AimdLimiter}).
+ * <p>
+ * Sem capacidade, a chamada falha imediatamente com {@link ServiceOverloadedException} (503 +
+ * Retry-After) em vez de enfileirar. Um 429 do Cosmos que persistiu após os retries do SDK reduz
+ * o limite e é devolvido ao cliente como 429, com o Retry-After sugerido pelo Cosmos.
+ * Métricas: {@code events.admission.limit}, {@code events.admission.in-flight} e
+ * {@code events.admission.rejected}, por {@code budget} (read|write).
+ * </p>
+ */
+@Component
+public class AdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    private final AdmissionControlConfig config;
+    private final Budget read;
+    private final Budget write;
+
+    public AdmissionControl(AdmissionControlConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        final long latencyThreshold = config.latencyThreshold.toNanos();
+        this.read = new Budget("read", new AimdLimiter(
+            config.readInitialLimit, config.minLimit, config.readMaxLimit, config.backoffRatio, latencyThreshold), meterRegistry);
+        this.write = new Budget("write", new AimdLimiter(
+            config.writeInitialLimit, config.minLimit, config.writeMaxLimit, config.backoffRatio, latencyThreshold), meterRegistry);
+    }
+
+    public <T> Mono<T> read(Supplier<Mono<T>> call) {
+        return admit(read, call);
+    }
+
+    public <T> Mono<T> write(Supplier<Mono<T>> call) {
+        return admit(write, call);
+    }
+
+    /**
+     * Leituras longas (streams): ocupam uma permissão até o fim, mas a duração não é usada
+     * como sinal de latência.
+     */
+    public <T> Flux<T> readMany(Supplier<Flux<T>> call) {
+        return admitMany(read, call);
+    }
+
+    /**
+     * Escritas longas (ingestão em lote), com a mesma regra de {@link #readMany(Supplier)}.
+     */
+    public <T> Flux<T> writeMany(Supplier<Flux<T>> call) {
+        return admitMany(write, call);
+    }
+
+    private <T> Mono<T> admit(Budget budget, Supplier<Mono<T>> call) {
+        if (!config.enabled) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            if (!budget.limiter.tryAcquire()) {
+                return Mono.error(budget.reject());
+            }
+            final var permit = new Permit(budget.limiter, true);
+            Mono<T> source;
+            try {
+                source = call.get();
+            } catch (RuntimeException e) {
+                // Falha ao montar a chamada: vira sinal de erro para liberar a permissão como as demais
+                source = Mono.error(e);
+            }
+            return source
+                .doOnSuccess(value -> permit.release(AimdLimiter.Outcome.SUCCESS))
+                .doOnError(e -> permit.release(throttled(e) != null ? AimdLimiter.Outcome.OVERLOADED : AimdLimiter.Outcome.IGNORED))
+                .doOnCancel(() -> permit.release(AimdLimiter.Outcome.IGNORED))
+                .onErrorMap(e -> throttled(e) != null, e -> throttledError(e));
+        });
+    }
+
+    private <T> Flux<T> admitMany(Budget budget, Supplier<Flux<T>> call) {
+        if (!config.enabled) {
+            return Flux.defer(call);
+        }
+        return Flux.defer(() -> {
+            if (!budget.limiter.tryAcquire()) {
+                return Flux.error(budget.reject());
+            }
+            final var permit = new Permit(budget.limiter, false);
+            Flux<T> source;
+            try {
+                source = call.get();
+            } catch (RuntimeException e) {
+                source = Flux.error(e);
+            }
+            return source
+                .doOnComplete(() -> permit.release(AimdLimiter.Outcome.IGNORED))
+                .doOnError(e -> permit.release(throttled(e) != null ? AimdLimiter.Outcome.OVERLOADED : AimdLimiter.Outcome.IGNORED))
+                .doOnCancel(() -> permit.release(AimdLimiter.Outcome.IGNORED))
+                .onErrorMap(e -> throttled(e) != null, e -> throttledError(e));
+        });
+    }
+
+    /**
+     * O 429 do Cosmos chega embrulhado pelo repositório; procura na cadeia de causas.
+     */
+    private static CosmosException throttled(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof CosmosException cosmosException && cosmosException.getStatusCode() == 429) {
+                return cosmosException;
+            }
+        }
+        return null;
+    }
+
+    private ServiceOverloadedException throttledError(Throwable error) {
+        final Duration suggested = throttled(error).getRetryAfterDuration();
+        final Duration retryAfter = suggested != null && !suggested.isZero() ? suggested : config.retryAfter;
+        return new ServiceOverloadedException(HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Cosmos DB request rate is too large", error);
+    }
+
+    private final class Budget {
+
+        private final String name;
+        private final AimdLimiter limiter;
+        private final Counter rejected;
+
+        private Budget(String name, AimdLimiter limiter, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.limiter = limiter;
+            Gauge.builder("events.admission.limit", limiter, AimdLimiter::getLimit)
+                .description("Limite atual de chamadas concorrentes ao repositório")
+                .tag("budget", name)
+                .register(meterRegistry);
+            Gauge.builder("events.admission.in-flight", limiter, AimdLimiter::getInFlight)
+                .description("Chamadas ao repositório em andamento")
+                .tag("budget", name)
+                .register(meterRegistry);
+            this.rejected = Counter.builder("events.admission.rejected")
+                .description("Chamadas recusadas por falta de capacidade")
+                .tag("budget", name)
+                .register(meterRegistry);
+        }
+
+        private ServiceOverloadedException reject() {
+            rejected.increment();
+            log.debug("Admission rejected: budget={}, limit={}", name, limiter.getLimit());
+            return new ServiceOverloadedException(HttpStatus.SERVICE_UNAVAILABLE, config.retryAfter,
+                "Too many concurrent " + name + " requests", null);
+        }
+    }
+
+    /**
+     * Permissão obtida no limiter; liberada uma única vez, no primeiro sinal terminal.
+     */
+    private static final class Permit {
+
+        private final AimdLimiter limiter;
+        private final boolean measureLatency;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AimdLimiter limiter, boolean measureLatency) {
+            this.limiter = limiter;
+            this.measureLatency = measureLatency;
+        }
+
+        private void release(AimdLimiter.Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                final var effective = !measureLatency && outcome == AimdLimiter.Outcome.SUCCESS ? AimdLimiter.Outcome.IGNORED : outcome;
+                limiter.release(start, effective);
+            }
+        }
+    }
+}
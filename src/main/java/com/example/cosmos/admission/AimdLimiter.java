@@ -0,0 +1,90 @@
+package com.example.cosmos.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência AIMD (additive increase, multiplicative decrease).
+ * <p>
+ * {@link #tryAcquire()} nunca bloqueia: sem capacidade, a chamada é recusada. Ao liberar, uma
+ * resposta rápida aumenta o limite em {@code 1/limit} (≈ +1 a cada janela de {@code limit}
+ * chamadas), desde que o limite esteja sendo usado; um 429 ou latência acima do limiar o
+ * multiplica por {@code backoffRatio}. Chamadas iniciadas antes da última redução não reduzem
+ * de novo, para que uma rajada de 429 conte como um único sinal.
+ * </p>
+ */
+public final class AimdLimiter {
+
+    public enum Outcome {
+        SUCCESS,
+        OVERLOADED,
+        IGNORED
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    private long lastDecrease;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.lastDecrease = System.nanoTime();
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera uma permissão obtida em {@link #tryAcquire()} e ajusta o limite pelo resultado.
+     *
+     * @param startNanos {@code System.nanoTime()} do início da chamada
+     */
+    public void release(long startNanos, Outcome outcome) {
+        final int inFlightBefore = inFlight.getAndDecrement();
+        if (outcome == Outcome.IGNORED) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final boolean overloaded = outcome == Outcome.OVERLOADED || now - startNanos > latencyThresholdNanos;
+
+        lock.lock();
+        try {
+            if (overloaded) {
+                if (startNanos - lastDecrease > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecrease = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.cosmos.admission;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * A requisição não foi atendida por falta de capacidade: recusada pelo admission control
+ * (503) ou throttling do Cosmos DB que persistiu após os retries do SDK (429).
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(HttpStatus status, Duration retryAfter, String message, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Retry-After em segundos inteiros, arredondado para cima (mínimo 1).
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
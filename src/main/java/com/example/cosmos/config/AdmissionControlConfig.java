@@ -0,0 +1,88 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do admission control (limite adaptativo de concorrência) na frente do repositório.
+ * <p>
+ * Leituras e escritas têm limites independentes; cada um cresce de forma aditiva enquanto as
+ * chamadas respondem abaixo de {@code latencyThreshold} e cai de forma multiplicativa
+ * ({@code backoffRatio}) em throttling (429) ou latência alta.
+ * </p>
+ */
+@ConfigurationProperties(prefix = "azure.cosmos.admission")
+public class AdmissionControlConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlConfig.class);
+
+    public final boolean enabled;
+
+    public final int readInitialLimit;
+    public final int readMaxLimit;
+    public final int writeInitialLimit;
+    public final int writeMaxLimit;
+
+    /**
+     * Limite mínimo de chamadas concorrentes (leitura e escrita).
+     */
+    public final int minLimit;
+
+    /**
+     * Latência acima da qual o limite é reduzido mesmo sem 429.
+     */
+    public final Duration latencyThreshold;
+
+    /**
+     * Fator aplicado ao limite a cada redução (0 < backoffRatio < 1).
+     */
+    public final double backoffRatio;
+
+    /**
+     * Valor do header Retry-After quando uma requisição é recusada por falta de capacidade.
+     */
+    public final Duration retryAfter;
+
+    public AdmissionControlConfig(
+        @DefaultValue("true")
+        boolean enabled,
+        @DefaultValue("64")
+        int readInitialLimit,
+        @DefaultValue("512")
+        int readMaxLimit,
+        @DefaultValue("32")
+        int writeInitialLimit,
+        @DefaultValue("256")
+        int writeMaxLimit,
+        @DefaultValue("2")
+        int minLimit,
+        @DefaultValue("500ms")
+        Duration latencyThreshold,
+        @DefaultValue("0.7")
+        double backoffRatio,
+        @DefaultValue("1s")
+        Duration retryAfter
+    ) {
+        this.enabled = enabled;
+        this.readInitialLimit = readInitialLimit;
+        this.readMaxLimit = readMaxLimit;
+        this.writeInitialLimit = writeInitialLimit;
+        this.writeMaxLimit = writeMaxLimit;
+        this.minLimit = minLimit;
+        this.latencyThreshold = latencyThreshold;
+        this.backoffRatio = backoffRatio;
+        this.retryAfter = retryAfter;
+
+        log.info("admission.enabled={}", enabled);
+        log.info("admission.readInitialLimit={}, readMaxLimit={}", readInitialLimit, readMaxLimit);
+        log.info("admission.writeInitialLimit={}, writeMaxLimit={}", writeInitialLimit, writeMaxLimit);
+        log.info("admission.minLimit={}", minLimit);
+        log.info("admission.latencyThreshold={}", latencyThreshold);
+        log.info("admission.backoffRatio={}", backoffRatio);
+        log.info("admission.retryAfter={}", retryAfter);
+    }
+}
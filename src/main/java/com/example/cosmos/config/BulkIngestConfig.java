@@ -0,0 +1,42 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da ingestão em lote (POST /api/events/bulk).
+ * <p>
+ * No máximo {@code chunkSize * maxInFlightChunks} eventos ficam em voo ao mesmo tempo;
+ * acima disso a leitura do corpo da requisição é pausada (backpressure).
+ * </p>
+ */
+@ConfigurationProperties(prefix = "azure.cosmos.bulk-ingest")
+public class BulkIngestConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkIngestConfig.class);
+
+    /**
+     * Quantidade de eventos enviados em cada chamada de bulk.
+     */
+    public final int chunkSize;
+
+    /**
+     * Quantidade máxima de chamadas de bulk em andamento simultaneamente.
+     */
+    public final int maxInFlightChunks;
+
+    public BulkIngestConfig(
+        @DefaultValue("100")
+        int chunkSize,
+        @DefaultValue("4")
+        int maxInFlightChunks
+    ) {
+        this.chunkSize = chunkSize;
+        this.maxInFlightChunks = maxInFlightChunks;
+
+        log.info("bulkIngest.chunkSize={}", chunkSize);
+        log.info("bulkIngest.maxInFlightChunks={}", maxInFlightChunks);
+    }
+}
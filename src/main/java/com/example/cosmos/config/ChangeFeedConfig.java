@@ -0,0 +1,64 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do consumo do change feed do container de eventos (projeção de status das transações).
+ */
+@ConfigurationProperties(prefix = "azure.cosmos.change-feed")
+public class ChangeFeedConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedConfig.class);
+
+    public final boolean enabled;
+
+    /**
+     * Espera entre leituras quando o change feed não tem mudanças novas.
+     */
+    public final Duration pollInterval;
+
+    /**
+     * Quantidade máxima de documentos por página do change feed.
+     */
+    public final int maxItemCount;
+
+    /**
+     * Arquivo com o checkpoint (continuation do change feed e snapshot da projeção).
+     */
+    public final String checkpointFile;
+
+    /**
+     * Intervalo mínimo entre checkpoints.
+     */
+    public final Duration checkpointInterval;
+
+    public ChangeFeedConfig(
+        @DefaultValue("false")
+        boolean enabled,
+        @DefaultValue("1s")
+        Duration pollInterval,
+        @DefaultValue("500")
+        int maxItemCount,
+        @DefaultValue("./data/change-feed-checkpoint.json")
+        String checkpointFile,
+        @DefaultValue("5s")
+        Duration checkpointInterval
+    ) {
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.maxItemCount = maxItemCount;
+        this.checkpointFile = checkpointFile;
+        this.checkpointInterval = checkpointInterval;
+
+        log.info("changeFeed.enabled={}", enabled);
+        log.info("changeFeed.pollInterval={}", pollInterval);
+        log.info("changeFeed.maxItemCount={}", maxItemCount);
+        log.info("changeFeed.checkpointFile={}", checkpointFile);
+        log.info("changeFeed.checkpointInterval={}", checkpointInterval);
+    }
+}
@@ -1,19 +1,28 @@
 package com.example.cosmos.config;
 
 import com.azure.cosmos.ConsistencyLevel;
+import com.azure.cosmos.CosmosAsyncClient;
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosAsyncDatabase;
 import com.azure.cosmos.CosmosClient;
 import com.azure.cosmos.CosmosClientBuilder;
 import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.CosmosContainerProactiveInitConfigBuilder;
 import com.azure.cosmos.CosmosDatabase;
+import com.azure.cosmos.DirectConnectionConfig;
+import com.azure.cosmos.GatewayConnectionConfig;
+import com.azure.cosmos.ThrottlingRetryOptions;
+import com.azure.cosmos.models.CosmosContainerIdentity;
 import com.azure.cosmos.models.CosmosContainerProperties;
-import com.azure.cosmos.models.IndexingMode;
-import com.azure.cosmos.models.IndexingPolicy;
 import com.azure.cosmos.models.ThroughputProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -39,21 +48,29 @@ public class CosmosDbBeans {
         log.info("CosmosDbBeans initialized with config for database: {}", config.database);
     }
 
+    /**
+     * Bean do CosmosClient (modo sync).
+     * Único cliente da aplicação: mantido durante todo o ciclo de vida e fechado no shutdown.
+     */
+    @Bean(name = "cosmosClient", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "sync", matchIfMissing = true)
+    public CosmosClient cosmosClient() {
+        log.debug("Creating cosmosClient...");
+        return cosmosClientBuilder().buildClient();
+    }
+
     /**
      * Bean do CosmosDatabase.
      * Cria o database se não existir com throughput autoscale.
      */
     @Bean("cosmosDb")
-    public CosmosDatabase cosmosDb() {
+    @ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "sync", matchIfMissing = true)
+    public CosmosDatabase cosmosDb(CosmosClient cosmosClient) {
         log.debug("Creating cosmosDb...");
-        final CosmosDatabase database;
-        try (final CosmosClient client = getCosmosClient()) {
-            final var throughput = ThroughputProperties.createAutoscaledThroughput(AUTOSCALE_MAX_THROUGHPUT);
-            client.createDatabaseIfNotExists(config.database, throughput);
-            database = client.getDatabase(config.database);
-        }
+        final var throughput = ThroughputProperties.createAutoscaledThroughput(AUTOSCALE_MAX_THROUGHPUT);
+        cosmosClient.createDatabaseIfNotExists(config.database, throughput);
         log.info("CosmosDb created: {}", config.database);
-        return database;
+        return cosmosClient.getDatabase(config.database);
     }
 
     /**
@@ -61,6 +78,7 @@ public class CosmosDbBeans {
      * Cria o container se não existir com as propriedades configuradas.
      */
     @Bean("events")
+    @ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "sync", matchIfMissing = true)
     public CosmosContainer events(CosmosDatabase cosmosDb) {
         log.debug("Creating events container...");
         final var properties = containerDefaults(
@@ -72,9 +90,104 @@ public class CosmosDbBeans {
 
         final var container = cosmosDb.getContainer(config.eventsContainerName);
         log.info("Events container created: {}", config.eventsContainerName);
+
+        final var current = container.read().getProperties();
+        if (applyIndexingPolicy(current)) {
+            container.replace(current);
+        }
         return container;
     }
 
+    /**
+     * Bean do container do índice temporal ({@code azure.cosmos.time-index.enabled=true}).
+     */
+    @Bean("eventsByTime")
+    @ConditionalOnExpression("${azure.cosmos.time-index.enabled:false} and '${azure.cosmos.repository-mode:sync}' == 'sync'")
+    public CosmosContainer eventsByTime(CosmosDatabase cosmosDb, TimeIndexConfig timeIndexConfig) {
+        log.debug("Creating time index container...");
+        cosmosDb.createContainerIfNotExists(timeIndexContainer(timeIndexConfig));
+        log.info("Time index container created: {}", timeIndexConfig.containerName);
+        return cosmosDb.getContainer(timeIndexConfig.containerName);
+    }
+
+    /**
+     * Bean do CosmosAsyncClient (modo async).
+     * Mantido durante todo o ciclo de vida da aplicação e fechado no shutdown.
+     */
+    @Bean(name = "cosmosAsyncClient", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "async")
+    public CosmosAsyncClient cosmosAsyncClient() {
+        log.debug("Creating cosmosAsyncClient...");
+        return cosmosClientBuilder().buildAsyncClient();
+    }
+
+    /**
+     * Bean do CosmosAsyncDatabase (modo async).
+     * Cria o database se não existir com throughput autoscale.
+     */
+    @Bean("cosmosAsyncDb")
+    @ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "async")
+    public CosmosAsyncDatabase cosmosAsyncDb(CosmosAsyncClient cosmosAsyncClient) {
+        log.debug("Creating cosmosAsyncDb...");
+        final var throughput = ThroughputProperties.createAutoscaledThroughput(AUTOSCALE_MAX_THROUGHPUT);
+        cosmosAsyncClient.createDatabaseIfNotExists(config.database, throughput).block();
+        log.info("CosmosAsyncDb created: {}", config.database);
+        return cosmosAsyncClient.getDatabase(config.database);
+    }
+
+    /**
+     * Bean do container "events" assíncrono (modo async).
+     * Cria o container se não existir com as propriedades configuradas.
+     */
+    @Bean("eventsAsync")
+    @ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "async")
+    public CosmosAsyncContainer eventsAsync(CosmosAsyncDatabase cosmosAsyncDb) {
+        log.debug("Creating async events container...");
+        final var properties = containerDefaults(
+            config.eventsContainerName,
+            config.eventsContainerPartition,
+            config.eventsContainerTTL
+        );
+        cosmosAsyncDb.createContainerIfNotExists(properties).block();
+
+        final var container = cosmosAsyncDb.getContainer(config.eventsContainerName);
+        log.info("Async events container created: {}", config.eventsContainerName);
+
+        final var current = container.read().block().getProperties();
+        if (applyIndexingPolicy(current)) {
+            container.replace(current).block();
+        }
+        return container;
+    }
+
+    /**
+     * Bean do container do índice temporal assíncrono (modo async).
+     */
+    @Bean("eventsByTimeAsync")
+    @ConditionalOnExpression("${azure.cosmos.time-index.enabled:false} and '${azure.cosmos.repository-mode:sync}' == 'async'")
+    public CosmosAsyncContainer eventsByTimeAsync(CosmosAsyncDatabase cosmosAsyncDb, TimeIndexConfig timeIndexConfig) {
+        log.debug("Creating async time index container...");
+        cosmosAsyncDb.createContainerIfNotExists(timeIndexContainer(timeIndexConfig)).block();
+        log.info("Async time index container created: {}", timeIndexConfig.containerName);
+        return cosmosAsyncDb.getContainer(timeIndexConfig.containerName);
+    }
+
+    /**
+     * Propriedades do container do índice temporal: partition key {@code /bucket} e índice apenas
+     * nos campos filtrados/ordenados pelas consultas por janela (timestamp e tipo, no formato compacto).
+     */
+    private CosmosContainerProperties timeIndexContainer(TimeIndexConfig timeIndexConfig) {
+        final var properties = new CosmosContainerProperties(timeIndexConfig.containerName, "/bucket");
+        properties.setIndexingPolicy(IndexingPolicies.build(
+            "consistent",
+            List.of("/ts/?", "/e/?"),
+            List.of("/*"),
+            List.of("/e ASC;/ts ASC")
+        ));
+        properties.setDefaultTimeToLiveInSeconds(timeIndexConfig.containerTTL);
+        return properties;
+    }
+
     /**
      * Cria as propriedades padrão para um container Cosmos DB.
      *
@@ -94,13 +207,11 @@ public class CosmosDbBeans {
         );
 
         /*
-         * Não cria índices secundários. O IndexingMode.NONE previne a criação de índices secundários
-         * em outras propriedades nos documentos, que seriam usados para queries eficientes nesses campos.
-         * Não desabilita a funcionalidade central relacionada à primary key.
+         * Indexing policy configurável (azure.cosmos.indexing-*): por padrão indexa apenas os campos
+         * consultados (transactionId, eventType, timestamp) e o índice composto transactionId + timestamp,
+         * mantendo o custo de escrita baixo sem transformar as queries em scans.
          */
-        final var indexingPolicy = new IndexingPolicy();
-        indexingPolicy.setIndexingMode(IndexingMode.NONE);
-        properties.setIndexingPolicy(indexingPolicy);
+        properties.setIndexingPolicy(IndexingPolicies.fromConfig(config));
 
         /*
          * Define o Time-to-Live padrão para itens neste container:
@@ -114,25 +225,74 @@ public class CosmosDbBeans {
     }
 
     /**
-     * Cria um CosmosClient otimizado para performance:
+     * Atualiza a indexing policy de um container existente quando ela difere da configurada.
+     * O Cosmos DB reindexa em background após o replace.
+     *
+     * @return true se as propriedades foram alteradas e precisam de replace
+     */
+    private boolean applyIndexingPolicy(CosmosContainerProperties properties) {
+        final var desired = IndexingPolicies.fromConfig(config);
+        final var currentDescription = IndexingPolicies.describe(properties.getIndexingPolicy());
+        final var desiredDescription = IndexingPolicies.describe(desired);
+        if (currentDescription.equals(desiredDescription)) {
+            log.info("Indexing policy of {} is up to date: {}", properties.getId(), currentDescription);
+            return false;
+        }
+        log.info("Updating indexing policy of {}: {} -> {}", properties.getId(), currentDescription, desiredDescription);
+        properties.setIndexingPolicy(desired);
+        return true;
+    }
+
+    /**
+     * Cria o builder compartilhado pelos clientes síncrono e assíncrono, otimizado para performance:
      * <ul>
-     *   <li><b>Gateway mode</b> - mais resiliente a problemas de rede transitórios</li>
+     *   <li><b>Gateway mode</b> (padrão) - mais resiliente a problemas de rede transitórios;
+     *       <b>Direct mode</b> - conexões TCP direto com as réplicas, menor latência</li>
      *   <li><b>ConsistencyLevel EVENTUAL</b> - melhor balance de performance, disponibilidade e custo</li>
      *   <li><b>contentResponseOnWrite desabilitado</b> - melhora performance de escrita reduzindo overhead de rede e consumo de RU</li>
+     *   <li><b>Retries de 429 limitados</b> - o throttling chega rápido ao admission control em vez de segurar a thread</li>
+     *   <li><b>Warm-up</b> - abre as conexões e carrega os caches de metadados (partições, endereços) do container
+     *       de eventos na criação do cliente, para que as primeiras requisições após um deploy não paguem esse custo</li>
      * </ul>
      *
-     * @return cliente Cosmos configurado
+     * @return builder Cosmos configurado
      * @see <a href="https://www.ibm.com/think/topics/cap-theorem">What is the CAP theorem?</a>
      */
-    private CosmosClient getCosmosClient() {
-        return new CosmosClientBuilder()
+    private CosmosClientBuilder cosmosClientBuilder() {
+        final var gatewayConfig = new GatewayConnectionConfig();
+        gatewayConfig.setMaxConnectionPoolSize(config.gatewayMaxConnectionPoolSize);
+        gatewayConfig.setIdleConnectionTimeout(config.idleConnectionTimeout);
+
+        final var builder = new CosmosClientBuilder()
             .endpoint(config.uri)
             .key(config.key)
-            // Gateway mode é mais resiliente a problemas de rede transitórios
-            .gatewayMode()
             .contentResponseOnWriteEnabled(false)
             .consistencyLevel(ConsistencyLevel.EVENTUAL)
-            .buildClient();
+            .throttlingRetryOptions(new ThrottlingRetryOptions()
+                .setMaxRetryAttemptsOnThrottledRequests(config.throttlingMaxRetryAttempts)
+                .setMaxRetryWaitTime(config.throttlingMaxRetryWait));
+
+        if (!config.preferredRegions.isEmpty()) {
+            builder.preferredRegions(config.preferredRegions);
+        }
+
+        if (config.warmUpEnabled) {
+            // Sem aggressive warm-up o SDK abre as conexões em background: falhas não impedem a inicialização
+            builder.openConnectionsAndInitCaches(new CosmosContainerProactiveInitConfigBuilder(
+                List.of(new CosmosContainerIdentity(config.database, config.eventsContainerName))
+            ).build());
+            log.info("Proactive warm-up enabled for container {}", config.eventsContainerName);
+        }
+
+        if ("direct".equalsIgnoreCase(config.connectionMode)) {
+            final var directConfig = new DirectConnectionConfig();
+            directConfig.setMaxConnectionsPerEndpoint(config.directMaxConnectionsPerEndpoint);
+            directConfig.setMaxRequestsPerConnection(config.directMaxRequestsPerConnection);
+            directConfig.setIdleConnectionTimeout(config.idleConnectionTimeout);
+            // O gatewayConfig continua sendo usado para operações de metadados
+            return builder.directMode(directConfig, gatewayConfig);
+        }
+        // Gateway mode é mais resiliente a problemas de rede transitórios
+        return builder.gatewayMode(gatewayConfig);
     }
 }
-
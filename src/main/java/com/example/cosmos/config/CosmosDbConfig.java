@@ -5,6 +5,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * Configuração do Azure Cosmos DB baseada em properties.
  * As credenciais devem ser fornecidas via variáveis de ambiente.
@@ -22,6 +25,75 @@ public class CosmosDbConfig {
     public final String eventsContainerPartition;
     public final Integer eventsContainerTTL;
 
+    /**
+     * Modo do repositório de eventos: "sync" (CosmosContainer, bloqueante) ou
+     * "async" (CosmosAsyncContainer, não bloqueante).
+     */
+    public final String repositoryMode;
+
+    /**
+     * Modo de conexão do cliente: "gateway" (HTTPS via gateway) ou "direct" (TCP direto nas réplicas).
+     */
+    public final String connectionMode;
+    public final int gatewayMaxConnectionPoolSize;
+    public final int directMaxConnectionsPerEndpoint;
+    public final int directMaxRequestsPerConnection;
+    public final Duration idleConnectionTimeout;
+
+    /**
+     * Abre conexões e carrega caches de metadados do container de eventos na criação do cliente
+     * ({@code CosmosClientBuilder.openConnectionsAndInitCaches}).
+     */
+    public final boolean warmUpEnabled;
+
+    /**
+     * Indexing policy do container de eventos: "consistent" ou "none".
+     * Aplicada no startup também a containers já existentes.
+     */
+    public final String indexingMode;
+    public final List<String> indexingIncludedPaths;
+    public final List<String> indexingExcludedPaths;
+
+    /**
+     * Índices compostos, um por item, no formato "/transactionId ASC;/timestamp ASC".
+     */
+    public final List<String> indexingCompositeIndexes;
+
+    /**
+     * Operações mais lentas que esse limite têm as diagnostics do Cosmos logadas.
+     */
+    public final Duration diagnosticsThreshold;
+
+    /**
+     * Formato de gravação dos eventos: full | compact. A leitura aceita os dois.
+     */
+    public final String documentFormat;
+
+    /**
+     * Retries do SDK em respostas 429 antes de devolver o erro ao chamador.
+     */
+    public final int throttlingMaxRetryAttempts;
+
+    /**
+     * Tempo máximo acumulado de espera nos retries de 429.
+     */
+    public final Duration throttlingMaxRetryWait;
+
+    /**
+     * Regiões preferidas, em ordem (vazio = região de escrita da conta). Leituras hedged
+     * excluem a primeira região da lista.
+     */
+    public final List<String> preferredRegions;
+
+    /**
+     * Padrões dos scans cross-partition (findAll/stream), sobrescrevíveis por requisição:
+     * partições lidas em paralelo (0 = uma por vez, -1 = o SDK decide), itens lidos à frente
+     * do consumidor e tamanho de página.
+     */
+    public final int scanMaxDegreeOfParallelism;
+    public final int scanMaxBufferedItemCount;
+    public final int scanMaxItemCount;
+
     public CosmosDbConfig(
         String uri,
         String key,
@@ -31,7 +103,45 @@ public class CosmosDbConfig {
         @DefaultValue("/transactionId")
         String eventsContainerPartition,
         @DefaultValue("-1")
-        Integer eventsContainerTTL
+        Integer eventsContainerTTL,
+        @DefaultValue("sync")
+        String repositoryMode,
+        @DefaultValue("gateway")
+        String connectionMode,
+        @DefaultValue("1000")
+        int gatewayMaxConnectionPoolSize,
+        @DefaultValue("130")
+        int directMaxConnectionsPerEndpoint,
+        @DefaultValue("30")
+        int directMaxRequestsPerConnection,
+        @DefaultValue("60s")
+        Duration idleConnectionTimeout,
+        @DefaultValue("true")
+        boolean warmUpEnabled,
+        @DefaultValue("consistent")
+        String indexingMode,
+        @DefaultValue({"/transactionId/?", "/eventType/?", "/timestamp/?"})
+        List<String> indexingIncludedPaths,
+        @DefaultValue("/*")
+        List<String> indexingExcludedPaths,
+        @DefaultValue("/transactionId ASC;/timestamp ASC")
+        List<String> indexingCompositeIndexes,
+        @DefaultValue("500ms")
+        Duration diagnosticsThreshold,
+        @DefaultValue("full")
+        String documentFormat,
+        @DefaultValue("3")
+        int throttlingMaxRetryAttempts,
+        @DefaultValue("5s")
+        Duration throttlingMaxRetryWait,
+        @DefaultValue
+        List<String> preferredRegions,
+        @DefaultValue("-1")
+        int scanMaxDegreeOfParallelism,
+        @DefaultValue("2000")
+        int scanMaxBufferedItemCount,
+        @DefaultValue("1000")
+        int scanMaxItemCount
     ) {
         this.uri = uri;
         this.key = key;
@@ -39,6 +149,25 @@ public class CosmosDbConfig {
         this.eventsContainerName = eventsContainerName;
         this.eventsContainerPartition = eventsContainerPartition;
         this.eventsContainerTTL = eventsContainerTTL;
+        this.repositoryMode = repositoryMode;
+        this.connectionMode = connectionMode;
+        this.gatewayMaxConnectionPoolSize = gatewayMaxConnectionPoolSize;
+        this.directMaxConnectionsPerEndpoint = directMaxConnectionsPerEndpoint;
+        this.directMaxRequestsPerConnection = directMaxRequestsPerConnection;
+        this.idleConnectionTimeout = idleConnectionTimeout;
+        this.warmUpEnabled = warmUpEnabled;
+        this.indexingMode = indexingMode;
+        this.indexingIncludedPaths = indexingIncludedPaths;
+        this.indexingExcludedPaths = indexingExcludedPaths;
+        this.indexingCompositeIndexes = indexingCompositeIndexes;
+        this.diagnosticsThreshold = diagnosticsThreshold;
+        this.documentFormat = documentFormat;
+        this.throttlingMaxRetryAttempts = throttlingMaxRetryAttempts;
+        this.throttlingMaxRetryWait = throttlingMaxRetryWait;
+        this.preferredRegions = preferredRegions;
+        this.scanMaxDegreeOfParallelism = scanMaxDegreeOfParallelism;
+        this.scanMaxBufferedItemCount = scanMaxBufferedItemCount;
+        this.scanMaxItemCount = scanMaxItemCount;
 
         log.debug("=== CosmosDbConfig Initialized ===");
         log.info("uri={}", uri);
@@ -47,6 +176,25 @@ public class CosmosDbConfig {
         log.info("eventsContainerName={}", eventsContainerName);
         log.info("eventsContainerPartition={}", eventsContainerPartition);
         log.info("eventsContainerTTL={}", eventsContainerTTL);
+        log.info("repositoryMode={}", repositoryMode);
+        log.info("connectionMode={}", connectionMode);
+        log.info("gatewayMaxConnectionPoolSize={}", gatewayMaxConnectionPoolSize);
+        log.info("directMaxConnectionsPerEndpoint={}", directMaxConnectionsPerEndpoint);
+        log.info("directMaxRequestsPerConnection={}", directMaxRequestsPerConnection);
+        log.info("idleConnectionTimeout={}", idleConnectionTimeout);
+        log.info("warmUpEnabled={}", warmUpEnabled);
+        log.info("indexingMode={}", indexingMode);
+        log.info("indexingIncludedPaths={}", indexingIncludedPaths);
+        log.info("indexingExcludedPaths={}", indexingExcludedPaths);
+        log.info("indexingCompositeIndexes={}", indexingCompositeIndexes);
+        log.info("diagnosticsThreshold={}", diagnosticsThreshold);
+        log.info("documentFormat={}", documentFormat);
+        log.info("throttlingMaxRetryAttempts={}", throttlingMaxRetryAttempts);
+        log.info("throttlingMaxRetryWait={}", throttlingMaxRetryWait);
+        log.info("preferredRegions={}", preferredRegions);
+        log.info("scanMaxDegreeOfParallelism={}", scanMaxDegreeOfParallelism);
+        log.info("scanMaxBufferedItemCount={}", scanMaxBufferedItemCount);
+        log.info("scanMaxItemCount={}", scanMaxItemCount);
     }
 
     /**
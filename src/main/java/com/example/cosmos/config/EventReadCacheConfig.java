@@ -0,0 +1,51 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do cache de leitura em memória de eventos.
+ * Cada endpoint (busca por ID e busca por transação) pode ser ligado/desligado separadamente.
+ */
+@ConfigurationProperties(prefix = "azure.cosmos.read-cache")
+public class EventReadCacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(EventReadCacheConfig.class);
+
+    public final boolean byIdEnabled;
+    public final long byIdMaxSize;
+    public final Duration byIdTtl;
+
+    public final boolean byTransactionEnabled;
+    public final long byTransactionMaxSize;
+    public final Duration byTransactionTtl;
+
+    public EventReadCacheConfig(
+        @DefaultValue("true")
+        boolean byIdEnabled,
+        @DefaultValue("10000")
+        long byIdMaxSize,
+        @DefaultValue("5m")
+        Duration byIdTtl,
+        @DefaultValue("true")
+        boolean byTransactionEnabled,
+        @DefaultValue("10000")
+        long byTransactionMaxSize,
+        @DefaultValue("2s")
+        Duration byTransactionTtl
+    ) {
+        this.byIdEnabled = byIdEnabled;
+        this.byIdMaxSize = byIdMaxSize;
+        this.byIdTtl = byIdTtl;
+        this.byTransactionEnabled = byTransactionEnabled;
+        this.byTransactionMaxSize = byTransactionMaxSize;
+        this.byTransactionTtl = byTransactionTtl;
+
+        log.info("readCache.byId: enabled={}, maxSize={}, ttl={}", byIdEnabled, byIdMaxSize, byIdTtl);
+        log.info("readCache.byTransaction: enabled={}, maxSize={}, ttl={}", byTransactionEnabled, byTransactionMaxSize, byTransactionTtl);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do pipeline de escrita em micro-lotes (write-behind).
+ * Só tem efeito com {@code azure.cosmos.repository-mode=async}.
+ */
+@ConfigurationProperties(prefix = "azure.cosmos.write-batch")
+public class EventWriteBatchConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(EventWriteBatchConfig.class);
+
+    public final boolean enabled;
+
+    /**
+     * Quantidade máxima de eventos por flush.
+     */
+    public final int maxBatchSize;
+
+    /**
+     * Tempo máximo que um evento aguarda no buffer antes do flush.
+     */
+    public final Duration maxWait;
+
+    /**
+     * Quantidade máxima de flushes em andamento simultaneamente.
+     */
+    public final int maxConcurrentFlushes;
+
+    /**
+     * Espera máxima, no shutdown, pelos flushes pendentes.
+     */
+    public final Duration shutdownTimeout;
+
+    public EventWriteBatchConfig(
+        @DefaultValue("false")
+        boolean enabled,
+        @DefaultValue("100")
+        int maxBatchSize,
+        @DefaultValue("10ms")
+        Duration maxWait,
+        @DefaultValue("4")
+        int maxConcurrentFlushes,
+        @DefaultValue("10s")
+        Duration shutdownTimeout
+    ) {
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait;
+        this.maxConcurrentFlushes = maxConcurrentFlushes;
+        this.shutdownTimeout = shutdownTimeout;
+
+        log.info("writeBatch.enabled={}", enabled);
+        log.info("writeBatch.maxBatchSize={}", maxBatchSize);
+        log.info("writeBatch.maxWait={}", maxWait);
+        log.info("writeBatch.maxConcurrentFlushes={}", maxConcurrentFlushes);
+        log.info("writeBatch.shutdownTimeout={}", shutdownTimeout);
+    }
+}
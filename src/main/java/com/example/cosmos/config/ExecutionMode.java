@@ -0,0 +1,90 @@
+package com.example.cosmos.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Modo de execução do trabalho bloqueante: threads de plataforma (padrão) ou virtuais
+ * ({@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * Com threads virtuais o Spring Boot já atende as requisições do Tomcat em threads virtuais, e
+ * as chamadas síncronas ao Cosmos feitas na thread da requisição passam a ser limitadas pela
+ * capacidade do Cosmos (e pelo admission control), não pelo tamanho do pool. Esta classe estende
+ * a escolha ao que roda fora da thread da requisição:
+ * <ul>
+ *   <li>{@link #blockingScheduler()} - tentativas hedged, buckets do índice temporal, leitura do
+ *       corpo do bulk e entrega do scan async (no lugar do {@code boundedElastic})</li>
+ *   <li>{@link #thread(String)} - threads de background (pollers do change feed, produtor do scan)</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Em Java 21 uma thread virtual bloqueada dentro de {@code synchronized} prende a carrier thread.
+ * O caminho das requisições não bloqueia dentro de monitores (locks explícitos ou estruturas
+ * concorrentes); para verificar, rodar com {@code -Djdk.tracePinnedThreads=short}.
+ * </p>
+ */
+@Component
+public class ExecutionMode {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionMode.class);
+
+    private final boolean virtualThreads;
+    private final Scheduler blockingScheduler;
+
+    @Autowired
+    public ExecutionMode(Environment environment) {
+        this(Threading.VIRTUAL.isActive(environment));
+    }
+
+    public ExecutionMode(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        this.blockingScheduler = virtualThreads
+            ? Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "virtual-blocking")
+            : Schedulers.boundedElastic();
+        log.info("ExecutionMode initialized (virtualThreads={})", virtualThreads);
+    }
+
+    /**
+     * Threads de plataforma, fora do Spring (testes e benchmarks).
+     */
+    public static ExecutionMode platform() {
+        return new ExecutionMode(false);
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Scheduler para chamadas bloqueantes: uma thread virtual por tarefa ou o {@code boundedElastic}.
+     */
+    public Scheduler blockingScheduler() {
+        return blockingScheduler;
+    }
+
+    /**
+     * Builder de uma thread de background com o nome informado (threads de plataforma são daemon).
+     */
+    public Thread.Builder thread(String name) {
+        return virtualThreads
+            ? Thread.ofVirtual().name(name)
+            : Thread.ofPlatform().name(name).daemon();
+    }
+
+    @PreDestroy
+    void close() {
+        // O boundedElastic é global do Reactor e não pertence a esta instância
+        if (virtualThreads) {
+            blockingScheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração das leituras hedged (findById).
+ * <p>
+ * Se a leitura não responder em {@code threshold}, uma segunda é disparada (em outra região,
+ * quando há {@code azure.cosmos.preferred-regions}) e vale a primeira resposta.
+ * </p>
+ */
+@ConfigurationProperties(prefix = "azure.cosmos.hedging")
+public class HedgingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgingConfig.class);
+
+    public final boolean enabled;
+
+    /**
+     * Tempo de espera pela primeira leitura antes de disparar o hedge. Idealmente próximo do p95/p99.
+     */
+    public final Duration threshold;
+
+    public HedgingConfig(
+        @DefaultValue("false")
+        boolean enabled,
+        @DefaultValue("50ms")
+        Duration threshold
+    ) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+
+        log.info("hedging.enabled={}", enabled);
+        log.info("hedging.threshold={}", threshold);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do backend em memória ({@code azure.cosmos.repository-mode=memory}).
+ * <p>
+ * Permite injetar latência nas leituras por ID para simular réplicas lentas localmente
+ * (ex.: validar o hedging sem Cosmos DB).
+ * </p>
+ * <p>
+ * Também injeta as falhas que o Cosmos devolve sob carga, para o teste de carga
+ * ({@code LoadTestRunner}, em {@code src/perf}) sem Azure: latência nas escritas e
+ * consultas, 429 com retry-after e timeouts (408). As taxas valem por operação e representam o
+ * que chega ao serviço depois dos retries do SDK.
+ * </p>
+ */
+@ConfigurationProperties(prefix = "event-store.memory")
+public class InMemoryStoreConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryStoreConfig.class);
+
+    /**
+     * Latência de toda leitura por ID.
+     */
+    public final Duration readLatency;
+
+    /**
+     * Uma a cada {@code slowReadEvery} leituras por ID é lenta (0 = nunca).
+     */
+    public final int slowReadEvery;
+
+    /**
+     * Latência das leituras lentas.
+     */
+    public final Duration slowReadLatency;
+
+    /**
+     * Latência de toda escrita (evento ou lote).
+     */
+    public final Duration writeLatency;
+
+    /**
+     * Latência de toda consulta por transação ou paginada.
+     */
+    public final Duration queryLatency;
+
+    /**
+     * Fração das operações respondidas com 429 (0 a 1).
+     */
+    public final double throttleRate;
+
+    /**
+     * Retry-after sugerido nos 429 injetados.
+     */
+    public final Duration throttleRetryAfter;
+
+    /**
+     * Fração das operações que terminam em timeout (0 a 1).
+     */
+    public final double timeoutRate;
+
+    /**
+     * Tempo até a operação que terminará em timeout falhar com 408.
+     */
+    public final Duration timeoutAfter;
+
+    public InMemoryStoreConfig(
+        @DefaultValue("0ms")
+        Duration readLatency,
+        @DefaultValue("0")
+        int slowReadEvery,
+        @DefaultValue("200ms")
+        Duration slowReadLatency,
+        @DefaultValue("0ms")
+        Duration writeLatency,
+        @DefaultValue("0ms")
+        Duration queryLatency,
+        @DefaultValue("0")
+        double throttleRate,
+        @DefaultValue("100ms")
+        Duration throttleRetryAfter,
+        @DefaultValue("0")
+        double timeoutRate,
+        @DefaultValue("5s")
+        Duration timeoutAfter
+    ) {
+        if (throttleRate < 0 || timeoutRate < 0 || throttleRate + timeoutRate > 1) {
+            throw new IllegalArgumentException("throttle-rate and timeout-rate must be between 0 and 1 and add up to at most 1");
+        }
+        this.readLatency = readLatency;
+        this.slowReadEvery = slowReadEvery;
+        this.slowReadLatency = slowReadLatency;
+        this.writeLatency = writeLatency;
+        this.queryLatency = queryLatency;
+        this.throttleRate = throttleRate;
+        this.throttleRetryAfter = throttleRetryAfter;
+        this.timeoutRate = timeoutRate;
+        this.timeoutAfter = timeoutAfter;
+
+        log.info("memory.readLatency={}", readLatency);
+        log.info("memory.slowReadEvery={}", slowReadEvery);
+        log.info("memory.slowReadLatency={}", slowReadLatency);
+        log.info("memory.writeLatency={}", writeLatency);
+        log.info("memory.queryLatency={}", queryLatency);
+        log.info("memory.throttleRate={}", throttleRate);
+        log.info("memory.throttleRetryAfter={}", throttleRetryAfter);
+        log.info("memory.timeoutRate={}", timeoutRate);
+        log.info("memory.timeoutAfter={}", timeoutAfter);
+    }
+
+    /**
+     * Sem latência nem falhas injetadas.
+     */
+    public static InMemoryStoreConfig noLatency() {
+        return readLatency(Duration.ZERO, 0, Duration.ZERO);
+    }
+
+    /**
+     * Só latência nas leituras por ID, sem falhas.
+     */
+    public static InMemoryStoreConfig readLatency(Duration readLatency, int slowReadEvery, Duration slowReadLatency) {
+        return new InMemoryStoreConfig(readLatency, slowReadEvery, slowReadLatency,
+            Duration.ZERO, Duration.ZERO, 0, Duration.ZERO, 0, Duration.ZERO);
+    }
+}
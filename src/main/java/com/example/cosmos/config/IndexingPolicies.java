@@ -0,0 +1,147 @@
+package com.example.cosmos.config;
+
+import com.azure.cosmos.models.CompositePath;
+import com.azure.cosmos.models.CompositePathSortOrder;
+import com.azure.cosmos.models.ExcludedPath;
+import com.azure.cosmos.models.IncludedPath;
+import com.azure.cosmos.models.IndexingMode;
+import com.azure.cosmos.models.IndexingPolicy;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.repository.EventDocumentFormat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Montagem e comparação de {@link IndexingPolicy} a partir da configuração.
+ */
+public final class IndexingPolicies {
+
+    // Path excluído automaticamente pelo Cosmos DB em toda policy consistent
+    private static final String SYSTEM_ETAG_PATH = "/\"_etag\"/?";
+
+    // Campos renomeados no formato compacto; transactionId (partition key) e id não mudam
+    private static final Map<String, String> COMPACT_FIELDS = Map.of(
+        "/eventType", "/" + Event.COMPACT_EVENT_TYPE,
+        "/timestamp", "/" + Event.COMPACT_TIMESTAMP
+    );
+
+    private IndexingPolicies() {
+    }
+
+    /**
+     * Monta a policy configurada em {@link CosmosDbConfig}. Com {@code document-format=compact} os paths
+     * e índices compostos de campos renomeados ganham o equivalente com o nome curto.
+     */
+    public static IndexingPolicy fromConfig(CosmosDbConfig config) {
+        final boolean compact = EventDocumentFormat.of(config.documentFormat) == EventDocumentFormat.COMPACT;
+        return build(
+            config.indexingMode,
+            compact ? withCompactPaths(config.indexingIncludedPaths) : config.indexingIncludedPaths,
+            config.indexingExcludedPaths,
+            compact ? withCompactPaths(config.indexingCompositeIndexes) : config.indexingCompositeIndexes
+        );
+    }
+
+    /**
+     * Acrescenta, para cada path (ou índice composto) que referencia um campo renomeado no formato
+     * compacto, o equivalente com o nome curto (ex: /timestamp/? -> /ts/?). Os paths originais continuam
+     * indexados porque documentos gravados antes da troca de formato seguem no formato completo.
+     */
+    public static List<String> withCompactPaths(List<String> paths) {
+        final var result = new LinkedHashSet<>(paths);
+        for (String path : paths) {
+            var compact = path;
+            for (var field : COMPACT_FIELDS.entrySet()) {
+                compact = compact.replaceAll(
+                    Pattern.quote(field.getKey()) + "(?=[/\\s;]|$)",
+                    Matcher.quoteReplacement(field.getValue())
+                );
+            }
+            result.add(compact);
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Monta uma policy.
+     *
+     * @param mode             "consistent" ou "none"
+     * @param includedPaths    paths indexados (ex: /transactionId/?)
+     * @param excludedPaths    paths não indexados (ex: /*)
+     * @param compositeIndexes índices compostos no formato "/transactionId ASC;/timestamp DESC"
+     */
+    public static IndexingPolicy build(
+        String mode,
+        List<String> includedPaths,
+        List<String> excludedPaths,
+        List<String> compositeIndexes
+    ) {
+        final var policy = new IndexingPolicy();
+
+        /*
+         * Com IndexingMode.NONE não são criados índices secundários: escritas ficam mais baratas,
+         * mas qualquer leitura que não seja point read vira scan (ou falha).
+         * Não desabilita a funcionalidade central relacionada à primary key.
+         */
+        if ("none".equalsIgnoreCase(mode)) {
+            policy.setIndexingMode(IndexingMode.NONE);
+            policy.setAutomatic(false);
+            return policy;
+        }
+
+        policy.setIndexingMode(IndexingMode.CONSISTENT);
+        policy.setAutomatic(true);
+        policy.setIncludedPaths(includedPaths.stream().map(IncludedPath::new).toList());
+        policy.setExcludedPaths(excludedPaths.stream().map(ExcludedPath::new).toList());
+
+        final List<List<CompositePath>> composites = new ArrayList<>();
+        for (String index : compositeIndexes) {
+            final List<CompositePath> paths = new ArrayList<>();
+            for (String entry : index.split(";")) {
+                final var parts = entry.trim().split("\\s+");
+                final var path = new CompositePath();
+                path.setPath(parts[0]);
+                path.setOrder(parts.length > 1 && "DESC".equalsIgnoreCase(parts[1])
+                    ? CompositePathSortOrder.DESCENDING
+                    : CompositePathSortOrder.ASCENDING);
+                paths.add(path);
+            }
+            composites.add(paths);
+        }
+        policy.setCompositeIndexes(composites);
+        return policy;
+    }
+
+    /**
+     * Representação canônica da policy, usada para comparar a policy atual do container com a
+     * configurada e para log. Ignora paths adicionados automaticamente pelo Cosmos DB.
+     */
+    public static String describe(IndexingPolicy policy) {
+        if (policy.getIndexingMode() == IndexingMode.NONE) {
+            return "mode=none";
+        }
+        final var included = policy.getIncludedPaths().stream()
+            .map(IncludedPath::getPath)
+            .collect(Collectors.toCollection(TreeSet::new));
+        final var excluded = policy.getExcludedPaths().stream()
+            .map(ExcludedPath::getPath)
+            .filter(path -> !SYSTEM_ETAG_PATH.equals(path))
+            .collect(Collectors.toCollection(TreeSet::new));
+        final var composites = policy.getCompositeIndexes().stream()
+            .map(paths -> paths.stream()
+                .map(path -> path.getPath() + " " + (path.getOrder() == CompositePathSortOrder.DESCENDING ? "DESC" : "ASC"))
+                .collect(Collectors.joining(";")))
+            .collect(Collectors.toCollection(TreeSet::new));
+        return "mode=" + policy.getIndexingMode().toString().toLowerCase()
+            + " included=" + included
+            + " excluded=" + excluded
+            + " composite=" + composites;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuração do backend local de segmentos ({@code azure.cosmos.repository-mode=segment}).
+ */
+@ConfigurationProperties(prefix = "event-store.segment")
+public class SegmentStoreConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentStoreConfig.class);
+
+    /**
+     * Diretório dos arquivos de segmento.
+     */
+    public final String directory;
+
+    /**
+     * Tamanho de cada segmento; ao encher, um novo segmento é criado (rollover). Máximo 2GB.
+     */
+    public final DataSize segmentSize;
+
+    /**
+     * Capacidade inicial (slots) dos índices off-heap; dobra quando a ocupação passa de 70%.
+     */
+    public final int indexInitialCapacity;
+
+    /**
+     * Quando habilitado, cada escrita só retorna depois do fsync do seu registro.
+     */
+    public final boolean fsyncEnabled;
+
+    /**
+     * Janela de group commit: escritas que chegam nesse intervalo compartilham um único fsync.
+     */
+    public final Duration fsyncInterval;
+
+    public SegmentStoreConfig(
+        @DefaultValue("./data/segments")
+        String directory,
+        @DefaultValue("64MB")
+        DataSize segmentSize,
+        @DefaultValue("65536")
+        int indexInitialCapacity,
+        @DefaultValue("true")
+        boolean fsyncEnabled,
+        @DefaultValue("2ms")
+        Duration fsyncInterval
+    ) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.indexInitialCapacity = indexInitialCapacity;
+        this.fsyncEnabled = fsyncEnabled;
+        this.fsyncInterval = fsyncInterval;
+
+        log.info("segmentStore.directory={}", directory);
+        log.info("segmentStore.segmentSize={}", segmentSize);
+        log.info("segmentStore.indexInitialCapacity={}", indexInitialCapacity);
+        log.info("segmentStore.fsyncEnabled={}", fsyncEnabled);
+        log.info("segmentStore.fsyncInterval={}", fsyncInterval);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do índice temporal de eventos (consultas por janela de tempo).
+ * <p>
+ * Nos modos Cosmos ({@code sync}/{@code async}) o índice é um container secundário particionado
+ * por bucket de tempo, alimentado pelo change feed do container de eventos.
+ * </p>
+ */
+@ConfigurationProperties(prefix = "azure.cosmos.time-index")
+public class TimeIndexConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeIndexConfig.class);
+
+    public final boolean enabled;
+
+    public final String containerName;
+    public final Integer containerTTL;
+
+    /**
+     * Largura de cada bucket (partição do container). Uma consulta lê um bucket por fatia da janela.
+     */
+    public final Duration bucketSize;
+
+    /**
+     * Máximo de buckets por consulta; janelas maiores são rejeitadas (400).
+     */
+    public final int maxBuckets;
+
+    /**
+     * Buckets consultados em paralelo.
+     */
+    public final int fanOutConcurrency;
+
+    /**
+     * Espera entre leituras quando o change feed não tem mudanças novas.
+     */
+    public final Duration pollInterval;
+
+    /**
+     * Quantidade máxima de documentos por página do change feed.
+     */
+    public final int maxItemCount;
+
+    /**
+     * Arquivo com o checkpoint (continuation do change feed) da indexação.
+     */
+    public final String checkpointFile;
+
+    public TimeIndexConfig(
+        @DefaultValue("false")
+        boolean enabled,
+        @DefaultValue("events-by-time")
+        String containerName,
+        @DefaultValue("-1")
+        Integer containerTTL,
+        @DefaultValue("1h")
+        Duration bucketSize,
+        @DefaultValue("744")
+        int maxBuckets,
+        @DefaultValue("8")
+        int fanOutConcurrency,
+        @DefaultValue("1s")
+        Duration pollInterval,
+        @DefaultValue("500")
+        int maxItemCount,
+        @DefaultValue("./data/time-index-checkpoint.json")
+        String checkpointFile
+    ) {
+        this.enabled = enabled;
+        this.containerName = containerName;
+        this.containerTTL = containerTTL;
+        this.bucketSize = bucketSize;
+        this.maxBuckets = maxBuckets;
+        this.fanOutConcurrency = fanOutConcurrency;
+        this.pollInterval = pollInterval;
+        this.maxItemCount = maxItemCount;
+        this.checkpointFile = checkpointFile;
+
+        log.info("timeIndex.enabled={}", enabled);
+        log.info("timeIndex.containerName={}", containerName);
+        log.info("timeIndex.containerTTL={}", containerTTL);
+        log.info("timeIndex.bucketSize={}", bucketSize);
+        log.info("timeIndex.maxBuckets={}", maxBuckets);
+        log.info("timeIndex.fanOutConcurrency={}", fanOutConcurrency);
+        log.info("timeIndex.pollInterval={}", pollInterval);
+        log.info("timeIndex.maxItemCount={}", maxItemCount);
+        log.info("timeIndex.checkpointFile={}", checkpointFile);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.cosmos.controller;
+
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.controller.dto.BulkCreateEventRequest;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Leitor incremental do corpo da ingestão em lote.
+ * <p>
+ * Aceita NDJSON (um objeto por linha) ou um array JSON. Os itens são lidos sob demanda via
+ * {@link MappingIterator}, então o corpo nunca é carregado inteiro em memória e a leitura
+ * acompanha o ritmo de quem consome o {@link Flux}.
+ * </p>
+ */
+@Component
+public class BulkEventRequestReader {
+
+    private final ObjectReader reader;
+    private final ExecutionMode execution;
+
+    public BulkEventRequestReader(ObjectMapper objectMapper, ExecutionMode execution) {
+        this.reader = objectMapper.readerFor(BulkCreateEventRequest.class);
+        this.execution = execution;
+    }
+
+    public Flux<BulkCreateEventRequest> read(InputStream body) {
+        return Flux.using(
+                () -> reader.<BulkCreateEventRequest>readValues(body),
+                iterator -> Flux.fromIterable(() -> iterator),
+                this::close
+            )
+            // A leitura do InputStream bloqueia
+            .subscribeOn(execution.blockingScheduler());
+    }
+
+    private void close(MappingIterator<BulkCreateEventRequest> iterator) {
+        try {
+            iterator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
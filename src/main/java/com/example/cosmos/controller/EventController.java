@@ -1,18 +1,40 @@
 package com.example.cosmos.controller;
 
+import com.example.cosmos.admission.ServiceOverloadedException;
+import com.example.cosmos.controller.dto.BulkEventResultResponse;
 import com.example.cosmos.controller.dto.CreateEventRequest;
+import com.example.cosmos.controller.dto.EventCountsResponse;
 import com.example.cosmos.controller.dto.EventCreatedResponse;
+import com.example.cosmos.controller.dto.EventPageResponse;
 import com.example.cosmos.controller.dto.EventResponse;
+import com.example.cosmos.metrics.CosmosMetrics;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.ConditionalRead;
+import com.example.cosmos.repository.ETags;
+import com.example.cosmos.repository.EventProjection;
+import com.example.cosmos.repository.InvalidQueryException;
+import com.example.cosmos.repository.ScanOptions;
+import com.example.cosmos.repository.SessionTokens;
 import com.example.cosmos.service.EventService;
+import com.example.cosmos.timeindex.TimeRange;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controller REST para gerenciar eventos.
@@ -22,10 +44,23 @@ import java.util.stream.Collectors;
 public class EventController {
 
     private static final Logger log = LoggerFactory.getLogger(EventController.class);
+
+    // Limite de itens por página no modo paginado
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // Limites dos ajustes de scan por requisição (findAll/stream)
+    private static final int MAX_SCAN_PARALLELISM = 64;
+    private static final int MAX_SCAN_BUFFERED_ITEMS = 50_000;
+
+    // Session token do Cosmos devolvido nas escritas e aceito nas leituras (read-your-writes)
+    static final String SESSION_TOKEN_HEADER = "X-Session-Token";
+
     private final EventService eventService;
+    private final BulkEventRequestReader bulkReader;
 
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, BulkEventRequestReader bulkReader) {
         this.eventService = eventService;
+        this.bulkReader = bulkReader;
         log.info("EventController initialized");
     }
 
@@ -36,59 +71,350 @@ public class EventController {
      * {
      *   "eventType": "STARTED"
      * }
+     *
+     * A resposta traz o header X-Session-Token (quando o backend é o Cosmos); enviado de volta
+     * nas leituras, garante que elas enxerguem esta escrita.
      */
     @PostMapping
-    public ResponseEntity<EventCreatedResponse> createEvent(@Valid @RequestBody CreateEventRequest request) {
+    public Mono<ResponseEntity<EventCreatedResponse>> createEvent(@Valid @RequestBody CreateEventRequest request) {
         log.info("POST /api/events - Creating event: {}", request);
-        
-        var event = eventService.createEvent(request.getEventType());
-        var response = new EventCreatedResponse("Evento cadastrado com sucesso", event.getTransactionId());
-        
-        log.info("Event created successfully with transactionId: {}", event.getTransactionId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+
+        var sessionTokens = SessionTokens.forRequest(null);
+        return eventService.createEvent(request.getEventType())
+            .map(event -> {
+                log.info("Event created successfully with transactionId: {}", event.getTransactionId());
+                var response = new EventCreatedResponse("Evento cadastrado com sucesso", event.getTransactionId());
+                var builder = ResponseEntity.status(HttpStatus.CREATED);
+                var sessionToken = sessionTokens.written();
+                if (sessionToken != null) {
+                    builder.header(SESSION_TOKEN_HEADER, sessionToken);
+                }
+                return builder.body(response);
+            })
+            .contextWrite(SessionTokens.context(sessionTokens))
+            .contextWrite(CosmosMetrics.endpoint("POST /api/events"));
+    }
+
+    /**
+     * POST /api/events/bulk - Ingestão em lote (NDJSON ou array JSON)
+     * 
+     * Body exemplo (NDJSON):
+     * {"eventType": "STARTED"}
+     * {"transactionId": "abc", "eventType": "FINALIZED"}
+     * 
+     * O corpo é lido incrementalmente e a resposta é um stream NDJSON com o resultado de cada item.
+     * 
+     * Contrato de erro: o status HTTP 200 é enviado quando o stream começa, antes do primeiro
+     * resultado, então falhas não mudam o status da resposta. Qualquer falha que interrompa a
+     * ingestão (linha inválida, admission control, erro do Cosmos), mesmo antes do primeiro
+     * resultado, encerra o stream com uma última linha sem id nem transactionId cujo
+     * {@code status} é o da falha (400, 429/503 ou 500). O cliente deve conferir o status de cada
+     * linha, e não o da resposta; os itens sem linha de resultado não têm resultado conhecido
+     * (em geral não foram gravados).
+     */
+    @PostMapping(
+        path = "/bulk",
+        consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<BulkEventResultResponse> createEvents(InputStream body) {
+        log.info("POST /api/events/bulk - Starting bulk ingest");
+
+        var events = bulkReader.read(body)
+            .map(line -> {
+                if (line.getEventType() == null) {
+                    throw new IllegalArgumentException("eventType é obrigatório: " + line);
+                }
+                return eventService.newEvent(line.getTransactionId(), line.getEventType());
+            });
+
+        return eventService.createEvents(events)
+            .map(BulkEventResultResponse::from)
+            .onErrorResume(e -> {
+                log.error("Bulk ingest interrupted", e);
+                var status = e instanceof ServiceOverloadedException overloaded
+                    ? overloaded.getStatus()
+                    : e instanceof IllegalArgumentException || e.getCause() instanceof JsonProcessingException
+                        ? HttpStatus.BAD_REQUEST
+                        : HttpStatus.INTERNAL_SERVER_ERROR;
+                return Mono.just(BulkEventResultResponse.failure(status.value(), e.getMessage()));
+            })
+            .contextWrite(CosmosMetrics.endpoint("POST /api/events/bulk"));
     }
 
     /**
      * GET /api/events/{id}?transactionId={transactionId} - Busca um evento específico
+     * 
+     * A resposta traz o ETag do evento; com If-None-Match igual, responde 304 sem corpo.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponse> getEvent(
+    public Mono<ResponseEntity<EventResponse>> getEvent(
         @PathVariable String id,
-        @RequestParam String transactionId
+        @RequestParam String transactionId,
+        @RequestHeader(name = SESSION_TOKEN_HEADER, required = false) String sessionToken,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         log.info("GET /api/events/{} - Getting event with transactionId={}", id, transactionId);
         
-        var event = eventService.getEvent(id, transactionId);
-        var response = EventResponse.from(event);
-        
-        return ResponseEntity.ok(response);
+        var read = ifNoneMatch != null
+            ? eventService.getEventIfNoneMatch(id, transactionId, ifNoneMatch)
+            : eventService.getEvent(id, transactionId).map(ConditionalRead::of);
+        return read
+            .map(result -> result.isNotModified()
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(result.etag()).<EventResponse>build()
+                : ResponseEntity.ok().eTag(result.etag()).body(EventResponse.from(result.event())))
+            .contextWrite(SessionTokens.context(SessionTokens.forRequest(sessionToken)))
+            .contextWrite(CosmosMetrics.endpoint("GET /api/events/{id}"));
+    }
+
+    /**
+     * GET /api/events/raw/{id}?transactionId={transactionId} - Modo rápido de GET /api/events/{id}
+     * 
+     * O documento do Cosmos é copiado para a resposta sem virar Event/EventResponse; só as
+     * propriedades de sistema são removidas (ver {@link RawEventJson}). O JSON é escrito direto no
+     * stream da resposta, sem ser montado antes em memória. Sem cache nem ETag.
+     */
+    @GetMapping(path = "/raw/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<StreamingResponseBody>> getRawEvent(
+        @PathVariable String id,
+        @RequestParam String transactionId,
+        @RequestHeader(name = SESSION_TOKEN_HEADER, required = false) String sessionToken
+    ) {
+        log.info("GET /api/events/raw/{} - Getting raw event with transactionId={}", id, transactionId);
+
+        return eventService.getRawEvent(id, transactionId)
+            .map(document -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body((StreamingResponseBody) out -> RawEventJson.writeJson(document, out)))
+            .contextWrite(SessionTokens.context(SessionTokens.forRequest(sessionToken)))
+            .contextWrite(CosmosMetrics.endpoint("GET /api/events/raw/{id}"));
+    }
+
+    /**
+     * GET /api/events/raw?transactionId={transactionId} - Modo rápido de
+     * GET /api/events?transactionId={transactionId}, como em GET /api/events/raw/{id}
+     * 
+     * Cada documento é escrito no stream da resposta assim que é lido, sem esperar a lista inteira.
+     */
+    @GetMapping(path = "/raw", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getRawEvents(
+        @RequestParam String transactionId,
+        @RequestHeader(name = SESSION_TOKEN_HEADER, required = false) String sessionToken
+    ) {
+        log.info("GET /api/events/raw - Getting raw events with transactionId={}", transactionId);
+
+        var documents = eventService.getRawEventsByTransactionId(transactionId)
+            .contextWrite(SessionTokens.context(SessionTokens.forRequest(sessionToken)))
+            .contextWrite(CosmosMetrics.endpoint("GET /api/events/raw"));
+        // O corpo roda numa thread do executor async do MVC, onde consumir o Flux bloqueando é seguro
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> RawEventJson.writeJsonArray(documents.toIterable(), out));
     }
 
     /**
      * GET /api/events?transactionId={transactionId} - Busca todos os eventos de uma transação
+     * 
+     * Sem transactionId, busca todos; o scan aceita parallelism, bufferSize e maxItemCount
+     * (padrões em azure.cosmos.scan-*). Com fields (ex: fields=id,eventType), só os campos
+     * pedidos são lidos e devolvidos.
+     * 
+     * A lista de uma transação traz um ETag (muda quando um evento entra na transação); com
+     * If-None-Match igual, responde 304 sem serializar a lista.
      */
     @GetMapping
-    public ResponseEntity<List<EventResponse>> getEvents(@RequestParam(required = false) String transactionId) {
-        log.info("GET /api/events - Getting events with transactionId={}", transactionId);
-        
-        List<EventResponse> responses;
+    public Mono<ResponseEntity<List<EventResponse>>> getEvents(
+        @RequestParam(required = false) String transactionId,
+        @RequestParam(required = false) Integer parallelism,
+        @RequestParam(required = false) Integer bufferSize,
+        @RequestParam(required = false) Integer maxItemCount,
+        @RequestParam(required = false) String fields,
+        @RequestHeader(name = SESSION_TOKEN_HEADER, required = false) String sessionToken,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        log.info("GET /api/events - Getting events with transactionId={}, fields={}", transactionId, fields);
         
-        if (transactionId != null && !transactionId.isBlank()) {
+        var projection = EventProjection.of(fields);
+        var byTransaction = transactionId != null && !transactionId.isBlank();
+        var events = byTransaction
             // Busca por transactionId específico
-            var events = eventService.getEventsByTransactionId(transactionId);
-            responses = events.stream()
-                .map(EventResponse::from)
-                .collect(Collectors.toList());
-        } else {
+            ? eventService.getEventsByTransactionId(transactionId, projection)
             // Busca todos
-            var events = eventService.getAllEvents();
-            responses = events.stream()
-                .map(EventResponse::from)
-                .collect(Collectors.toList());
-        }
+            : eventService.getAllEvents(scanOptions(parallelism, bufferSize, maxItemCount), projection);
         
-        log.info("Found {} events", responses.size());
-        return ResponseEntity.ok(responses);
+        return events
+            .collectList()
+            .map(found -> {
+                log.info("Found {} events", found.size());
+                if (!byTransaction) {
+                    return ResponseEntity.ok(toResponses(found));
+                }
+                var etag = ETags.of(found, projection.toString());
+                return ETags.matches(ifNoneMatch, etag)
+                    ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<List<EventResponse>>build()
+                    : ResponseEntity.ok().eTag(etag).body(toResponses(found));
+            })
+            .contextWrite(SessionTokens.context(SessionTokens.forRequest(sessionToken)))
+            .contextWrite(CosmosMetrics.endpoint("GET /api/events"));
+    }
+
+    /**
+     * GET /api/events?pageSize={pageSize}&continuationToken={token}[&transactionId={transactionId}]
+     * - Busca uma página de eventos e o token da próxima página (null na última)
+     */
+    @GetMapping(params = "pageSize")
+    public Mono<ResponseEntity<EventPageResponse>> getEventsPage(
+        @RequestParam int pageSize,
+        @RequestParam(required = false) String continuationToken,
+        @RequestParam(required = false) String transactionId,
+        @RequestHeader(name = SESSION_TOKEN_HEADER, required = false) String sessionToken
+    ) {
+        var size = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        log.info("GET /api/events - Getting page with pageSize={}, transactionId={}", size, transactionId);
+
+        var filter = transactionId != null && !transactionId.isBlank() ? transactionId : null;
+        return eventService.getEventsPage(filter, size, continuationToken)
+            .map(page -> ResponseEntity.ok(EventPageResponse.from(page)))
+            .contextWrite(SessionTokens.context(SessionTokens.forRequest(sessionToken)))
+            .contextWrite(CosmosMetrics.endpoint("GET /api/events?pageSize"));
+    }
+
+    /**
+     * GET /api/events?from={from}&to={to}[&eventType={eventType}] - Eventos da janela [from, to)
+     * em ordem de timestamp, opcionalmente de um único tipo
+     * 
+     * Datas em ISO-8601 (ex: 2024-05-01T13:00:00Z). Com Accept application/x-ndjson, cada evento
+     * é escrito assim que chega do índice temporal.
+     */
+    @GetMapping(params = {"from", "to"}, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<EventResponse> getEventsByTimeRange(
+        @RequestParam Instant from,
+        @RequestParam Instant to,
+        @RequestParam(required = false) EventType eventType
+    ) {
+        log.info("GET /api/events - Getting events from={} to={} eventType={}", from, to, eventType);
+
+        return eventService.getEventsByTimeRange(new TimeRange(from, to, eventType))
+            .map(EventResponse::from)
+            .contextWrite(CosmosMetrics.endpoint("GET /api/events?from"));
+    }
+
+    /**
+     * GET /api/events/stream[?transactionId={transactionId}] - Stream NDJSON de eventos
+     * 
+     * Cada evento é escrito na resposta assim que sua página chega do Cosmos,
+     * sem acumular a lista em memória. Para exports sem transactionId, o scan aceita
+     * parallelism, bufferSize e maxItemCount. Aceita fields como em GET /api/events.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EventResponse> streamEvents(
+        @RequestParam(required = false) String transactionId,
+        @RequestParam(required = false) Integer parallelism,
+        @RequestParam(required = false) Integer bufferSize,
+        @RequestParam(required = false) Integer maxItemCount,
+        @RequestParam(required = false) String fields,
+        @RequestHeader(name = SESSION_TOKEN_HEADER, required = false) String sessionToken
+    ) {
+        log.info("GET /api/events/stream - Streaming events with transactionId={}, fields={}", transactionId, fields);
+
+        var projection = EventProjection.of(fields);
+        var events = (transactionId != null && !transactionId.isBlank())
+            ? eventService.getEventsByTransactionId(transactionId, projection)
+            : eventService.getAllEvents(scanOptions(parallelism, bufferSize, maxItemCount), projection);
+
+        return events
+            .map(EventResponse::from)
+            .contextWrite(SessionTokens.context(SessionTokens.forRequest(sessionToken)))
+            .contextWrite(CosmosMetrics.endpoint("GET /api/events/stream"));
+    }
+
+    /**
+     * GET /api/events/counts?transactionId={transactionId} - Quantidade de eventos da transação
+     * por tipo, agregada no Cosmos (GROUP BY) sem trazer os eventos
+     */
+    @GetMapping(path = "/counts", params = "transactionId")
+    public Mono<ResponseEntity<EventCountsResponse>> countEventsByTransactionId(
+        @RequestParam String transactionId,
+        @RequestHeader(name = SESSION_TOKEN_HEADER, required = false) String sessionToken
+    ) {
+        log.info("GET /api/events/counts - Counting events with transactionId={}", transactionId);
+
+        return eventService.countEventsByTransactionId(transactionId)
+            .map(counts -> ResponseEntity.ok(EventCountsResponse.forTransaction(transactionId, counts)))
+            .contextWrite(SessionTokens.context(SessionTokens.forRequest(sessionToken)))
+            .contextWrite(CosmosMetrics.endpoint("GET /api/events/counts?transactionId"));
+    }
+
+    /**
+     * GET /api/events/counts?from={from}&to={to} - Quantidade de eventos da janela [from, to) por
+     * tipo, agregada por bucket no índice temporal
+     */
+    @GetMapping(path = "/counts", params = {"from", "to"})
+    public Mono<ResponseEntity<EventCountsResponse>> countEventsByTimeRange(
+        @RequestParam Instant from,
+        @RequestParam Instant to
+    ) {
+        log.info("GET /api/events/counts - Counting events from={} to={}", from, to);
+
+        return eventService.countEventsByTimeRange(new TimeRange(from, to, null))
+            .map(counts -> ResponseEntity.ok(EventCountsResponse.forTimeRange(from, to, counts)))
+            .contextWrite(CosmosMetrics.endpoint("GET /api/events/counts?from"));
+    }
+
+    private static List<EventResponse> toResponses(List<Event> events) {
+        List<EventResponse> responses = new ArrayList<>(events.size());
+        for (Event event : events) {
+            responses.add(EventResponse.from(event));
+        }
+        return responses;
+    }
+
+    /**
+     * Ajustes de scan da requisição, limitados para que um cliente não reserve memória ou
+     * paralelismo além do razoável. Valores não informados usam os padrões configurados.
+     */
+    private static ScanOptions scanOptions(Integer parallelism, Integer bufferSize, Integer maxItemCount) {
+        return new ScanOptions(
+            parallelism != null ? Math.min(parallelism, MAX_SCAN_PARALLELISM) : null,
+            bufferSize != null ? Math.min(bufferSize, MAX_SCAN_BUFFERED_ITEMS) : null,
+            maxItemCount != null ? Math.min(maxItemCount, MAX_PAGE_SIZE) : null
+        );
+    }
+
+    /**
+     * Sem capacidade (admission control ou throttling do Cosmos): 503/429 com Retry-After,
+     * para que o cliente recue em vez de repetir imediatamente.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloaded(ServiceOverloadedException ex) {
+        log.warn("Request rejected: {} ({})", ex.getMessage(), ex.getStatus().value());
+        return ResponseEntity
+            .status(ex.getStatus())
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    /**
+     * Parâmetros de consulta inválidos (ex.: janela de tempo invertida ou maior que o limite do
+     * índice). Outros {@link IllegalArgumentException} são erros internos (500).
+     */
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQuery(InvalidQueryException ex) {
+        log.warn("Invalid request: {}", ex.getMessage());
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    /**
+     * Funcionalidade desabilitada na configuração atual (ex.: índice temporal).
+     */
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedOperation(UnsupportedOperationException ex) {
+        log.warn("Unsupported request: {}", ex.getMessage());
+        return ResponseEntity
+            .status(HttpStatus.NOT_IMPLEMENTED)
+            .body(new ErrorResponse(ex.getMessage()));
     }
 
     /**
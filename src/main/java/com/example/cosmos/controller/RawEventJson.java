@@ -0,0 +1,95 @@
+package com.example.cosmos.controller;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Escreve documentos de evento crus (como vêm do Cosmos DB) no formato da API, sem passar por
+ * {@link Event} e {@link com.example.cosmos.controller.dto.EventResponse}.
+ * <p>
+ * Os campos são copiados um a um para o {@link JsonGenerator}: as propriedades de sistema
+ * ({@code _rid}, {@code _ts}, {@code _etag}, ...) são descartadas e os campos do formato compacto
+ * ({@code e}, {@code ts}) saem com os nomes e valores da API, então a resposta é a mesma do
+ * caminho mapeado, nos dois formatos de documento.
+ * </p>
+ */
+public final class RawEventJson {
+
+    // Thread-safe; o codec (o próprio ObjectMapper) só é usado para valores que não são texto
+    private static final JsonFactory FACTORY = new ObjectMapper().getFactory();
+
+    private RawEventJson() {
+    }
+
+    /**
+     * Um documento como objeto JSON, escrito direto em {@code target} (que não é fechado).
+     */
+    public static void writeJson(JsonNode document, OutputStream target) throws IOException {
+        try (JsonGenerator out = generator(target)) {
+            writeEvent(document, out);
+        }
+    }
+
+    /**
+     * Documentos como array JSON, escritos direto em {@code target} (que não é fechado) à medida
+     * que {@code documents} os entrega, sem montar a resposta inteira em memória.
+     * <p>
+     * Nada é escrito antes do primeiro documento (ou do fim): uma falha na leitura até ali ainda
+     * pode virar uma resposta de erro. Uma falha no meio deixa o array aberto, para que o cliente
+     * não confunda a resposta truncada com a lista completa.
+     * </p>
+     */
+    public static void writeJsonArray(Iterable<JsonNode> documents, OutputStream target) throws IOException {
+        final Iterator<JsonNode> iterator = documents.iterator();
+        // Espera o primeiro documento antes de abrir o generator
+        iterator.hasNext();
+        try (JsonGenerator out = generator(target)) {
+            out.writeStartArray();
+            while (iterator.hasNext()) {
+                writeEvent(iterator.next(), out);
+            }
+            out.writeEndArray();
+        }
+    }
+
+    private static JsonGenerator generator(OutputStream target) throws IOException {
+        // O stream é da resposta; quem o abriu o fecha. Um JSON interrompido não é completado no close
+        return FACTORY.createGenerator(target)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+    }
+
+    static void writeEvent(JsonNode document, JsonGenerator out) throws IOException {
+        out.writeStartObject();
+        for (Map.Entry<String, JsonNode> field : document.properties()) {
+            final String name = field.getKey();
+            final JsonNode value = field.getValue();
+            if (name.startsWith("_")) {
+                continue;
+            }
+            switch (name) {
+                case Event.COMPACT_EVENT_TYPE -> out.writeStringField("eventType", EventType.fromCode(value.asText()).name());
+                case Event.COMPACT_TIMESTAMP -> out.writeStringField("timestamp", Instant.ofEpochMilli(value.asLong()).toString());
+                default -> {
+                    out.writeFieldName(name);
+                    if (value.isTextual()) {
+                        out.writeString(value.textValue());
+                    } else {
+                        out.writeTree(value);
+                    }
+                }
+            }
+        }
+        out.writeEndObject();
+    }
+}
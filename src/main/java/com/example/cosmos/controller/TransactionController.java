@@ -0,0 +1,46 @@
+package com.example.cosmos.controller;
+
+import com.example.cosmos.controller.dto.TransactionStatusResponse;
+import com.example.cosmos.projection.TransactionStatusProjection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para consultas por transação.
+ */
+@RestController
+@RequestMapping("/api/transactions")
+public class TransactionController {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionController.class);
+
+    private final TransactionStatusProjection statusProjection;
+
+    public TransactionController(TransactionStatusProjection statusProjection) {
+        this.statusProjection = statusProjection;
+        log.info("TransactionController initialized");
+    }
+
+    /**
+     * GET /api/transactions/{id}/status - Status da transação a partir da projeção em memória
+     * (sem consultar o Cosmos). 404 enquanto nenhum evento da transação chegou à projeção; 501
+     * quando nada alimenta a projeção ({@code azure.cosmos.change-feed.enabled=false}).
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<TransactionStatusResponse> getStatus(@PathVariable String id) {
+        log.debug("GET /api/transactions/{}/status", id);
+        if (!statusProjection.isAvailable()) {
+            log.warn("Transaction status requested but the projection is disabled (azure.cosmos.change-feed.enabled=false)");
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+        return statusProjection.get(id)
+            .map(status -> ResponseEntity.ok(TransactionStatusResponse.from(id, status)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
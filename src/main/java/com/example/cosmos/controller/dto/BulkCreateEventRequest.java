@@ -0,0 +1,45 @@
+package com.example.cosmos.controller.dto;
+
+import com.example.cosmos.model.EventType;
+
+/**
+ * DTO de uma linha da ingestão em lote (NDJSON ou item de array JSON).
+ * O transactionId é opcional; quando ausente, um novo é gerado.
+ */
+public class BulkCreateEventRequest {
+
+    private String transactionId;
+    private EventType eventType;
+
+    public BulkCreateEventRequest() {
+    }
+
+    public BulkCreateEventRequest(String transactionId, EventType eventType) {
+        this.transactionId = transactionId;
+        this.eventType = eventType;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkCreateEventRequest{" +
+               "transactionId='" + transactionId + '\'' +
+               ", eventType=" + eventType +
+               '}';
+    }
+}
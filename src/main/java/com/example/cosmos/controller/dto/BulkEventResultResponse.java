@@ -0,0 +1,82 @@
+package com.example.cosmos.controller.dto;
+
+import com.example.cosmos.repository.EventWriteResult;
+
+/**
+ * DTO com o resultado de cada item da ingestão em lote (uma linha NDJSON por item).
+ */
+public class BulkEventResultResponse {
+
+    private String id;
+    private String transactionId;
+    private int status;
+    private String message;
+
+    public BulkEventResultResponse() {
+    }
+
+    public BulkEventResultResponse(String id, String transactionId, int status, String message) {
+        this.id = id;
+        this.transactionId = transactionId;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BulkEventResultResponse from(EventWriteResult result) {
+        return new BulkEventResultResponse(
+            result.getEvent().getId(),
+            result.getEvent().getTransactionId(),
+            result.getStatusCode(),
+            result.isSuccess() ? "Evento cadastrado com sucesso" : result.getErrorMessage()
+        );
+    }
+
+    /**
+     * Resultado terminal quando a ingestão é interrompida (ex.: linha inválida).
+     */
+    public static BulkEventResultResponse failure(int status, String message) {
+        return new BulkEventResultResponse(null, null, status, message);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkEventResultResponse{" +
+               "id='" + id + '\'' +
+               ", transactionId='" + transactionId + '\'' +
+               ", status=" + status +
+               ", message='" + message + '\'' +
+               '}';
+    }
+}
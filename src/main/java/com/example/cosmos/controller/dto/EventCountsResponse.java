@@ -0,0 +1,101 @@
+package com.example.cosmos.controller.dto;
+
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.EventTypeCounts;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * DTO para resposta da contagem de eventos por tipo, de uma transação ou de uma janela de tempo.
+ * Todos os tipos aparecem em {@code counts}, com zero quando não há eventos.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventCountsResponse {
+
+    private String transactionId;
+    private Instant from;
+    private Instant to;
+    private Map<EventType, Long> counts;
+    private long total;
+
+    public EventCountsResponse() {
+    }
+
+    public EventCountsResponse(String transactionId, Instant from, Instant to, Map<EventType, Long> counts, long total) {
+        this.transactionId = transactionId;
+        this.from = from;
+        this.to = to;
+        this.counts = counts;
+        this.total = total;
+    }
+
+    public static EventCountsResponse forTransaction(String transactionId, EventTypeCounts counts) {
+        return new EventCountsResponse(transactionId, null, null, withAllTypes(counts), counts.total());
+    }
+
+    public static EventCountsResponse forTimeRange(Instant from, Instant to, EventTypeCounts counts) {
+        return new EventCountsResponse(null, from, to, withAllTypes(counts), counts.total());
+    }
+
+    private static Map<EventType, Long> withAllTypes(EventTypeCounts counts) {
+        final Map<EventType, Long> all = new EnumMap<>(EventType.class);
+        for (EventType type : EventType.values()) {
+            all.put(type, counts.counts().getOrDefault(type, 0L));
+        }
+        return all;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public Map<EventType, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<EventType, Long> counts) {
+        this.counts = counts;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    @Override
+    public String toString() {
+        return "EventCountsResponse{" +
+               "transactionId='" + transactionId + '\'' +
+               ", from=" + from +
+               ", to=" + to +
+               ", counts=" + counts +
+               ", total=" + total +
+               '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.cosmos.controller.dto;
+
+import com.example.cosmos.repository.EventPage;
+
+import java.util.List;
+
+/**
+ * DTO para resposta paginada de eventos.
+ */
+public class EventPageResponse {
+
+    private List<EventResponse> items;
+    private String continuationToken;
+    private double requestCharge;
+
+    public EventPageResponse() {
+    }
+
+    public EventPageResponse(List<EventResponse> items, String continuationToken, double requestCharge) {
+        this.items = items;
+        this.continuationToken = continuationToken;
+        this.requestCharge = requestCharge;
+    }
+
+    public static EventPageResponse from(EventPage page) {
+        return new EventPageResponse(
+            page.getItems().stream().map(EventResponse::from).toList(),
+            page.getContinuationToken(),
+            page.getRequestCharge()
+        );
+    }
+
+    public List<EventResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EventResponse> items) {
+        this.items = items;
+    }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+
+    public double getRequestCharge() {
+        return requestCharge;
+    }
+
+    public void setRequestCharge(double requestCharge) {
+        this.requestCharge = requestCharge;
+    }
+
+    @Override
+    public String toString() {
+        return "EventPageResponse{" +
+               "items=" + items +
+               ", continuationToken='" + continuationToken + '\'' +
+               ", requestCharge=" + requestCharge +
+               '}';
+    }
+}
@@ -2,12 +2,14 @@ package com.example.cosmos.controller.dto;
 
 import com.example.cosmos.model.Event;
 import com.example.cosmos.model.EventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.time.Instant;
 
 /**
- * DTO para resposta de evento.
+ * DTO para resposta de evento. Com projeção ({@code fields=}), os campos não pedidos são omitidos.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class EventResponse {
 
     private String id;
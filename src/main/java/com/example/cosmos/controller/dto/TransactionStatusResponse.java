@@ -0,0 +1,89 @@
+package com.example.cosmos.controller.dto;
+
+import com.example.cosmos.projection.TransactionStatus;
+
+import java.time.Instant;
+
+/**
+ * DTO para resposta do status de uma transação.
+ */
+public class TransactionStatusResponse {
+
+    private String transactionId;
+    private String status;
+    private Instant firstTimestamp;
+    private Instant lastTimestamp;
+    private int eventCount;
+
+    public TransactionStatusResponse() {
+    }
+
+    public TransactionStatusResponse(String transactionId, String status, Instant firstTimestamp, Instant lastTimestamp, int eventCount) {
+        this.transactionId = transactionId;
+        this.status = status;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = lastTimestamp;
+        this.eventCount = eventCount;
+    }
+
+    public static TransactionStatusResponse from(String transactionId, TransactionStatus status) {
+        return new TransactionStatusResponse(
+            transactionId,
+            status.isFinalized() ? "FINALIZED" : "IN_PROGRESS",
+            status.getFirstTimestamp(),
+            status.getLastTimestamp(),
+            status.getEventCount()
+        );
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Instant getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public void setFirstTimestamp(Instant firstTimestamp) {
+        this.firstTimestamp = firstTimestamp;
+    }
+
+    public Instant getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public void setLastTimestamp(Instant lastTimestamp) {
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(int eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionStatusResponse{" +
+               "transactionId='" + transactionId + '\'' +
+               ", status='" + status + '\'' +
+               ", firstTimestamp=" + firstTimestamp +
+               ", lastTimestamp=" + lastTimestamp +
+               ", eventCount=" + eventCount +
+               '}';
+    }
+}
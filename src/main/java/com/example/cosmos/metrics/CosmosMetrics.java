@@ -0,0 +1,188 @@
+package com.example.cosmos.metrics;
+
+import com.azure.cosmos.CosmosDiagnostics;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosItemResponse;
+import com.azure.cosmos.models.FeedResponse;
+import com.example.cosmos.config.CosmosDbConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Instrumentação das operações no Cosmos DB via Micrometer (expostas em /actuator/metrics).
+ * <p>
+ * Por operação e por endpoint HTTP de origem registra:
+ * <ul>
+ *   <li>{@code cosmos.operation.latency} - latência (percentis p50/p99/p999 via HdrHistogram), por status code</li>
+ *   <li>{@code cosmos.operation.request.charge} - RU consumidos</li>
+ *   <li>{@code cosmos.operation.retries} - retries feitos pelo SDK (em geral, 429)</li>
+ *   <li>{@code cosmos.operation.throttled} - operações que terminaram em 429</li>
+ * </ul>
+ * Quando uma operação passa de {@code azure.cosmos.diagnostics-threshold}, as diagnostics do
+ * Cosmos dessa chamada são logadas.
+ * </p>
+ * <p>
+ * O endpoint de origem chega pelo {@link Context} do Reactor ({@link #endpoint(String)}) e, nos
+ * backends síncronos, por {@link #withEndpoint(String, Supplier)} na thread da chamada.
+ * </p>
+ */
+@Component
+public class CosmosMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(CosmosMetrics.class);
+
+    private static final String ENDPOINT_KEY = CosmosMetrics.class.getName() + ".endpoint";
+    private static final String NO_ENDPOINT = "none";
+    private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Duration diagnosticsThreshold;
+
+    // Medidores por combinação de tags (operações e endpoints são poucos), sem montar o Meter.Id a
+    // cada chamada
+    private final Map<StatusKey, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final Map<OperationKey, DistributionSummary> chargeSummaries = new ConcurrentHashMap<>();
+    private final Map<OperationKey, Counter> retryCounters = new ConcurrentHashMap<>();
+    private final Map<OperationKey, Counter> throttledCounters = new ConcurrentHashMap<>();
+
+    public CosmosMetrics(MeterRegistry meterRegistry, CosmosDbConfig config) {
+        this.meterRegistry = meterRegistry;
+        this.diagnosticsThreshold = config.diagnosticsThreshold;
+    }
+
+    /**
+     * Context do Reactor identificando o endpoint HTTP que originou as operações.
+     */
+    public static Context endpoint(String endpoint) {
+        return Context.of(ENDPOINT_KEY, endpoint);
+    }
+
+    public static String endpointOf(ContextView context) {
+        return context.getOrDefault(ENDPOINT_KEY, NO_ENDPOINT);
+    }
+
+    /**
+     * Executa uma chamada síncrona com o endpoint de origem associado à thread atual.
+     */
+    public static <T> T withEndpoint(String endpoint, Supplier<T> call) {
+        final String previous = CURRENT_ENDPOINT.get();
+        CURRENT_ENDPOINT.set(endpoint);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_ENDPOINT.set(previous);
+            } else {
+                CURRENT_ENDPOINT.remove();
+            }
+        }
+    }
+
+    public static String currentEndpoint() {
+        final String endpoint = CURRENT_ENDPOINT.get();
+        return endpoint != null ? endpoint : NO_ENDPOINT;
+    }
+
+    public void record(String operation, String endpoint, CosmosItemResponse<?> response) {
+        record(operation, endpoint, response.getStatusCode(), response.getRequestCharge(), response.getDiagnostics());
+    }
+
+    /**
+     * Registra uma página de query (cada página é um round trip ao Cosmos).
+     */
+    public void record(String operation, String endpoint, FeedResponse<?> page) {
+        record(operation, endpoint, 200, page.getRequestCharge(), page.getCosmosDiagnostics());
+    }
+
+    public void record(String operation, String endpoint, CosmosBulkOperationResponse<?> response) {
+        final var item = response.getResponse();
+        if (item != null) {
+            record(operation, endpoint, item.getStatusCode(), item.getRequestCharge(), item.getCosmosDiagnostics());
+        } else if (response.getException() instanceof CosmosException e) {
+            record(operation, endpoint, e);
+        }
+    }
+
+    /**
+     * Registra uma operação que falhou no Cosmos DB.
+     */
+    public void record(String operation, String endpoint, CosmosException e) {
+        record(operation, endpoint, e.getStatusCode(), e.getRequestCharge(), e.getDiagnostics());
+    }
+
+    /**
+     * Registra uma operação no Cosmos DB a partir dos metadados da resposta.
+     */
+    public void record(String operation, String endpoint, int statusCode, double requestCharge, CosmosDiagnostics diagnostics) {
+        final Duration latency = diagnostics != null ? diagnostics.getDuration() : Duration.ZERO;
+
+        final var key = new OperationKey(operation, endpoint);
+        latencyTimers.computeIfAbsent(new StatusKey(key, statusCode), this::latencyTimer).record(latency);
+        chargeSummaries.computeIfAbsent(key, this::chargeSummary).record(requestCharge);
+
+        final var context = diagnostics != null ? diagnostics.getDiagnosticsContext() : null;
+        if (context != null && context.getRetryCount() > 0) {
+            retryCounters.computeIfAbsent(key, this::retryCounter).increment(context.getRetryCount());
+        }
+        if (statusCode == 429) {
+            throttledCounters.computeIfAbsent(key, this::throttledCounter).increment();
+        }
+
+        if (diagnostics != null && latency.compareTo(diagnosticsThreshold) > 0) {
+            log.warn("Slow Cosmos operation {} from {} took {} ms (status={}, {} RU): {}",
+                operation, endpoint, latency.toMillis(), statusCode, requestCharge, diagnostics);
+        }
+    }
+
+    private Timer latencyTimer(StatusKey key) {
+        return Timer.builder("cosmos.operation.latency")
+            .description("Latência das operações no Cosmos DB")
+            .tags("operation", key.operation().operation(), "endpoint", key.operation().endpoint(),
+                "status", Integer.toString(key.statusCode()))
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private DistributionSummary chargeSummary(OperationKey key) {
+        return DistributionSummary.builder("cosmos.operation.request.charge")
+            .description("RU consumidos pelas operações no Cosmos DB")
+            .baseUnit("RU")
+            .tags("operation", key.operation(), "endpoint", key.endpoint())
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+
+    private Counter retryCounter(OperationKey key) {
+        return Counter.builder("cosmos.operation.retries")
+            .description("Retries feitos pelo SDK (em geral por throttling 429)")
+            .tags("operation", key.operation(), "endpoint", key.endpoint())
+            .register(meterRegistry);
+    }
+
+    private Counter throttledCounter(OperationKey key) {
+        return Counter.builder("cosmos.operation.throttled")
+            .description("Operações que terminaram em 429 após os retries do SDK")
+            .tags("operation", key.operation(), "endpoint", key.endpoint())
+            .register(meterRegistry);
+    }
+
+    private record OperationKey(String operation, String endpoint) {
+    }
+
+    private record StatusKey(OperationKey operation, int statusCode) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.cosmos.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Representação compacta de um {@link Event} no Cosmos DB.
+ * <p>
+ * Nomes de campo curtos, {@code eventType} pelo código de {@link EventType} e timestamp em
+ * epoch millis. {@code id} e {@code transactionId} mantêm os nomes porque são o id do documento
+ * e a partition key do container. A leitura continua sendo feita como {@link Event}, que
+ * entende os dois formatos.
+ * </p>
+ */
+public record CompactEvent(
+    @JsonProperty("id") String id,
+    @JsonProperty("transactionId") String transactionId,
+    @JsonProperty(Event.COMPACT_EVENT_TYPE) String eventType,
+    @JsonProperty(Event.COMPACT_TIMESTAMP) long timestamp
+) {
+
+    public static CompactEvent from(Event event) {
+        return new CompactEvent(
+            event.getId(),
+            event.getTransactionId(),
+            event.getEventType().code(),
+            event.getTimestamp().toEpochMilli()
+        );
+    }
+}
@@ -7,9 +7,16 @@ import java.util.Objects;
 
 /**
  * Modelo de evento armazenado no Cosmos DB.
+ * <p>
+ * A desserialização aceita tanto o formato completo quanto o compacto ({@link CompactEvent}),
+ * então documentos gravados nos dois formatos convivem no mesmo container.
+ * </p>
  */
 public class Event {
 
+    public static final String COMPACT_EVENT_TYPE = "e";
+    public static final String COMPACT_TIMESTAMP = "ts";
+
     @JsonProperty("id")
     private String id;
 
@@ -22,6 +29,10 @@ public class Event {
     @JsonProperty("timestamp")
     private Instant timestamp;
 
+    // Versão do documento no Cosmos DB: lida dos documentos, nunca gravada
+    @JsonProperty(value = "_etag", access = JsonProperty.Access.WRITE_ONLY)
+    private String etag;
+
     public Event() {
     }
 
@@ -64,6 +75,27 @@ public class Event {
         this.timestamp = timestamp;
     }
 
+    /**
+     * ETag do documento no Cosmos DB, ou null nos backends locais e em projeções.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    @JsonProperty(COMPACT_EVENT_TYPE)
+    private void setCompactEventType(String code) {
+        this.eventType = EventType.fromCode(code);
+    }
+
+    @JsonProperty(COMPACT_TIMESTAMP)
+    private void setCompactTimestamp(long epochMillis) {
+        this.timestamp = Instant.ofEpochMilli(epochMillis);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -2,9 +2,31 @@ package com.example.cosmos.model;
 
 /**
  * Tipos de eventos disponíveis no sistema.
+ * <p>
+ * O código curto é usado no formato compacto de documento ({@link CompactEvent}) e nunca deve
+ * ser reaproveitado por outro tipo, ao contrário do ordinal, que muda com a ordem das constantes.
+ * </p>
  */
 public enum EventType {
-    STARTED,
-    FINALIZED
-}
+    STARTED("S"),
+    FINALIZED("F");
+
+    private final String code;
+
+    EventType(String code) {
+        this.code = code;
+    }
 
+    public String code() {
+        return code;
+    }
+
+    public static EventType fromCode(String code) {
+        for (EventType type : values()) {
+            if (type.code.equals(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown event type code: " + code);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.cosmos.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Documento do índice temporal: o evento no formato compacto mais o {@code bucket} de tempo,
+ * partition key do container do índice.
+ * <p>
+ * O timestamp em epoch millis ({@code ts}) é filtrado e ordenado como número. A leitura é feita
+ * como {@link Event}, que entende o formato compacto.
+ * </p>
+ */
+public record TimeIndexedEvent(
+    @JsonProperty("id") String id,
+    @JsonProperty("transactionId") String transactionId,
+    @JsonProperty("bucket") String bucket,
+    @JsonProperty(Event.COMPACT_EVENT_TYPE) String eventType,
+    @JsonProperty(Event.COMPACT_TIMESTAMP) long timestamp
+) {
+
+    public static TimeIndexedEvent from(Event event, String bucket) {
+        return new TimeIndexedEvent(
+            event.getId(),
+            event.getTransactionId(),
+            bucket,
+            event.getEventType().code(),
+            event.getTimestamp().toEpochMilli()
+        );
+    }
+}
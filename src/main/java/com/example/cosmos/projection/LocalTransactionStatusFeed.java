@@ -0,0 +1,43 @@
+package com.example.cosmos.projection;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.repository.EventStore;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Alimenta a {@link TransactionStatusProjection} nos modos locais ({@code segment}/{@code memory}),
+ * que não têm change feed: na inicialização faz o replay de todos os eventos do store e, a partir
+ * daí, a projeção é atualizada pelas escritas desta instância (única dona do store).
+ */
+@Component
+@ConditionalOnExpression("'${azure.cosmos.repository-mode:sync}' matches 'segment|memory'")
+public class LocalTransactionStatusFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalTransactionStatusFeed.class);
+
+    private final EventStore eventStore;
+    private final TransactionStatusProjection projection;
+
+    public LocalTransactionStatusFeed(EventStore eventStore, TransactionStatusProjection projection) {
+        this.eventStore = eventStore;
+        this.projection = projection;
+    }
+
+    @PostConstruct
+    void replay() {
+        long count = 0;
+        try (Stream<Event> events = eventStore.findAll()) {
+            for (var iterator = events.iterator(); iterator.hasNext(); count++) {
+                projection.apply(iterator.next());
+            }
+        }
+        projection.enableWriteThrough();
+        log.info("Replayed {} events into the transaction status projection", count);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.cosmos.projection;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+
+import java.time.Instant;
+
+/**
+ * Estado materializado de uma transação: se já foi finalizada, primeiro/último timestamp e
+ * quantidade de eventos.
+ * <p>
+ * Imutável e compacto (timestamps em epoch millis, sem referência aos eventos), para que a
+ * projeção caiba em memória mesmo com muitas transações.
+ * </p>
+ */
+public final class TransactionStatus {
+
+    private final boolean finalized;
+    private final long firstTimestamp;
+    private final long lastTimestamp;
+    private final int eventCount;
+
+    TransactionStatus(boolean finalized, long firstTimestamp, long lastTimestamp, int eventCount) {
+        this.finalized = finalized;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = lastTimestamp;
+        this.eventCount = eventCount;
+    }
+
+    static TransactionStatus of(Event event) {
+        final long timestamp = event.getTimestamp().toEpochMilli();
+        return new TransactionStatus(event.getEventType() == EventType.FINALIZED, timestamp, timestamp, 1);
+    }
+
+    TransactionStatus merge(TransactionStatus other) {
+        return new TransactionStatus(
+            finalized || other.finalized,
+            Math.min(firstTimestamp, other.firstTimestamp),
+            Math.max(lastTimestamp, other.lastTimestamp),
+            eventCount + other.eventCount
+        );
+    }
+
+    public boolean isFinalized() {
+        return finalized;
+    }
+
+    public Instant getFirstTimestamp() {
+        return Instant.ofEpochMilli(firstTimestamp);
+    }
+
+    public Instant getLastTimestamp() {
+        return Instant.ofEpochMilli(lastTimestamp);
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    long[] toArray() {
+        return new long[] {finalized ? 1 : 0, firstTimestamp, lastTimestamp, eventCount};
+    }
+
+    static TransactionStatus fromArray(long[] values) {
+        return new TransactionStatus(values[0] == 1, values[1], values[2], (int) values[3]);
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionStatus{" +
+               "finalized=" + finalized +
+               ", firstTimestamp=" + getFirstTimestamp() +
+               ", lastTimestamp=" + getLastTimestamp() +
+               ", eventCount=" + eventCount +
+               '}';
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.cosmos.projection;
+
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.models.CosmosChangeFeedRequestOptions;
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.models.FeedResponse;
+import com.example.cosmos.config.ChangeFeedConfig;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.model.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consome o change feed do container de eventos (pull model) e mantém a
+ * {@link TransactionStatusProjection}.
+ * <p>
+ * Uma thread dedicada lê o feed página a página a partir do início do container e, quando não
+ * há mudanças novas, espera {@code pollInterval}. O checkpoint é um arquivo local com a
+ * continuation do feed e o snapshot da projeção, gravados juntos (arquivo temporário + move
+ * atômico). Assim, após um restart, a leitura continua de onde parou sem perder o estado das
+ * transações anteriores. Eventos lidos depois do último checkpoint são reaplicados; como só
+ * afetam a contagem, ela pode ficar maior que a real após uma queda.
+ * </p>
+ * <p>
+ * O snapshot é O(transações), então só é regravado quando a continuation avançou (houve
+ * eventos novos), no máximo a cada {@code checkpointInterval}; polls vazios não gravam nada.
+ * </p>
+ * Ativo nos modos Cosmos ({@code sync}/{@code async}) com {@code azure.cosmos.change-feed.enabled=true}
+ * (desligado por padrão: a projeção fica toda em memória e começa do início do container).
+ */
+@Component
+@ConditionalOnExpression("${azure.cosmos.change-feed.enabled:false} and '${azure.cosmos.repository-mode:sync}' matches 'sync|async'")
+public class TransactionStatusChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionStatusChangeFeed.class);
+
+    private final CosmosContainer container;
+    private final CosmosAsyncContainer asyncContainer;
+    private final TransactionStatusProjection projection;
+    private final ChangeFeedConfig config;
+    private final ObjectMapper objectMapper;
+    private final Path checkpointFile;
+    private final ExecutionMode execution;
+
+    private volatile boolean running = true;
+    private Thread poller;
+    private String continuation;
+    private String checkpointedContinuation;
+    private long lastCheckpoint;
+
+    public TransactionStatusChangeFeed(
+        @Qualifier("events") ObjectProvider<CosmosContainer> container,
+        @Qualifier("eventsAsync") ObjectProvider<CosmosAsyncContainer> asyncContainer,
+        TransactionStatusProjection projection,
+        ChangeFeedConfig config,
+        ObjectMapper objectMapper,
+        ExecutionMode execution
+    ) {
+        this.container = container.getIfAvailable();
+        this.asyncContainer = this.container == null ? asyncContainer.getObject() : null;
+        this.projection = projection;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.checkpointFile = Path.of(config.checkpointFile);
+        this.execution = execution;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        restore();
+        projection.markAvailable();
+        poller = execution.thread("change-feed-poller").start(this::run);
+        log.info("TransactionStatusChangeFeed started (resumed={})", continuation != null);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                final FeedResponse<Event> page = nextPage();
+                final List<Event> events = page != null ? page.getResults() : List.of();
+                events.forEach(projection::apply);
+                if (page != null && page.getContinuationToken() != null) {
+                    continuation = page.getContinuationToken();
+                }
+                checkpoint(false);
+                if (events.isEmpty()) {
+                    Thread.sleep(config.pollInterval.toMillis());
+                } else {
+                    log.debug("Applied {} events from change feed", events.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error reading events change feed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private FeedResponse<Event> nextPage() {
+        final var options = continuation != null
+            ? CosmosChangeFeedRequestOptions.createForProcessingFromContinuation(continuation)
+            : CosmosChangeFeedRequestOptions.createForProcessingFromBeginning(FeedRange.forFullRange());
+        options.setMaxItemCount(config.maxItemCount);
+
+        if (container != null) {
+            final var pages = container.queryChangeFeed(options, Event.class).iterableByPage().iterator();
+            return pages.hasNext() ? pages.next() : null;
+        }
+        return asyncContainer.queryChangeFeed(options, Event.class).byPage().next().block();
+    }
+
+    private void checkpoint(boolean force) throws IOException {
+        final long now = System.nanoTime();
+        if (continuation == null || continuation.equals(checkpointedContinuation)
+            || (!force && now - lastCheckpoint < config.checkpointInterval.toNanos())) {
+            return;
+        }
+        Checkpoint.of(continuation, projection.snapshot()).write(objectMapper, checkpointFile);
+        checkpointedContinuation = continuation;
+        lastCheckpoint = now;
+    }
+
+    private void restore() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return;
+        }
+        final Checkpoint checkpoint = Checkpoint.read(objectMapper, checkpointFile);
+        final Map<String, TransactionStatus> snapshot = checkpoint.snapshot();
+        projection.restore(snapshot);
+        continuation = checkpoint.continuation();
+        checkpointedContinuation = continuation;
+        log.info("Restored change feed checkpoint with {} transactions", snapshot.size());
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(config.pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+            poller.join();
+        }
+        try {
+            checkpoint(true);
+        } catch (IOException e) {
+            log.warn("Could not write change feed checkpoint on shutdown", e);
+        }
+    }
+
+    /**
+     * Continuation e snapshot da projeção, gravados juntos (arquivo temporário + move atômico).
+     */
+    record Checkpoint(String continuation, Map<String, long[]> transactions) {
+
+        static Checkpoint of(String continuation, Map<String, TransactionStatus> snapshot) {
+            final Map<String, long[]> transactions = new HashMap<>(snapshot.size());
+            snapshot.forEach((transactionId, status) -> transactions.put(transactionId, status.toArray()));
+            return new Checkpoint(continuation, transactions);
+        }
+
+        static Checkpoint read(ObjectMapper objectMapper, Path file) throws IOException {
+            return objectMapper.readValue(file.toFile(), Checkpoint.class);
+        }
+
+        void write(ObjectMapper objectMapper, Path file) throws IOException {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), this);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        Map<String, TransactionStatus> snapshot() {
+            final Map<String, TransactionStatus> snapshot = new HashMap<>(transactions.size());
+            transactions.forEach((transactionId, values) -> snapshot.put(transactionId, TransactionStatus.fromArray(values)));
+            return snapshot;
+        }
+    }
+}
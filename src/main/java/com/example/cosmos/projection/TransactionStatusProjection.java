@@ -0,0 +1,82 @@
+package com.example.cosmos.projection;
+
+import com.example.cosmos.model.Event;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Visão materializada do status de cada transação, consultada em O(1) por transactionId.
+ * <p>
+ * Nos modos Cosmos ({@code sync}/{@code async}) é alimentada pelo change feed
+ * ({@link TransactionStatusChangeFeed}); nos modos locais ({@code segment}/{@code memory}),
+ * pelas escritas desta instância ({@link #onSaved(Event)}) após o replay feito por
+ * {@link LocalTransactionStatusFeed}.
+ * </p>
+ */
+@Component
+public class TransactionStatusProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionStatusProjection.class);
+
+    private final Map<String, TransactionStatus> transactions = new ConcurrentHashMap<>();
+    private volatile boolean writeThrough;
+    private volatile boolean available;
+
+    public TransactionStatusProjection(MeterRegistry meterRegistry) {
+        Gauge.builder("transactions.projection.size", transactions, Map::size)
+            .description("Transações na projeção de status")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Se algum feed alimenta a projeção. Sem ele (modos Cosmos com o change feed desligado) toda
+     * consulta daria 404, o que não distingue transação inexistente de recurso desligado.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public Optional<TransactionStatus> get(String transactionId) {
+        return Optional.ofNullable(transactions.get(transactionId));
+    }
+
+    public void apply(Event event) {
+        transactions.merge(event.getTransactionId(), TransactionStatus.of(event), TransactionStatus::merge);
+    }
+
+    /**
+     * Chamado pelo service após cada escrita bem-sucedida. Só tem efeito quando não há change
+     * feed alimentando a projeção, para não contar o mesmo evento duas vezes.
+     */
+    public void onSaved(Event event) {
+        if (writeThrough) {
+            apply(event);
+        }
+    }
+
+    void enableWriteThrough() {
+        log.info("Transaction status projection fed by local writes");
+        this.writeThrough = true;
+        markAvailable();
+    }
+
+    void markAvailable() {
+        this.available = true;
+    }
+
+    Map<String, TransactionStatus> snapshot() {
+        return Map.copyOf(transactions);
+    }
+
+    void restore(Map<String, TransactionStatus> snapshot) {
+        transactions.clear();
+        transactions.putAll(snapshot);
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.cosmos.repository;
+
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosBulkOperations;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.CosmosItemRequestOptions;
+import com.azure.cosmos.models.FeedResponse;
+import com.azure.cosmos.models.PartitionKey;
+import com.example.cosmos.config.BulkIngestConfig;
+import com.example.cosmos.config.CosmosDbConfig;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.metrics.CosmosMetrics;
+import com.example.cosmos.model.Event;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Repository não bloqueante para operações de eventos no Cosmos DB.
+ * <p>
+ * Usa o {@link CosmosAsyncContainer}, liberando a thread do Tomcat durante o round trip ao Cosmos.
+ * Ativo com {@code azure.cosmos.repository-mode=async}.
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "async")
+public class AsyncEventRepository implements ReactiveEventRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncEventRepository.class);
+
+    // Só o 404 vira "não encontrado"; 429, timeouts etc. sobem para o admission control
+    private static final int NOT_FOUND = 404;
+    private final CosmosAsyncContainer eventsContainer;
+    private final EventWriteBatcher writeBatcher;
+    private final BulkIngestConfig bulkConfig;
+    private final CosmosMetrics metrics;
+    private final EventDocumentFormat documentFormat;
+    private final HedgedReads hedgedReads;
+    private final List<String> preferredRegions;
+    private final CosmosDbConfig config;
+    private final ExecutionMode execution;
+
+    public AsyncEventRepository(
+        @Qualifier("eventsAsync") CosmosAsyncContainer eventsContainer,
+        ObjectProvider<EventWriteBatcher> writeBatcher,
+        BulkIngestConfig bulkConfig,
+        CosmosMetrics metrics,
+        CosmosDbConfig config,
+        HedgedReads hedgedReads,
+        ExecutionMode execution
+    ) {
+        this.eventsContainer = eventsContainer;
+        this.bulkConfig = bulkConfig;
+        this.metrics = metrics;
+        this.documentFormat = EventDocumentFormat.of(config.documentFormat);
+        this.hedgedReads = hedgedReads;
+        this.preferredRegions = config.preferredRegions;
+        this.config = config;
+        this.execution = execution;
+        this.writeBatcher = writeBatcher.getIfAvailable();
+        log.info("AsyncEventRepository initialized (writeBatch={}, documentFormat={})", this.writeBatcher != null, documentFormat);
+    }
+
+    /**
+     * Salva um evento. Com {@code azure.cosmos.write-batch.enabled=true} o evento é
+     * enfileirado no {@link EventWriteBatcher} e persistido no próximo micro-lote.
+     */
+    @Override
+    public Mono<Event> save(Event event) {
+        log.info("Saving event: {}", event);
+        if (writeBatcher != null) {
+            return writeBatcher.submit(event)
+                .doOnSuccess(saved -> log.info("Event saved successfully: id={}, transactionId={}", event.getId(), event.getTransactionId()));
+        }
+        return Mono.deferContextual(context -> {
+            final String endpoint = CosmosMetrics.endpointOf(context);
+            return eventsContainer.createItem(
+                    documentFormat.toDocument(event),
+                    new PartitionKey(event.getTransactionId()),
+                    new CosmosItemRequestOptions()
+                )
+                .doOnNext(response -> {
+                    metrics.record("create", endpoint, response);
+                    SessionTokens.of(context).onWrite(response.getSessionToken());
+                    event.setEtag(response.getETag());
+                })
+                .doOnError(CosmosException.class, e -> metrics.record("create", endpoint, e));
+        })
+            .doOnSuccess(response -> log.info("Event saved successfully: id={}, transactionId={}", event.getId(), event.getTransactionId()))
+            .doOnError(e -> log.error("Error saving event: {}", event, e))
+            .onErrorMap(e -> new RuntimeException("Failed to save event", e))
+            .thenReturn(event);
+    }
+
+    /**
+     * Agrupa os eventos em chunks e mantém no máximo {@code maxInFlightChunks} chamadas de bulk
+     * em andamento. A demanda só volta ao produtor quando um chunk termina, então o ritmo de
+     * ingestão é ditado pelo Cosmos (incluindo os retries de 429 do bulk executor).
+     */
+    @Override
+    public Flux<EventWriteResult> saveAll(Flux<Event> events) {
+        return events
+            .buffer(bulkConfig.chunkSize)
+            .flatMapSequentialDelayError(this::executeBulk, bulkConfig.maxInFlightChunks, 1);
+    }
+
+    private Flux<EventWriteResult> executeBulk(List<Event> chunk) {
+        Flux<CosmosItemOperation> operations = Flux.fromIterable(chunk)
+            .map(event -> CosmosBulkOperations.getCreateItemOperation(
+                documentFormat.toDocument(event),
+                new PartitionKey(event.getTransactionId()),
+                event
+            ));
+
+        return Flux.deferContextual(context -> {
+            final String endpoint = CosmosMetrics.endpointOf(context);
+            final SessionTokens sessionTokens = SessionTokens.of(context);
+            return eventsContainer.<Event>executeBulkOperations(operations)
+                .doOnNext(response -> {
+                    metrics.record("bulkCreate", endpoint, response);
+                    if (response.getResponse() != null) {
+                        sessionTokens.onWrite(response.getResponse().getSessionToken());
+                    }
+                });
+        })
+            .map(EventWriteResult::from)
+            .doOnComplete(() -> log.info("Bulk chunk saved: {} events", chunk.size()))
+            .doOnError(e -> log.error("Error executing bulk operations for {} events", chunk.size(), e))
+            .onErrorMap(e -> new RuntimeException("Failed to save events", e));
+    }
+
+    @Override
+    public Mono<Event> findById(String id, String transactionId) {
+        log.info("Finding event by id={}, transactionId={}", id, transactionId);
+        return Mono.deferContextual(context -> {
+            final String endpoint = CosmosMetrics.endpointOf(context);
+            final SessionTokens sessionTokens = SessionTokens.of(context);
+            return hedgedReads.execute("findById", attempt -> readItem(id, transactionId, attempt, endpoint, sessionTokens));
+        })
+            .doOnNext(event -> log.info("Event found: {}", event));
+    }
+
+    /**
+     * Uma tentativa de leitura por ID; o hedge ({@code attempt} > 0) exclui a primeira região preferida.
+     */
+    private Mono<Event> readItem(String id, String transactionId, int attempt, String endpoint, SessionTokens sessionTokens) {
+        final String operation = attempt == 0 ? "read" : "read-hedge";
+        final var options = sessionTokens.apply(new CosmosItemRequestOptions());
+        if (attempt > 0 && !preferredRegions.isEmpty()) {
+            options.setExcludedRegions(List.of(preferredRegions.get(0)));
+        }
+        return eventsContainer.readItem(id, new PartitionKey(transactionId), options, Event.class)
+            .doOnNext(response -> metrics.record(operation, endpoint, response))
+            .doOnError(CosmosException.class, e -> metrics.record(operation, endpoint, e))
+            .mapNotNull(response -> response.getItem())
+            .onErrorResume(AsyncEventRepository::isNotFound, e -> {
+                log.warn("Event not found: id={}, transactionId={}, attempt={}", id, transactionId, attempt);
+                return Mono.empty();
+            })
+            .doOnError(e -> log.error("Error finding event by id={}, transactionId={}, attempt={}", id, transactionId, attempt, e))
+            .onErrorMap(e -> new RuntimeException("Failed to find event", e));
+    }
+
+    /**
+     * Leitura por ID com {@code ifNoneMatchETag}: se o documento não mudou, o Cosmos responde 304
+     * sem o corpo. Um {@code If-None-Match} que o Cosmos não aceita (lista, fraco, {@code *}) vira
+     * uma leitura normal comparada aqui.
+     */
+    @Override
+    public Mono<ConditionalRead> findByIdIfNoneMatch(String id, String transactionId, String ifNoneMatch) {
+        final String etag = ETags.single(ifNoneMatch);
+        if (etag == null) {
+            return findById(id, transactionId).map(event -> ConditionalRead.of(event, ifNoneMatch));
+        }
+        log.info("Finding event by id={}, transactionId={}, ifNoneMatch={}", id, transactionId, etag);
+        return Mono.deferContextual(context -> {
+            final String endpoint = CosmosMetrics.endpointOf(context);
+            final var options = SessionTokens.of(context).apply(new CosmosItemRequestOptions()).setIfNoneMatchETag(etag);
+            return eventsContainer.readItem(id, new PartitionKey(transactionId), options, Event.class)
+                .doOnNext(response -> metrics.record("read-conditional", endpoint, response))
+                .doOnError(CosmosException.class, e -> metrics.record("read-conditional", endpoint, e))
+                .mapNotNull(response -> response.getStatusCode() == ConditionalRead.NOT_MODIFIED
+                    ? ConditionalRead.notModified(etag)
+                    : response.getItem() != null ? ConditionalRead.of(response.getItem()) : null)
+                .onErrorResume(CosmosException.class, e -> e.getStatusCode() == ConditionalRead.NOT_MODIFIED
+                    ? Mono.just(ConditionalRead.notModified(etag))
+                    : Mono.error(e))
+                .onErrorResume(AsyncEventRepository::isNotFound, e -> {
+                    log.warn("Event not found: id={}, transactionId={}", id, transactionId);
+                    return Mono.empty();
+                })
+                .doOnError(e -> log.error("Error finding event by id={}, transactionId={}", id, transactionId, e))
+                .onErrorMap(e -> new RuntimeException("Failed to find event", e));
+        });
+    }
+
+    /**
+     * Busca os eventos de uma transação (query single-partition).
+     */
+    @Override
+    public Flux<Event> findByTransactionId(String transactionId) {
+        return findByTransactionId(transactionId, EventProjection.ALL);
+    }
+
+    /**
+     * Com projeção, a query seleciona só os campos pedidos.
+     */
+    @Override
+    public Flux<Event> findByTransactionId(String transactionId, EventProjection projection) {
+        log.info("Finding events by transactionId={}, fields={}", transactionId, projection);
+
+        return query(EventQuery.byTransactionId(transactionId, projection))
+            .doOnError(e -> log.error("Error finding events by transactionId={}", transactionId, e))
+            .onErrorMap(e -> new RuntimeException("Failed to find events", e));
+    }
+
+    /**
+     * Leitura por ID sem mapear para {@link Event}: o SDK entrega o documento como árvore JSON.
+     */
+    @Override
+    public Mono<JsonNode> findRawById(String id, String transactionId) {
+        log.info("Finding raw event by id={}, transactionId={}", id, transactionId);
+        return Mono.deferContextual(context -> {
+            final String endpoint = CosmosMetrics.endpointOf(context);
+            final var options = SessionTokens.of(context).apply(new CosmosItemRequestOptions());
+            return eventsContainer.readItem(id, new PartitionKey(transactionId), options, JsonNode.class)
+                .doOnNext(response -> metrics.record("read-raw", endpoint, response))
+                .doOnError(CosmosException.class, e -> metrics.record("read-raw", endpoint, e))
+                .mapNotNull(response -> response.getItem())
+                .onErrorResume(AsyncEventRepository::isNotFound, e -> {
+                    log.warn("Event not found: id={}, transactionId={}", id, transactionId);
+                    return Mono.empty();
+                })
+                .doOnError(e -> log.error("Error finding raw event by id={}, transactionId={}", id, transactionId, e))
+                .onErrorMap(e -> new RuntimeException("Failed to find event", e));
+        });
+    }
+
+    /**
+     * Query da transação sem mapear para {@link Event}.
+     */
+    @Override
+    public Flux<JsonNode> findRawByTransactionId(String transactionId) {
+        log.info("Finding raw events by transactionId={}", transactionId);
+
+        return query(EventQuery.byTransactionId(transactionId), null, JsonNode.class)
+            .doOnError(e -> log.error("Error finding raw events by transactionId={}", transactionId, e))
+            .onErrorMap(e -> new RuntimeException("Failed to find events", e));
+    }
+
+    /**
+     * Conta os eventos da transação por tipo com {@code GROUP BY} no Cosmos (single-partition).
+     */
+    @Override
+    public Mono<EventTypeCounts> countByEventType(String transactionId) {
+        log.info("Counting events by eventType for transactionId={}", transactionId);
+
+        return query(EventQuery.countByEventType(transactionId), null, EventTypeCounts.Row.class)
+            .collectList()
+            .map(EventTypeCounts::fromRows)
+            .doOnError(e -> log.error("Error counting events by transactionId={}", transactionId, e))
+            .onErrorMap(e -> new RuntimeException("Failed to count events", e));
+    }
+
+    @Override
+    public Mono<EventPage> findPage(String transactionId, int pageSize, String continuationToken) {
+        log.info("Finding events page: transactionId={}, pageSize={}", transactionId, pageSize);
+
+        EventQuery query = EventQuery.of(transactionId);
+
+        return Mono.deferContextual(context -> {
+            final String endpoint = CosmosMetrics.endpointOf(context);
+            return eventsContainer.queryItems(query.spec(), SessionTokens.of(context).apply(query.options()), Event.class)
+                .byPage(continuationToken, pageSize)
+                .next()
+                .doOnNext(page -> metrics.record("query:" + query.name(), endpoint, page))
+                .doOnError(CosmosException.class, e -> metrics.record("query:" + query.name(), endpoint, e));
+        })
+            .map(page -> new EventPage(page.getResults(), page.getContinuationToken(), page.getRequestCharge()))
+            .defaultIfEmpty(EventPage.empty())
+            .doOnNext(page -> log.info("Found {} events in page ({} RU)", page.getItems().size(), page.getRequestCharge()))
+            .doOnError(e -> log.error("Error finding events page: transactionId={}", transactionId, e))
+            .onErrorMap(e -> new RuntimeException("Failed to find events", e));
+    }
+
+    /**
+     * Scan cross-partition com paralelismo e buffer do SDK ajustáveis. As páginas chegam nas
+     * threads de I/O do SDK e são entregues ao assinante no scheduler bloqueante por uma fila de até
+     * {@code maxBufferedItemCount} eventos: o SDK continua lendo enquanto o assinante processa.
+     */
+    @Override
+    public Flux<Event> findAll(ScanOptions options, EventProjection projection) {
+        final ScanOptions scan = options.withDefaults(config);
+        log.info("Finding all events ({}, fields={})", scan, projection);
+
+        return query(EventQuery.all(projection), scan, Event.class)
+            .publishOn(execution.blockingScheduler(), scan.maxBufferedItemCount())
+            .doOnError(e -> log.error("Error finding all events", e))
+            .onErrorMap(e -> new RuntimeException("Failed to find events", e));
+    }
+
+    private Flux<Event> query(EventQuery query) {
+        return query(query, null, Event.class);
+    }
+
+    /**
+     * Executa a query página a página, somando o custo (RU) de todas as páginas.
+     *
+     * @param scan ajustes de scan cross-partition (null = padrões do SDK)
+     * @param type tipo dos itens do resultado ({@link Event} ou as linhas de uma agregação)
+     */
+    private <T> Flux<T> query(EventQuery query, ScanOptions scan, Class<T> type) {
+        return Flux.deferContextual(context -> {
+            final String endpoint = CosmosMetrics.endpointOf(context);
+            final var requestCharge = new DoubleAdder();
+            final var options = SessionTokens.of(context).apply(query.options());
+            final var pages = scan != null
+                ? eventsContainer.queryItems(query.spec(), scan.apply(options), type).byPage(scan.maxItemCount())
+                : eventsContainer.queryItems(query.spec(), options, type).byPage();
+            return pages
+                .doOnNext(page -> {
+                    requestCharge.add(page.getRequestCharge());
+                    metrics.record("query:" + query.name(), endpoint, page);
+                })
+                .doOnError(CosmosException.class, e -> metrics.record("query:" + query.name(), endpoint, e))
+                .concatMapIterable(FeedResponse::getResults)
+                .doOnComplete(() -> log.info("Query {} completed ({} RU)", query.name(), requestCharge.sum()));
+        });
+    }
+
+    private static boolean isNotFound(Throwable e) {
+        return e instanceof CosmosException cosmosException && cosmosException.getStatusCode() == NOT_FOUND;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.config.BulkIngestConfig;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.metrics.CosmosMetrics;
+import com.example.cosmos.model.Event;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.function.Supplier;
+
+/**
+ * Adaptador de um {@link EventStore} síncrono para o contrato reativo.
+ * <p>
+ * As chamadas continuam bloqueando a thread que assina (a thread do Tomcat), preservando
+ * o comportamento original para comparação A/B com o {@link AsyncEventRepository}.
+ * Ativo em todos os modos exceto {@code async}.
+ * </p>
+ * <p>
+ * O endpoint de origem e os {@link SessionTokens} (Context do Reactor) são repassados ao store
+ * na thread da chamada, para as métricas do Cosmos e para o read-your-writes.
+ * </p>
+ */
+@Repository
+@ConditionalOnExpression("'${azure.cosmos.repository-mode:sync}' != 'async'")
+public class BlockingEventRepository implements ReactiveEventRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingEventRepository.class);
+    private final EventStore eventStore;
+    private final BulkIngestConfig bulkConfig;
+    private final HedgedReads hedgedReads;
+    private final ExecutionMode execution;
+
+    public BlockingEventRepository(
+        EventStore eventStore,
+        BulkIngestConfig bulkConfig,
+        HedgedReads hedgedReads,
+        ExecutionMode execution
+    ) {
+        this.eventStore = eventStore;
+        this.bulkConfig = bulkConfig;
+        this.hedgedReads = hedgedReads;
+        this.execution = execution;
+        log.info("BlockingEventRepository initialized with {}", eventStore.getClass().getSimpleName());
+    }
+
+    @Override
+    public Mono<Event> save(Event event) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> call(context, () -> eventStore.save(event))));
+    }
+
+    /**
+     * Envia um chunk por vez: o próximo só é lido quando o anterior foi persistido.
+     */
+    @Override
+    public Flux<EventWriteResult> saveAll(Flux<Event> events) {
+        return events
+            .buffer(bulkConfig.chunkSize)
+            .concatMap(chunk -> Flux.deferContextual(context -> Flux.fromIterable(call(context, () -> eventStore.saveAll(chunk)))));
+    }
+
+    /**
+     * Com hedging habilitado, cada tentativa roda no scheduler bloqueante ({@link ExecutionMode}):
+     * a original não pode bloquear a thread que precisa disparar o hedge.
+     */
+    @Override
+    public Mono<Event> findById(String id, String transactionId) {
+        if (!hedgedReads.isEnabled()) {
+            return Mono.deferContextual(context -> Mono.fromCallable(() ->
+                call(context, () -> eventStore.findById(id, transactionId)).orElse(null)));
+        }
+        return Mono.deferContextual(context -> hedgedReads.execute("findById", attempt -> Mono.fromCallable(() ->
+                call(context, () -> eventStore.findById(id, transactionId, attempt)).orElse(null))
+            .subscribeOn(execution.blockingScheduler())));
+    }
+
+    @Override
+    public Mono<ConditionalRead> findByIdIfNoneMatch(String id, String transactionId, String ifNoneMatch) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() ->
+            call(context, () -> eventStore.findByIdIfNoneMatch(id, transactionId, ifNoneMatch)).orElse(null)));
+    }
+
+    @Override
+    public Flux<Event> findByTransactionId(String transactionId) {
+        return Flux.deferContextual(context -> Flux.fromIterable(call(context, () -> eventStore.findByTransactionId(transactionId))));
+    }
+
+    @Override
+    public Flux<Event> findByTransactionId(String transactionId, EventProjection projection) {
+        return Flux.deferContextual(context -> Flux.fromIterable(call(context, () -> eventStore.findByTransactionId(transactionId, projection))));
+    }
+
+    @Override
+    public Mono<EventTypeCounts> countByEventType(String transactionId) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> call(context, () -> eventStore.countByEventType(transactionId))));
+    }
+
+    @Override
+    public Mono<JsonNode> findRawById(String id, String transactionId) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() ->
+            call(context, () -> eventStore.findRawById(id, transactionId)).orElse(null)));
+    }
+
+    @Override
+    public Flux<JsonNode> findRawByTransactionId(String transactionId) {
+        return Flux.deferContextual(context -> Flux.fromStream(() -> call(context, () -> eventStore.findRawByTransactionId(transactionId))));
+    }
+
+    @Override
+    public Mono<EventPage> findPage(String transactionId, int pageSize, String continuationToken) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() ->
+            call(context, () -> eventStore.findPage(transactionId, pageSize, continuationToken))));
+    }
+
+    /**
+     * Emite os eventos direto do stream do store, sem materializar a lista. O stream é fechado
+     * no término ou cancelamento, o que encerra o pipeline de scan do backend Cosmos.
+     */
+    @Override
+    public Flux<Event> findAll(ScanOptions options, EventProjection projection) {
+        return Flux.deferContextual(context -> Flux.fromStream(() -> call(context, () -> eventStore.findAll(options, projection))));
+    }
+
+    /**
+     * Executa a chamada ao store com o endpoint de origem e os session tokens da requisição
+     * associados à thread atual.
+     */
+    private static <T> T call(ContextView context, Supplier<T> storeCall) {
+        return CosmosMetrics.withEndpoint(CosmosMetrics.endpointOf(context), () ->
+            SessionTokens.with(SessionTokens.of(context), storeCall));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+
+/**
+ * Resultado de uma leitura condicional ({@code If-None-Match}): o evento, quando mudou, ou apenas
+ * a indicação de que a versão do cliente continua atual.
+ *
+ * @param event o evento, ou null se não foi modificado
+ * @param etag  ETag atual do evento
+ */
+public record ConditionalRead(Event event, String etag) {
+
+    // Status do Cosmos DB para um ifNoneMatchETag que casou
+    static final int NOT_MODIFIED = 304;
+
+    public static ConditionalRead notModified(String etag) {
+        return new ConditionalRead(null, etag);
+    }
+
+    public static ConditionalRead of(Event event) {
+        return new ConditionalRead(event, ETags.of(event));
+    }
+
+    /**
+     * Compara o evento já lido com o {@code If-None-Match} do cliente.
+     */
+    public static ConditionalRead of(Event event, String ifNoneMatch) {
+        final String etag = ETags.of(event);
+        return ETags.matches(ifNoneMatch, etag) ? notModified(etag) : new ConditionalRead(event, etag);
+    }
+
+    public boolean isNotModified() {
+        return event == null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ETags HTTP dos eventos, para GETs condicionais ({@code If-None-Match} / 304).
+ * <p>
+ * Um evento lido do Cosmos DB usa o {@code _etag} do documento, que já vem entre aspas e pode ser
+ * repassado ao Cosmos em {@code ifNoneMatchETag}. Sem ele (backends locais, projeções), o ETag é um
+ * hash dos campos do evento. A lista de uma transação recebe um hash dos ETags dos seus eventos,
+ * independente da ordem em que vieram. Os hashes são determinísticos (FNV-1a de 64 bits), então
+ * todas as instâncias calculam o mesmo ETag para o mesmo conteúdo.
+ * </p>
+ */
+public final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    /**
+     * ETag de um evento.
+     */
+    public static String of(Event event) {
+        if (event.getEtag() != null) {
+            return event.getEtag();
+        }
+        long hash = FNV_OFFSET;
+        hash = hash(hash, event.getId());
+        hash = hash(hash, event.getTransactionId());
+        hash = hash(hash, event.getEventType() != null ? event.getEventType().name() : null);
+        hash = hash(hash, event.getTimestamp() != null ? event.getTimestamp().toString() : null);
+        return quote(hash);
+    }
+
+    /**
+     * ETag de uma lista de eventos. {@code variant} distingue representações diferentes do mesmo
+     * conteúdo (ex.: projeções).
+     */
+    public static String of(Collection<Event> events, String variant) {
+        final List<String> tags = new ArrayList<>(events.size());
+        for (Event event : events) {
+            tags.add(of(event));
+        }
+        tags.sort(null);
+        long hash = hash(FNV_OFFSET, variant);
+        for (String tag : tags) {
+            hash = hash(hash, tag);
+        }
+        return quote(hash);
+    }
+
+    /**
+     * Se o {@code If-None-Match} do cliente casa com o ETag atual (comparação fraca, RFC 9110).
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        final String current = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            if (opaque(candidate.trim()).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * O ETag do {@code If-None-Match} quando ele é um único ETag forte, o único formato que o
+     * Cosmos DB aceita em {@code ifNoneMatchETag}; senão null.
+     */
+    public static String single(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        final String tag = ifNoneMatch.trim();
+        return tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"") && tag.indexOf(',') < 0 ? tag : null;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static long hash(long hash, String value) {
+        if (value != null) {
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= FNV_PRIME;
+            }
+        }
+        // Separador: ("ab", "c") e ("a", "bc") não colidem
+        hash ^= 0xff;
+        return hash * FNV_PRIME;
+    }
+
+    private static String quote(long hash) {
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.CompactEvent;
+import com.example.cosmos.model.Event;
+
+import java.util.Locale;
+
+/**
+ * Formato em que os eventos são gravados no Cosmos DB ({@code azure.cosmos.document-format}).
+ * A leitura sempre aceita os dois formatos.
+ */
+public enum EventDocumentFormat {
+
+    /**
+     * Nomes de campo completos, eventType como nome do enum e timestamp ISO-8601.
+     */
+    FULL {
+        @Override
+        public Object toDocument(Event event) {
+            return event;
+        }
+    },
+
+    /**
+     * {@link CompactEvent}: nomes curtos, código do eventType e timestamp em epoch millis.
+     */
+    COMPACT {
+        @Override
+        public Object toDocument(Event event) {
+            return CompactEvent.from(event);
+        }
+    };
+
+    public abstract Object toDocument(Event event);
+
+    public static EventDocumentFormat of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+
+import java.util.List;
+
+/**
+ * Uma página de eventos e o continuation token para buscar a próxima.
+ * O token é {@code null} quando não há mais páginas. Inclui o custo (RU) da página.
+ */
+public class EventPage {
+
+    private final List<Event> items;
+    private final String continuationToken;
+    private final double requestCharge;
+
+    public EventPage(List<Event> items, String continuationToken, double requestCharge) {
+        this.items = items;
+        this.continuationToken = continuationToken;
+        this.requestCharge = requestCharge;
+    }
+
+    public static EventPage empty() {
+        return new EventPage(List.of(), null, 0);
+    }
+
+    public List<Event> getItems() {
+        return items;
+    }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public double getRequestCharge() {
+        return requestCharge;
+    }
+
+    @Override
+    public String toString() {
+        return "EventPage{" +
+               "items=" + items.size() +
+               ", continuationToken='" + continuationToken + '\'' +
+               ", requestCharge=" + requestCharge +
+               '}';
+    }
+}
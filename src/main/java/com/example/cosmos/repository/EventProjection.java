@@ -0,0 +1,125 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Subconjunto dos campos de um evento pedido pelo cliente ({@code fields=id,eventType}).
+ * <p>
+ * No Cosmos DB vira a lista do {@code SELECT} ({@code SELECT c.id, c.eventType, c.e FROM c}) em vez
+ * de {@code SELECT *}: o documento volta menor (sem os demais campos nem as propriedades de
+ * sistema), o custo em RU cai e a desserialização tem menos trabalho. Como documentos nos formatos
+ * completo e compacto convivem no container, eventType e timestamp selecionam os dois nomes de
+ * propriedade; a ausente simplesmente não vem. Nos backends locais a projeção é aplicada em memória.
+ * Os campos não selecionados ficam nulos no {@link Event}.
+ * </p>
+ */
+public final class EventProjection {
+
+    /**
+     * Campos projetáveis, pelo nome usado na API.
+     */
+    public enum Field {
+        ID("id", "id"),
+        TRANSACTION_ID("transactionId", "transactionId"),
+        EVENT_TYPE("eventType", "eventType", Event.COMPACT_EVENT_TYPE),
+        TIMESTAMP("timestamp", "timestamp", Event.COMPACT_TIMESTAMP);
+
+        private final String apiName;
+        private final List<String> properties;
+
+        Field(String apiName, String... properties) {
+            this.apiName = apiName;
+            this.properties = List.of(properties);
+        }
+
+        static Field of(String apiName) {
+            for (Field field : values()) {
+                if (field.apiName.equalsIgnoreCase(apiName)) {
+                    return field;
+                }
+            }
+            throw new InvalidQueryException("Unknown field: " + apiName + " (expected one of " +
+                Arrays.stream(values()).map(field -> field.apiName).collect(Collectors.joining(", ")) + ")");
+        }
+    }
+
+    /**
+     * Documento inteiro ({@code SELECT *}).
+     */
+    public static final EventProjection ALL = new EventProjection(EnumSet.allOf(Field.class));
+
+    private final Set<Field> fields;
+    private final String select;
+
+    private EventProjection(Set<Field> fields) {
+        this.fields = fields;
+        this.select = fields.size() == Field.values().length ? "SELECT *" : selectOf(fields);
+    }
+
+    /**
+     * Projeção a partir da lista separada por vírgula da API; vazia ou nula = {@link #ALL}.
+     *
+     * @throws InvalidQueryException se algum campo não existir
+     */
+    public static EventProjection of(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        final Set<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                selected.add(Field.of(name.trim()));
+            }
+        }
+        return selected.isEmpty() ? ALL : new EventProjection(selected);
+    }
+
+    // Ordem fixa (a do enum): a mesma projeção gera sempre o mesmo texto e reaproveita o query plan
+    private static String selectOf(Set<Field> fields) {
+        final List<String> properties = new ArrayList<>();
+        for (Field field : fields) {
+            for (String property : field.properties) {
+                properties.add("c." + property);
+            }
+        }
+        return "SELECT " + String.join(", ", properties);
+    }
+
+    public boolean isAll() {
+        return fields.size() == Field.values().length;
+    }
+
+    /**
+     * Cláusula {@code SELECT} da query, sem o {@code FROM}.
+     */
+    String select() {
+        return select;
+    }
+
+    /**
+     * Aplica a projeção em memória (backends locais).
+     */
+    public Event apply(Event event) {
+        if (isAll()) {
+            return event;
+        }
+        return new Event(
+            fields.contains(Field.ID) ? event.getId() : null,
+            fields.contains(Field.TRANSACTION_ID) ? event.getTransactionId() : null,
+            fields.contains(Field.EVENT_TYPE) ? event.getEventType() : null,
+            fields.contains(Field.TIMESTAMP) ? event.getTimestamp() : null
+        );
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : fields.stream().map(field -> field.apiName).collect(Collectors.joining(","));
+    }
+}
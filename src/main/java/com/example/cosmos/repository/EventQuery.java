@@ -0,0 +1,123 @@
+package com.example.cosmos.repository;
+
+import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.SqlParameter;
+import com.azure.cosmos.models.SqlQuerySpec;
+import com.example.cosmos.model.Event;
+
+/**
+ * Query tipada sobre o container de eventos.
+ * <p>
+ * Os parâmetros são sempre vinculados via {@link SqlParameter} e o texto da query é constante
+ * por tipo, o que permite ao SDK reaproveitar o query plan em cache entre chamadas. Quando a
+ * partition key é conhecida (transactionId), ela é definida em {@link CosmosQueryRequestOptions}
+ * e a query é roteada para uma única partição em vez de fazer fan-out em todas.
+ * </p>
+ */
+public final class EventQuery {
+
+    private static final String FROM = " FROM c";
+    private static final String BY_TRANSACTION_ID = " WHERE c.transactionId = @transactionId";
+    private static final String COUNT_BY_EVENT_TYPE =
+        "SELECT c.eventType, c." + Event.COMPACT_EVENT_TYPE + ", COUNT(1) AS n FROM c" + BY_TRANSACTION_ID +
+        " GROUP BY c.eventType, c." + Event.COMPACT_EVENT_TYPE;
+
+    // Sem parâmetros: a mesma spec é reaproveitada em todas as chamadas
+    private static final SqlQuerySpec ALL_SPEC = new SqlQuerySpec(EventProjection.ALL.select() + FROM);
+
+    private final String name;
+    private final SqlQuerySpec spec;
+    private final PartitionKey partitionKey;
+
+    private EventQuery(String name, SqlQuerySpec spec, PartitionKey partitionKey) {
+        this.name = name;
+        this.spec = spec;
+        this.partitionKey = partitionKey;
+    }
+
+    /**
+     * Todos os eventos (cross-partition).
+     */
+    public static EventQuery all() {
+        return new EventQuery("all", ALL_SPEC, null);
+    }
+
+    /**
+     * Todos os eventos, só com os campos da projeção.
+     */
+    public static EventQuery all(EventProjection projection) {
+        return projection.isAll()
+            ? all()
+            : new EventQuery("all:fields", new SqlQuerySpec(projection.select() + FROM), null);
+    }
+
+    /**
+     * Eventos de uma transação (single-partition).
+     */
+    public static EventQuery byTransactionId(String transactionId) {
+        return byTransactionId(transactionId, EventProjection.ALL);
+    }
+
+    /**
+     * Eventos de uma transação, só com os campos da projeção.
+     */
+    public static EventQuery byTransactionId(String transactionId, EventProjection projection) {
+        return new EventQuery(
+            projection.isAll() ? "byTransactionId" : "byTransactionId:fields",
+            new SqlQuerySpec(projection.select() + FROM + BY_TRANSACTION_ID, new SqlParameter("@transactionId", transactionId)),
+            new PartitionKey(transactionId)
+        );
+    }
+
+    /**
+     * Quantidade de eventos de uma transação por tipo, agregada no servidor (single-partition).
+     * O resultado são linhas {@link EventTypeCounts.Row}, não eventos.
+     */
+    public static EventQuery countByEventType(String transactionId) {
+        return new EventQuery(
+            "countByEventType",
+            new SqlQuerySpec(COUNT_BY_EVENT_TYPE, new SqlParameter("@transactionId", transactionId)),
+            new PartitionKey(transactionId)
+        );
+    }
+
+    /**
+     * {@link #byTransactionId(String)} quando o transactionId é informado, senão {@link #all()}.
+     */
+    public static EventQuery of(String transactionId) {
+        return transactionId != null ? byTransactionId(transactionId) : all();
+    }
+
+    /**
+     * Opções da query, com a partition key definida quando conhecida.
+     */
+    public CosmosQueryRequestOptions options() {
+        final var options = new CosmosQueryRequestOptions();
+        if (partitionKey != null) {
+            options.setPartitionKey(partitionKey);
+        }
+        return options;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public SqlQuerySpec spec() {
+        return spec;
+    }
+
+    public boolean isSinglePartition() {
+        return partitionKey != null;
+    }
+
+    @Override
+    public String toString() {
+        return "EventQuery{" +
+               "name='" + name + '\'' +
+               ", query='" + spec.getQueryText() + '\'' +
+               ", singlePartition=" + isSinglePartition() +
+               '}';
+    }
+}
@@ -1,118 +1,412 @@
 package com.example.cosmos.repository;
 
 import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosBulkOperations;
+import com.azure.cosmos.models.CosmosItemOperation;
 import com.azure.cosmos.models.CosmosItemRequestOptions;
-import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.FeedResponse;
 import com.azure.cosmos.models.PartitionKey;
+import com.example.cosmos.config.CosmosDbConfig;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.metrics.CosmosMetrics;
 import com.example.cosmos.model.Event;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Repository para operações de eventos no Cosmos DB.
+ * Repository síncrono para operações de eventos no Cosmos DB (backend Cosmos do {@link EventStore}).
+ * Ativo com {@code azure.cosmos.repository-mode=sync} (padrão).
  */
 @Repository
-public class EventRepository {
+@ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "sync", matchIfMissing = true)
+public class EventRepository implements EventStore {
 
     private static final Logger log = LoggerFactory.getLogger(EventRepository.class);
+
+    // Só o 404 vira "não encontrado"; 429, timeouts etc. sobem para o admission control
+    private static final int NOT_FOUND = 404;
     private final CosmosContainer eventsContainer;
+    private final CosmosMetrics metrics;
+    private final EventDocumentFormat documentFormat;
+    private final List<String> preferredRegions;
+    private final CosmosDbConfig config;
+    private final ExecutionMode execution;
 
-    public EventRepository(@Qualifier("events") CosmosContainer eventsContainer) {
+    public EventRepository(
+        @Qualifier("events") CosmosContainer eventsContainer,
+        CosmosMetrics metrics,
+        CosmosDbConfig config,
+        ExecutionMode execution
+    ) {
         this.eventsContainer = eventsContainer;
-        log.info("EventRepository initialized");
+        this.config = config;
+        this.execution = execution;
+        this.metrics = metrics;
+        this.documentFormat = EventDocumentFormat.of(config.documentFormat);
+        this.preferredRegions = config.preferredRegions;
+        log.info("EventRepository initialized (documentFormat={})", documentFormat);
     }
 
     /**
      * Salva um evento no Cosmos DB.
      */
+    @Override
     public Event save(Event event) {
         log.info("Saving event: {}", event);
+        final String endpoint = CosmosMetrics.currentEndpoint();
         try {
-            eventsContainer.createItem(
-                event,
+            var response = eventsContainer.createItem(
+                documentFormat.toDocument(event),
                 new PartitionKey(event.getTransactionId()),
                 new CosmosItemRequestOptions()
             );
+            metrics.record("create", endpoint, response);
+            SessionTokens.current().onWrite(response.getSessionToken());
+            event.setEtag(response.getETag());
             log.info("Event saved successfully: id={}, transactionId={}", event.getId(), event.getTransactionId());
             return event;
         } catch (Exception e) {
+            if (e instanceof CosmosException ce) {
+                metrics.record("create", endpoint, ce);
+            }
             log.error("Error saving event: {}", event, e);
             throw new RuntimeException("Failed to save event", e);
         }
     }
 
+    /**
+     * Salva um conjunto de eventos via bulk.
+     * Retorna um resultado por evento, incluindo falhas individuais.
+     */
+    @Override
+    public List<EventWriteResult> saveAll(List<Event> events) {
+        log.info("Saving {} events via bulk", events.size());
+        List<CosmosItemOperation> operations = new ArrayList<>(events.size());
+        for (Event event : events) {
+            operations.add(CosmosBulkOperations.getCreateItemOperation(
+                documentFormat.toDocument(event),
+                new PartitionKey(event.getTransactionId()),
+                event
+            ));
+        }
+
+        final String endpoint = CosmosMetrics.currentEndpoint();
+        final SessionTokens sessionTokens = SessionTokens.current();
+        List<EventWriteResult> results = new ArrayList<>(events.size());
+        try {
+            for (CosmosBulkOperationResponse<Event> response : eventsContainer.<Event>executeBulkOperations(operations)) {
+                metrics.record("bulkCreate", endpoint, response);
+                if (response.getResponse() != null) {
+                    sessionTokens.onWrite(response.getResponse().getSessionToken());
+                }
+                results.add(EventWriteResult.from(response));
+            }
+            log.info("Bulk saved {} events", results.size());
+            return results;
+        } catch (Exception e) {
+            log.error("Error saving {} events via bulk", events.size(), e);
+            throw new RuntimeException("Failed to save events", e);
+        }
+    }
+
     /**
      * Busca um evento por ID e transactionId (partition key).
      */
+    @Override
     public Optional<Event> findById(String id, String transactionId) {
-        log.info("Finding event by id={}, transactionId={}", id, transactionId);
+        return findById(id, transactionId, 0);
+    }
+
+    /**
+     * O hedge ({@code attempt} > 0) exclui a primeira região preferida, indo para a próxima.
+     */
+    @Override
+    public Optional<Event> findById(String id, String transactionId, int attempt) {
+        log.info("Finding event by id={}, transactionId={}, attempt={}", id, transactionId, attempt);
+        final String endpoint = CosmosMetrics.currentEndpoint();
+        final String operation = attempt == 0 ? "read" : "read-hedge";
         try {
             var response = eventsContainer.readItem(
                 id,
                 new PartitionKey(transactionId),
+                readOptions(attempt),
                 Event.class
             );
+            metrics.record(operation, endpoint, response);
             Event event = response.getItem();
             log.info("Event found: {}", event);
             return Optional.ofNullable(event);
-        } catch (Exception e) {
-            log.warn("Event not found: id={}, transactionId={}", id, transactionId);
-            return Optional.empty();
+        } catch (CosmosException e) {
+            metrics.record(operation, endpoint, e);
+            if (e.getStatusCode() == NOT_FOUND) {
+                log.warn("Event not found: id={}, transactionId={}", id, transactionId);
+                return Optional.empty();
+            }
+            log.error("Error finding event by id={}, transactionId={}", id, transactionId, e);
+            throw new RuntimeException("Failed to find event", e);
+        }
+    }
+
+    /**
+     * Leitura por ID com {@code ifNoneMatchETag}: se o documento não mudou, o Cosmos responde 304
+     * sem o corpo. Um {@code If-None-Match} que o Cosmos não aceita (lista, fraco, {@code *}) vira
+     * uma leitura normal comparada aqui.
+     */
+    @Override
+    public Optional<ConditionalRead> findByIdIfNoneMatch(String id, String transactionId, String ifNoneMatch) {
+        final String etag = ETags.single(ifNoneMatch);
+        if (etag == null) {
+            return EventStore.super.findByIdIfNoneMatch(id, transactionId, ifNoneMatch);
+        }
+        log.info("Finding event by id={}, transactionId={}, ifNoneMatch={}", id, transactionId, etag);
+        final String endpoint = CosmosMetrics.currentEndpoint();
+        final var options = readOptions(0).setIfNoneMatchETag(etag);
+        try {
+            var response = eventsContainer.readItem(id, new PartitionKey(transactionId), options, Event.class);
+            metrics.record("read-conditional", endpoint, response);
+            if (response.getStatusCode() == ConditionalRead.NOT_MODIFIED) {
+                return Optional.of(ConditionalRead.notModified(etag));
+            }
+            return Optional.ofNullable(response.getItem()).map(ConditionalRead::of);
+        } catch (CosmosException e) {
+            metrics.record("read-conditional", endpoint, e);
+            if (e.getStatusCode() == ConditionalRead.NOT_MODIFIED) {
+                return Optional.of(ConditionalRead.notModified(etag));
+            }
+            if (e.getStatusCode() == NOT_FOUND) {
+                log.warn("Event not found: id={}, transactionId={}", id, transactionId);
+                return Optional.empty();
+            }
+            log.error("Error finding event by id={}, transactionId={}", id, transactionId, e);
+            throw new RuntimeException("Failed to find event", e);
         }
     }
 
     /**
-     * Busca todos os eventos de uma transação.
+     * Busca todos os eventos de uma transação (query single-partition).
      */
+    @Override
     public List<Event> findByTransactionId(String transactionId) {
-        log.info("Finding events by transactionId={}", transactionId);
+        return findByTransactionId(transactionId, EventProjection.ALL);
+    }
+
+    /**
+     * Com projeção, a query seleciona só os campos pedidos.
+     */
+    @Override
+    public List<Event> findByTransactionId(String transactionId, EventProjection projection) {
+        log.info("Finding events by transactionId={}, fields={}", transactionId, projection);
         
-        String query = "SELECT * FROM c WHERE c.transactionId = @transactionId";
-        CosmosQueryRequestOptions options = new CosmosQueryRequestOptions();
+        EventQuery query = EventQuery.byTransactionId(transactionId, projection);
         
         List<Event> events = new ArrayList<>();
+        double requestCharge = 0;
+        final String endpoint = CosmosMetrics.currentEndpoint();
         
         try {
-            eventsContainer.queryItems(query, options, Event.class)
-                .iterableByPage()
-                .forEach(page -> events.addAll(page.getResults()));
+            for (var page : eventsContainer.queryItems(query.spec(), SessionTokens.current().apply(query.options()), Event.class).iterableByPage()) {
+                metrics.record("query:" + query.name(), endpoint, page);
+                events.addAll(page.getResults());
+                requestCharge += page.getRequestCharge();
+            }
             
-            log.info("Found {} events for transactionId={}", events.size(), transactionId);
+            log.info("Found {} events for transactionId={} ({} RU)", events.size(), transactionId, requestCharge);
             return events;
         } catch (Exception e) {
+            if (e instanceof CosmosException ce) {
+                metrics.record("query:" + query.name(), CosmosMetrics.currentEndpoint(), ce);
+            }
             log.error("Error finding events by transactionId={}", transactionId, e);
             throw new RuntimeException("Failed to find events", e);
         }
     }
 
     /**
-     * Busca todos os eventos.
+     * Leitura por ID sem mapear para {@link Event}: o SDK entrega o documento como árvore JSON.
      */
-    public List<Event> findAll() {
-        log.info("Finding all events");
-        
-        String query = "SELECT * FROM c";
-        CosmosQueryRequestOptions options = new CosmosQueryRequestOptions();
-        
-        List<Event> events = new ArrayList<>();
-        
+    @Override
+    public Optional<JsonNode> findRawById(String id, String transactionId) {
+        log.info("Finding raw event by id={}, transactionId={}", id, transactionId);
+        final String endpoint = CosmosMetrics.currentEndpoint();
         try {
-            eventsContainer.queryItems(query, options, Event.class)
-                .iterableByPage()
-                .forEach(page -> events.addAll(page.getResults()));
-            
-            log.info("Found {} total events", events.size());
-            return events;
+            var response = eventsContainer.readItem(id, new PartitionKey(transactionId), readOptions(0), JsonNode.class);
+            metrics.record("read-raw", endpoint, response);
+            return Optional.ofNullable(response.getItem());
+        } catch (CosmosException e) {
+            metrics.record("read-raw", endpoint, e);
+            if (e.getStatusCode() == NOT_FOUND) {
+                log.warn("Event not found: id={}, transactionId={}", id, transactionId);
+                return Optional.empty();
+            }
+            log.error("Error finding raw event by id={}, transactionId={}", id, transactionId, e);
+            throw new RuntimeException("Failed to find event", e);
+        }
+    }
+
+    /**
+     * Query da transação sem mapear para {@link Event}. As páginas são buscadas à medida que o
+     * stream é consumido, então os documentos de uma página podem ser escritos na resposta antes
+     * da próxima ser lida.
+     */
+    @Override
+    public Stream<JsonNode> findRawByTransactionId(String transactionId) {
+        log.info("Finding raw events by transactionId={}", transactionId);
+
+        EventQuery query = EventQuery.byTransactionId(transactionId);
+        final String endpoint = CosmosMetrics.currentEndpoint();
+        final String operation = "query:" + query.name() + ":raw";
+        final Iterator<FeedResponse<JsonNode>> pages = eventsContainer
+            .queryItems(query.spec(), SessionTokens.current().apply(query.options()), JsonNode.class)
+            .iterableByPage()
+            .iterator();
+
+        final var spliterator = new Spliterators.AbstractSpliterator<FeedResponse<JsonNode>>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super FeedResponse<JsonNode>> action) {
+                final FeedResponse<JsonNode> page;
+                try {
+                    if (!pages.hasNext()) {
+                        return false;
+                    }
+                    page = pages.next();
+                } catch (CosmosException e) {
+                    metrics.record(operation, endpoint, e);
+                    log.error("Error finding raw events by transactionId={}", transactionId, e);
+                    throw new RuntimeException("Failed to find events", e);
+                }
+                metrics.record(operation, endpoint, page);
+                action.accept(page);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).flatMap(page -> page.getResults().stream());
+    }
+
+    /**
+     * Conta os eventos da transação por tipo com {@code GROUP BY} no Cosmos (single-partition).
+     */
+    @Override
+    public EventTypeCounts countByEventType(String transactionId) {
+        log.info("Counting events by eventType for transactionId={}", transactionId);
+
+        EventQuery query = EventQuery.countByEventType(transactionId);
+        final String endpoint = CosmosMetrics.currentEndpoint();
+        List<EventTypeCounts.Row> rows = new ArrayList<>();
+
+        try {
+            for (var page : eventsContainer.queryItems(query.spec(), SessionTokens.current().apply(query.options()), EventTypeCounts.Row.class).iterableByPage()) {
+                metrics.record("query:" + query.name(), endpoint, page);
+                rows.addAll(page.getResults());
+            }
+            return EventTypeCounts.fromRows(rows);
+        } catch (Exception e) {
+            if (e instanceof CosmosException ce) {
+                metrics.record("query:" + query.name(), endpoint, ce);
+            }
+            log.error("Error counting events by transactionId={}", transactionId, e);
+            throw new RuntimeException("Failed to count events", e);
+        }
+    }
+
+    /**
+     * Busca uma página de eventos, opcionalmente filtrada por transactionId.
+     *
+     * @param transactionId     filtro opcional (null = todos)
+     * @param pageSize          tamanho de página desejado
+     * @param continuationToken token da página anterior (null = primeira página)
+     */
+    @Override
+    public EventPage findPage(String transactionId, int pageSize, String continuationToken) {
+        log.info("Finding events page: transactionId={}, pageSize={}", transactionId, pageSize);
+
+        EventQuery query = EventQuery.of(transactionId);
+
+        try {
+            var pages = eventsContainer.queryItems(query.spec(), SessionTokens.current().apply(query.options()), Event.class)
+                .iterableByPage(continuationToken, pageSize)
+                .iterator();
+            if (!pages.hasNext()) {
+                return EventPage.empty();
+            }
+            var page = pages.next();
+            metrics.record("query:" + query.name(), CosmosMetrics.currentEndpoint(), page);
+            log.info("Found {} events in page ({} RU)", page.getResults().size(), page.getRequestCharge());
+            return new EventPage(page.getResults(), page.getContinuationToken(), page.getRequestCharge());
         } catch (Exception e) {
-            log.error("Error finding all events", e);
+            if (e instanceof CosmosException ce) {
+                metrics.record("query:" + query.name(), CosmosMetrics.currentEndpoint(), ce);
+            }
+            log.error("Error finding events page: transactionId={}", transactionId, e);
             throw new RuntimeException("Failed to find events", e);
         }
     }
-}
 
+    /**
+     * Busca todos os eventos com os ajustes de scan padrão.
+     */
+    @Override
+    public Stream<Event> findAll() {
+        return findAll(ScanOptions.DEFAULT);
+    }
+
+    /**
+     * Busca todos os eventos.
+     * <p>
+     * As páginas são buscadas por um {@link ScanPipeline}: uma thread produtora lê à frente
+     * (até {@code maxBufferedItemCount} itens) enquanto o chamador consome a página atual, então a
+     * memória continua limitada e o round trip ao Cosmos se sobrepõe ao processamento.
+     * O chamador deve fechar o stream.
+     * </p>
+     */
+    @Override
+    public Stream<Event> findAll(ScanOptions options) {
+        return findAll(options, EventProjection.ALL);
+    }
+
+    /**
+     * {@link #findAll(ScanOptions)} selecionando só os campos da projeção.
+     */
+    @Override
+    public Stream<Event> findAll(ScanOptions options, EventProjection projection) {
+        final ScanOptions scan = options.withDefaults(config);
+        log.info("Finding all events ({}, fields={})", scan, projection);
+        
+        EventQuery query = EventQuery.all(projection);
+        final String endpoint = CosmosMetrics.currentEndpoint();
+        final var queryOptions = scan.apply(SessionTokens.current().apply(query.options()));
+        
+        var pages = eventsContainer.queryItems(query.spec(), queryOptions, Event.class).iterableByPage(scan.maxItemCount());
+        Iterable<List<Event>> results = () -> StreamSupport.stream(pages.spliterator(), false)
+            .map(page -> {
+                metrics.record("query:" + query.name(), endpoint, page);
+                log.debug("Streaming page with {} events ({} RU)", page.getResults().size(), page.getRequestCharge());
+                return page.getResults();
+            })
+            .iterator();
+        return ScanPipeline.stream(results, scan.bufferedPages(), execution.thread("scan-producer"));
+    }
+
+    private CosmosItemRequestOptions readOptions(int attempt) {
+        final var options = SessionTokens.current().apply(new CosmosItemRequestOptions());
+        if (attempt > 0 && !preferredRegions.isEmpty()) {
+            options.setExcludedRegions(List.of(preferredRegions.get(0)));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Porta de armazenamento síncrono de eventos.
+ * <p>
+ * Backends disponíveis, escolhidos por {@code azure.cosmos.repository-mode}:
+ * <ul>
+ *   <li><b>sync</b> - {@link EventRepository}, no Cosmos DB</li>
+ *   <li><b>segment</b> - {@link com.example.cosmos.repository.segment.SegmentEventStore}, arquivos
+ *       de segmento locais (edge e testes de carga sem Azure)</li>
+ *   <li><b>memory</b> - {@link com.example.cosmos.repository.memory.InMemoryEventStore}, sem
+ *       persistência (benchmarks)</li>
+ * </ul>
+ * O {@link BlockingEventRepository} adapta qualquer backend ao contrato reativo usado pelo service.
+ * </p>
+ */
+public interface EventStore {
+
+    /**
+     * Salva um evento. Falha se já existir um evento com o mesmo ID na transação.
+     */
+    Event save(Event event);
+
+    /**
+     * Salva um conjunto de eventos. Retorna um resultado por evento, incluindo falhas individuais.
+     */
+    List<EventWriteResult> saveAll(List<Event> events);
+
+    /**
+     * Busca um evento por ID e transactionId (partition key).
+     */
+    Optional<Event> findById(String id, String transactionId);
+
+    /**
+     * Busca por ID como parte de uma leitura hedged ({@link HedgedReads}); {@code attempt} > 0 é
+     * o hedge. Backends com mais de uma região podem direcioná-lo a outra.
+     */
+    default Optional<Event> findById(String id, String transactionId, int attempt) {
+        return findById(id, transactionId);
+    }
+
+    /**
+     * Busca condicional por ID: {@link ConditionalRead#isNotModified()} quando o ETag atual casa
+     * com {@code ifNoneMatch}. O padrão lê o evento e compara; no Cosmos o documento nem trafega.
+     */
+    default Optional<ConditionalRead> findByIdIfNoneMatch(String id, String transactionId, String ifNoneMatch) {
+        return findById(id, transactionId).map(event -> ConditionalRead.of(event, ifNoneMatch));
+    }
+
+    /**
+     * Busca todos os eventos de uma transação.
+     */
+    List<Event> findByTransactionId(String transactionId);
+
+    /**
+     * Busca por ID devolvendo o documento cru, sem mapear para {@link Event}. Backends locais
+     * montam o documento a partir do evento.
+     */
+    default Optional<JsonNode> findRawById(String id, String transactionId) {
+        return findById(id, transactionId).map(RawDocuments::of);
+    }
+
+    /**
+     * Busca os documentos crus dos eventos de uma transação, à medida que são lidos.
+     * O chamador deve fechar o stream.
+     */
+    default Stream<JsonNode> findRawByTransactionId(String transactionId) {
+        return findByTransactionId(transactionId).stream().map(RawDocuments::of);
+    }
+
+    /**
+     * {@link #findByTransactionId(String)} só com os campos da projeção. Backends locais leem o
+     * evento inteiro e projetam em memória.
+     */
+    default List<Event> findByTransactionId(String transactionId, EventProjection projection) {
+        return findByTransactionId(transactionId).stream().map(projection::apply).toList();
+    }
+
+    /**
+     * Quantidade de eventos da transação por tipo.
+     */
+    default EventTypeCounts countByEventType(String transactionId) {
+        return EventTypeCounts.of(findByTransactionId(transactionId));
+    }
+
+    /**
+     * Busca uma página de eventos, opcionalmente filtrada por transactionId (null = todos).
+     */
+    EventPage findPage(String transactionId, int pageSize, String continuationToken);
+
+    /**
+     * Busca todos os eventos de forma lazy. O chamador deve fechar o stream.
+     */
+    Stream<Event> findAll();
+
+    /**
+     * {@link #findAll()} com ajustes do scan. Backends locais não têm o que ajustar e os ignoram.
+     */
+    default Stream<Event> findAll(ScanOptions options) {
+        return findAll();
+    }
+
+    /**
+     * {@link #findAll(ScanOptions)} só com os campos da projeção. O chamador deve fechar o stream.
+     */
+    default Stream<Event> findAll(ScanOptions options, EventProjection projection) {
+        return findAll(options).map(projection::apply);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Quantidade de eventos por {@link EventType}.
+ * <p>
+ * No Cosmos DB é calculada no servidor com {@code GROUP BY}: só as linhas agregadas ({@link Row})
+ * trafegam, uma por tipo, em vez de todos os documentos.
+ * </p>
+ */
+public record EventTypeCounts(Map<EventType, Long> counts) {
+
+    public EventTypeCounts {
+        counts = Collections.unmodifiableMap(counts.isEmpty() ? new EnumMap<>(EventType.class) : new EnumMap<>(counts));
+    }
+
+    public static EventTypeCounts empty() {
+        return new EventTypeCounts(Map.of());
+    }
+
+    /**
+     * Contagem em memória (backends locais).
+     */
+    public static EventTypeCounts of(Iterable<Event> events) {
+        final Map<EventType, Long> counts = new EnumMap<>(EventType.class);
+        for (Event event : events) {
+            counts.merge(event.getEventType(), 1L, Long::sum);
+        }
+        return new EventTypeCounts(counts);
+    }
+
+    /**
+     * Soma as linhas do {@code GROUP BY}. Uma mesma contagem pode vir em mais de uma linha
+     * (documentos completos e compactos do mesmo tipo, ou buckets diferentes do índice temporal).
+     */
+    public static EventTypeCounts fromRows(Iterable<Row> rows) {
+        final Map<EventType, Long> counts = new EnumMap<>(EventType.class);
+        for (Row row : rows) {
+            final EventType type = row.type();
+            if (type != null) {
+                counts.merge(type, row.count(), Long::sum);
+            }
+        }
+        return new EventTypeCounts(counts);
+    }
+
+    public EventTypeCounts plus(EventTypeCounts other) {
+        final Map<EventType, Long> sum = new EnumMap<>(EventType.class);
+        sum.putAll(counts);
+        other.counts.forEach((type, count) -> sum.merge(type, count, Long::sum));
+        return new EventTypeCounts(sum);
+    }
+
+    public long total() {
+        long total = 0;
+        for (long count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Linha de {@code SELECT c.eventType, c.e, COUNT(1) AS n ... GROUP BY c.eventType, c.e}.
+     * Só um dos nomes do tipo vem preenchido, conforme o formato do documento.
+     */
+    public record Row(
+        @JsonProperty("eventType") String eventType,
+        @JsonProperty(Event.COMPACT_EVENT_TYPE) String code,
+        @JsonProperty("n") long count
+    ) {
+
+        EventType type() {
+            if (eventType != null) {
+                return EventType.valueOf(eventType);
+            }
+            return code != null ? EventType.fromCode(code) : null;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.cosmos.repository;
+
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosBatch;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosBulkOperations;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.PartitionKey;
+import com.example.cosmos.config.CosmosDbConfig;
+import com.example.cosmos.config.EventWriteBatchConfig;
+import com.example.cosmos.metrics.CosmosMetrics;
+import com.example.cosmos.model.Event;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Pipeline de escrita em micro-lotes (write-behind) para criação de eventos.
+ * <p>
+ * Os eventos submetidos ficam em buffer por até {@code maxWait} ou {@code maxBatchSize} itens.
+ * No flush, eventos que compartilham o mesmo transactionId (partition key) são enviados juntos
+ * em um {@link CosmosBatch} transacional; os demais vão via {@code executeBulkOperations}.
+ * O {@link Mono} de cada chamador só completa depois que o seu item foi persistido.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("${azure.cosmos.write-batch.enabled:false} and '${azure.cosmos.repository-mode:sync}' == 'async'")
+public class EventWriteBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EventWriteBatcher.class);
+
+    // Limite de operações de um CosmosBatch transacional
+    private static final int MAX_TRANSACTIONAL_BATCH_OPERATIONS = 100;
+
+    /**
+     * Os flushes não pertencem a um único request HTTP; as métricas usam esse endpoint fixo.
+     */
+    private static final String WRITE_BEHIND = "write-behind";
+
+    private final CosmosAsyncContainer eventsContainer;
+    private final CosmosMetrics metrics;
+    private final EventDocumentFormat documentFormat;
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Duration shutdownTimeout;
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private final Disposable pipeline;
+    private volatile FluxSink<PendingWrite> buffer;
+
+    // Submits compartilham o read lock; close() pega o write lock, então nenhum evento entra no
+    // buffer depois de completado (ficaria sem resposta)
+    private final ReentrantReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    public EventWriteBatcher(
+        @Qualifier("eventsAsync") CosmosAsyncContainer eventsContainer,
+        EventWriteBatchConfig config,
+        MeterRegistry meterRegistry,
+        CosmosMetrics metrics,
+        CosmosDbConfig cosmosConfig
+    ) {
+        this.eventsContainer = eventsContainer;
+        this.metrics = metrics;
+        this.documentFormat = EventDocumentFormat.of(cosmosConfig.documentFormat);
+        this.batchSize = DistributionSummary.builder("events.write.batch.size")
+            .description("Quantidade de eventos por flush do write-behind")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        this.flushLatency = Timer.builder("events.write.batch.flush")
+            .description("Latência de flush de um micro-lote no Cosmos DB")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+
+        this.shutdownTimeout = config.shutdownTimeout;
+        // Completar o buffer emite o lote parcial e termina o pipeline depois do último flush
+        this.pipeline = Flux.<PendingWrite>create(sink -> this.buffer = sink)
+            .bufferTimeout(config.maxBatchSize, config.maxWait, true)
+            .flatMap(this::flush, config.maxConcurrentFlushes)
+            .doFinally(signal -> drained.countDown())
+            .subscribe();
+
+        log.info("EventWriteBatcher initialized: maxBatchSize={}, maxWait={}", config.maxBatchSize, config.maxWait);
+    }
+
+    /**
+     * Enfileira um evento para o próximo flush.
+     * Completa com o próprio evento quando ele estiver persistido no Cosmos DB.
+     */
+    public Mono<Event> submit(Event event) {
+        return Mono.create(sink -> {
+            lifecycle.readLock().lock();
+            try {
+                if (closed) {
+                    sink.error(new IllegalStateException("EventWriteBatcher is closed"));
+                    return;
+                }
+                buffer.next(new PendingWrite(event, sink));
+            } finally {
+                lifecycle.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Para de aceitar escritas e espera os flushes pendentes (até {@code shutdownTimeout}); só
+     * então, se ainda houver algum, cancela o pipeline.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        log.info("Flushing pending writes and stopping EventWriteBatcher");
+        lifecycle.writeLock().lock();
+        try {
+            closed = true;
+            buffer.complete();
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        if (!drained.await(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Pending writes not flushed within {}; cancelling the remaining flushes", shutdownTimeout);
+            pipeline.dispose();
+        }
+    }
+
+    /**
+     * Persiste um micro-lote e completa os chamadores de cada item.
+     */
+    private Mono<Void> flush(List<PendingWrite> batch) {
+        batchSize.record(batch.size());
+        final long start = System.nanoTime();
+
+        final Map<String, List<PendingWrite>> byTransaction = new LinkedHashMap<>();
+        for (PendingWrite pending : batch) {
+            byTransaction.computeIfAbsent(pending.event.getTransactionId(), k -> new ArrayList<>()).add(pending);
+        }
+
+        final List<PendingWrite> singles = new ArrayList<>();
+        final List<Mono<Void>> transactional = new ArrayList<>();
+        byTransaction.forEach((transactionId, writes) -> {
+            if (writes.size() == 1) {
+                singles.add(writes.get(0));
+                return;
+            }
+            for (int from = 0; from < writes.size(); from += MAX_TRANSACTIONAL_BATCH_OPERATIONS) {
+                var chunk = writes.subList(from, Math.min(from + MAX_TRANSACTIONAL_BATCH_OPERATIONS, writes.size()));
+                transactional.add(executeTransactionalBatch(transactionId, chunk));
+            }
+        });
+
+        log.debug("Flushing {} events: {} transactional batches, {} bulk operations",
+            batch.size(), transactional.size(), singles.size());
+
+        return Mono.when(Mono.when(transactional), executeBulk(singles))
+            .doFinally(signal -> flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Envia eventos da mesma partition key como um CosmosBatch (tudo ou nada).
+     */
+    private Mono<Void> executeTransactionalBatch(String transactionId, List<PendingWrite> writes) {
+        final var cosmosBatch = CosmosBatch.createCosmosBatch(new PartitionKey(transactionId));
+        writes.forEach(pending -> cosmosBatch.createItemOperation(documentFormat.toDocument(pending.event)));
+
+        return eventsContainer.executeCosmosBatch(cosmosBatch)
+            .doOnError(CosmosException.class, e -> metrics.record("batch", WRITE_BEHIND, e))
+            .doOnNext(response -> {
+                metrics.record("batch", WRITE_BEHIND, response.getStatusCode(), response.getRequestCharge(), response.getDiagnostics());
+                if (response.isSuccessStatusCode()) {
+                    // Um resultado por operação, na ordem em que foram adicionadas
+                    for (int i = 0; i < writes.size(); i++) {
+                        writes.get(i).success(response.getSessionToken(), response.getResults().get(i).getETag());
+                    }
+                } else {
+                    log.error("Transactional batch failed: transactionId={}, statusCode={}, message={}",
+                        transactionId, response.getStatusCode(), response.getErrorMessage());
+                    var error = new RuntimeException("Failed to save event: statusCode=" + response.getStatusCode());
+                    writes.forEach(pending -> pending.error(error));
+                }
+            })
+            .onErrorResume(e -> {
+                log.error("Error executing transactional batch: transactionId={}", transactionId, e);
+                var error = new RuntimeException("Failed to save event", e);
+                writes.forEach(pending -> pending.error(error));
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Envia eventos de partition keys distintas via bulk.
+     */
+    private Mono<Void> executeBulk(List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return Mono.empty();
+        }
+
+        Flux<CosmosItemOperation> operations = Flux.fromIterable(writes)
+            .map(pending -> CosmosBulkOperations.getCreateItemOperation(
+                documentFormat.toDocument(pending.event),
+                new PartitionKey(pending.event.getTransactionId()),
+                pending
+            ));
+
+        return eventsContainer.<PendingWrite>executeBulkOperations(operations)
+            .doOnNext(response -> metrics.record("bulkCreate", WRITE_BEHIND, response))
+            .doOnNext(this::complete)
+            .onErrorResume(e -> {
+                log.error("Error executing bulk operations", e);
+                return Mono.empty();
+            })
+            // Garante que nenhum chamador fique pendurado caso alguma resposta não chegue
+            .doFinally(signal -> {
+                var error = new RuntimeException("Failed to save event: no bulk response");
+                writes.forEach(pending -> pending.error(error));
+            })
+            .then();
+    }
+
+    private void complete(CosmosBulkOperationResponse<PendingWrite> response) {
+        PendingWrite pending = response.getOperation().getContext();
+        if (response.getException() != null) {
+            log.error("Bulk create failed: {}", pending.event, response.getException());
+            pending.error(new RuntimeException("Failed to save event", response.getException()));
+        } else if (response.getResponse() != null && response.getResponse().isSuccessStatusCode()) {
+            pending.success(response.getResponse().getSessionToken(), response.getResponse().getETag());
+        } else {
+            int statusCode = response.getResponse() != null ? response.getResponse().getStatusCode() : -1;
+            log.error("Bulk create failed: {}, statusCode={}", pending.event, statusCode);
+            pending.error(new RuntimeException("Failed to save event: statusCode=" + statusCode));
+        }
+    }
+
+    /**
+     * Evento aguardando flush e o chamador a ser notificado.
+     * Apenas o primeiro sinal (sucesso ou erro) é entregue.
+     */
+    private static final class PendingWrite {
+        private final Event event;
+        private final MonoSink<Event> caller;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private PendingWrite(Event event, MonoSink<Event> caller) {
+            this.event = event;
+            this.caller = caller;
+        }
+
+        /**
+         * O session token da escrita vai para a requisição de origem, via Context do chamador.
+         */
+        void success(String sessionToken, String etag) {
+            if (done.compareAndSet(false, true)) {
+                SessionTokens.of(caller.contextView()).onWrite(sessionToken);
+                event.setEtag(etag);
+                caller.success(event);
+            }
+        }
+
+        void error(Throwable error) {
+            if (done.compareAndSet(false, true)) {
+                caller.error(error);
+            }
+        }
+    }
+}
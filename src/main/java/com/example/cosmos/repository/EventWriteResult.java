@@ -0,0 +1,76 @@
+package com.example.cosmos.repository;
+
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.example.cosmos.model.Event;
+
+/**
+ * Resultado da escrita de um evento em uma operação de bulk.
+ */
+public class EventWriteResult {
+
+    private final Event event;
+    private final int statusCode;
+    private final double requestCharge;
+    private final String errorMessage;
+
+    public EventWriteResult(Event event, int statusCode, double requestCharge, String errorMessage) {
+        this.event = event;
+        this.statusCode = statusCode;
+        this.requestCharge = requestCharge;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Converte a resposta de uma operação de bulk cujo contexto é o próprio {@link Event}.
+     */
+    static EventWriteResult from(CosmosBulkOperationResponse<Event> response) {
+        Event event = response.getOperation().getContext();
+        if (response.getException() != null) {
+            int statusCode = response.getException() instanceof CosmosException cosmosException
+                ? cosmosException.getStatusCode()
+                : 500;
+            return new EventWriteResult(event, statusCode, 0, response.getException().getMessage());
+        }
+        var itemResponse = response.getResponse();
+        if (itemResponse.isSuccessStatusCode()) {
+            event.setEtag(itemResponse.getETag());
+        }
+        return new EventWriteResult(
+            event,
+            itemResponse.getStatusCode(),
+            itemResponse.getRequestCharge(),
+            itemResponse.isSuccessStatusCode() ? null : "Failed to save event"
+        );
+    }
+
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public double getRequestCharge() {
+        return requestCharge;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "EventWriteResult{" +
+               "event=" + event +
+               ", statusCode=" + statusCode +
+               ", requestCharge=" + requestCharge +
+               ", errorMessage='" + errorMessage + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.config.HedgingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Hedging de leituras: se a primeira tentativa não responder em {@code azure.cosmos.hedging.threshold},
+ * uma segunda é disparada e vale a primeira resposta; a outra é cancelada.
+ * <p>
+ * A função de tentativa recebe o índice (0 = original, 1 = hedge), para que o backend possa
+ * direcionar o hedge a outra região. Uma resposta vazia (não encontrado) também conta como
+ * resposta. Um erro da original (ex.: 429) encerra a leitura com esse erro, sem esperar o hedge,
+ * para que o admission control o veja; um erro do hedge só o descarta. Métricas: {@code events.read.hedge{operation,outcome=fired|won}}.
+ * </p>
+ */
+@Component
+public class HedgedReads {
+
+    private final HedgingConfig config;
+    private final MeterRegistry meterRegistry;
+
+    // Um contador por operação e resultado, criado na primeira vez
+    private final Map<String, Counter> fired = new ConcurrentHashMap<>();
+    private final Map<String, Counter> won = new ConcurrentHashMap<>();
+
+    public HedgedReads(HedgingConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return config.enabled;
+    }
+
+    public <T> Mono<T> execute(String operation, IntFunction<Mono<T>> attempt) {
+        if (!config.enabled) {
+            return attempt.apply(0);
+        }
+        return Mono.defer(() -> {
+            final Mono<Attempt<T>> primary = attempt(0, attempt);
+            final Mono<Attempt<T>> hedge = Mono.delay(config.threshold)
+                .then(Mono.defer(() -> {
+                    count(fired, operation, "fired");
+                    return attempt(1, attempt);
+                }));
+            return Mono.firstWithValue(primary, hedge)
+                .doOnNext(winner -> {
+                    if (winner.index() > 0) {
+                        count(won, operation, "won");
+                    }
+                })
+                .flatMap(winner -> winner.error() != null ? Mono.error(winner.error()) : Mono.justOrEmpty(winner.value()));
+        });
+    }
+
+    private static <T> Mono<Attempt<T>> attempt(int index, IntFunction<Mono<T>> attempt) {
+        return attempt.apply(index)
+            .map(value -> new Attempt<>(index, Optional.of(value), null))
+            .defaultIfEmpty(new Attempt<>(index, Optional.empty(), null))
+            .onErrorResume(e -> index == 0 ? Mono.just(new Attempt<>(index, Optional.empty(), e)) : Mono.empty());
+    }
+
+    private void count(Map<String, Counter> counters, String operation, String outcome) {
+        counters.computeIfAbsent(operation,
+            op -> meterRegistry.counter("events.read.hedge", "operation", op, "outcome", outcome)).increment();
+    }
+
+    private record Attempt<T>(int index, Optional<T> value, Throwable error) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.cosmos.repository;
+
+/**
+ * Parâmetros de consulta vindos da requisição que não podem ser atendidos (janela de tempo
+ * invertida ou grande demais, campo de projeção desconhecido, ajuste de scan fora da faixa).
+ * <p>
+ * Respondida com 400. Um {@link IllegalArgumentException} qualquer continua sendo erro interno:
+ * um documento com código de tipo desconhecido, por exemplo, não é culpa do cliente.
+ * </p>
+ */
+public class InvalidQueryException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
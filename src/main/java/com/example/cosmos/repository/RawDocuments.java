@@ -0,0 +1,25 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Documento cru de um evento nos backends locais, que guardam {@link Event} e não JSON: o mesmo
+ * formato completo que o Cosmos DB devolveria, para as leituras cruas funcionarem em todos os modos.
+ */
+final class RawDocuments {
+
+    private RawDocuments() {
+    }
+
+    static JsonNode of(Event event) {
+        final ObjectNode document = JsonNodeFactory.instance.objectNode();
+        document.put("id", event.getId());
+        document.put("transactionId", event.getTransactionId());
+        document.put("eventType", event.getEventType().name());
+        document.put("timestamp", event.getTimestamp().toString());
+        return document;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+import com.fasterxml.jackson.databind.JsonNode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contrato não bloqueante para operações de eventos.
+ * <p>
+ * A implementação ativa é escolhida por {@code azure.cosmos.repository-mode}:
+ * {@link AsyncEventRepository} (CosmosAsyncContainer) ou {@link BlockingEventRepository}
+ * (adaptador sobre um {@link EventStore} síncrono).
+ * </p>
+ */
+public interface ReactiveEventRepository {
+
+    /**
+     * Salva um evento. Completa somente após o item estar persistido.
+     */
+    Mono<Event> save(Event event);
+
+    /**
+     * Salva um fluxo de eventos via bulk, com quantidade limitada de itens em voo.
+     * Emite um resultado por evento, incluindo falhas individuais.
+     */
+    Flux<EventWriteResult> saveAll(Flux<Event> events);
+
+    /**
+     * Busca um evento por ID e transactionId (partition key). Vazio se não existir.
+     */
+    Mono<Event> findById(String id, String transactionId);
+
+    /**
+     * Busca condicional por ID ({@code If-None-Match}). Vazio se não existir. Sem hedging: quem
+     * manda {@code If-None-Match} está fazendo polling, não esperando a resposta.
+     */
+    Mono<ConditionalRead> findByIdIfNoneMatch(String id, String transactionId, String ifNoneMatch);
+
+    /**
+     * Busca todos os eventos de uma transação.
+     */
+    Flux<Event> findByTransactionId(String transactionId);
+
+    /**
+     * Busca os eventos de uma transação só com os campos da projeção.
+     */
+    Flux<Event> findByTransactionId(String transactionId, EventProjection projection);
+
+    /**
+     * Quantidade de eventos da transação por tipo.
+     */
+    Mono<EventTypeCounts> countByEventType(String transactionId);
+
+    /**
+     * Busca por ID devolvendo o documento cru (com as propriedades de sistema). Vazio se não existir.
+     */
+    Mono<JsonNode> findRawById(String id, String transactionId);
+
+    /**
+     * Busca os documentos crus dos eventos de uma transação.
+     */
+    Flux<JsonNode> findRawByTransactionId(String transactionId);
+
+    /**
+     * Busca uma página de eventos, opcionalmente filtrada por transactionId (null = todos).
+     */
+    Mono<EventPage> findPage(String transactionId, int pageSize, String continuationToken);
+
+    /**
+     * Busca todos os eventos, página a página, sob demanda do assinante.
+     */
+    default Flux<Event> findAll() {
+        return findAll(ScanOptions.DEFAULT);
+    }
+
+    /**
+     * {@link #findAll()} com ajustes do scan (paralelismo, buffer e tamanho de página).
+     * As páginas seguintes são buscadas enquanto o assinante processa a atual, limitadas ao buffer.
+     */
+    default Flux<Event> findAll(ScanOptions options) {
+        return findAll(options, EventProjection.ALL);
+    }
+
+    /**
+     * {@link #findAll(ScanOptions)} só com os campos da projeção.
+     */
+    Flux<Event> findAll(ScanOptions options, EventProjection projection);
+}
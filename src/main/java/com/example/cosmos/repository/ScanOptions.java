@@ -0,0 +1,60 @@
+package com.example.cosmos.repository;
+
+import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.example.cosmos.config.CosmosDbConfig;
+
+/**
+ * Ajustes de um scan cross-partition ({@code findAll}).
+ * <p>
+ * Campos null usam o padrão configurado em {@link CosmosDbConfig} ({@code azure.cosmos.scan-*}),
+ * então uma requisição pode sobrescrever só o que quiser.
+ * </p>
+ *
+ * @param maxDegreeOfParallelism partições físicas lidas em paralelo pelo SDK (0 = uma por vez,
+ *                               -1 = o SDK decide)
+ * @param maxBufferedItemCount   itens lidos à frente do consumidor, no SDK e no pipeline do repositório
+ * @param maxItemCount           tamanho de página pedido ao Cosmos
+ */
+public record ScanOptions(Integer maxDegreeOfParallelism, Integer maxBufferedItemCount, Integer maxItemCount) {
+
+    public static final ScanOptions DEFAULT = new ScanOptions(null, null, null);
+
+    public ScanOptions {
+        if (maxDegreeOfParallelism != null && maxDegreeOfParallelism < -1) {
+            throw new InvalidQueryException("maxDegreeOfParallelism must be -1 or greater: " + maxDegreeOfParallelism);
+        }
+        if (maxBufferedItemCount != null && maxBufferedItemCount < 1) {
+            throw new InvalidQueryException("maxBufferedItemCount must be positive: " + maxBufferedItemCount);
+        }
+        if (maxItemCount != null && maxItemCount < 1) {
+            throw new InvalidQueryException("maxItemCount must be positive: " + maxItemCount);
+        }
+    }
+
+    /**
+     * Preenche os campos não informados com os padrões configurados.
+     */
+    public ScanOptions withDefaults(CosmosDbConfig config) {
+        return new ScanOptions(
+            maxDegreeOfParallelism != null ? maxDegreeOfParallelism : config.scanMaxDegreeOfParallelism,
+            maxBufferedItemCount != null ? maxBufferedItemCount : config.scanMaxBufferedItemCount,
+            maxItemCount != null ? maxItemCount : config.scanMaxItemCount
+        );
+    }
+
+    /**
+     * Aplica paralelismo e buffer do SDK às opções da query. Usar após {@link #withDefaults}.
+     */
+    public CosmosQueryRequestOptions apply(CosmosQueryRequestOptions options) {
+        options.setMaxDegreeOfParallelism(maxDegreeOfParallelism);
+        options.setMaxBufferedItemCount(maxBufferedItemCount);
+        return options;
+    }
+
+    /**
+     * Páginas que cabem no buffer (mínimo 1), capacidade do pipeline produtor/consumidor.
+     */
+    public int bufferedPages() {
+        return Math.max(1, maxBufferedItemCount / maxItemCount);
+    }
+}
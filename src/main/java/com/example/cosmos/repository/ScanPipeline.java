@@ -0,0 +1,109 @@
+package com.example.cosmos.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pipeline produtor/consumidor limitado para scans síncronos.
+ * <p>
+ * Uma thread produtora percorre as páginas (round trip ao Cosmos e desserialização) e as
+ * entrega numa fila de no máximo {@code capacity} páginas; o consumidor do stream processa a
+ * página atual enquanto as próximas já estão sendo buscadas. Com a fila cheia o produtor espera,
+ * então a memória fica limitada a {@code capacity} páginas independentemente do tamanho do scan.
+ * Fechar o stream interrompe o produtor.
+ * </p>
+ */
+final class ScanPipeline<T> implements Iterator<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ScanPipeline.class);
+
+    // Marca o fim das páginas; comparado por identidade
+    private static final List<Object> END = Collections.emptyList();
+
+    private final BlockingQueue<List<?>> pages;
+    private final Thread producer;
+    private volatile Throwable failure;
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean done;
+
+    private ScanPipeline(Iterable<List<T>> source, int capacity, Thread.Builder thread) {
+        this.pages = new ArrayBlockingQueue<>(capacity);
+        this.producer = thread.unstarted(() -> produce(source));
+    }
+
+    /**
+     * Stream lazy sobre as páginas de {@code source}, buscadas à frente por uma thread produtora
+     * criada por {@code thread}. O chamador deve fechar o stream.
+     */
+    static <T> Stream<T> stream(Iterable<List<T>> source, int capacity, Thread.Builder thread) {
+        final var pipeline = new ScanPipeline<>(source, capacity, thread);
+        pipeline.producer.start();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pipeline, Spliterator.ORDERED), false)
+            .onClose(pipeline.producer::interrupt);
+    }
+
+    private void produce(Iterable<List<T>> source) {
+        try {
+            for (List<T> page : source) {
+                pages.put(page);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Throwable e) {
+            log.debug("Scan producer failed", e);
+            failure = e;
+        }
+        try {
+            pages.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (done) {
+                return false;
+            }
+            final List<?> page;
+            try {
+                page = pages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                producer.interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the next page", e);
+            }
+            if (page == END) {
+                done = true;
+                if (failure != null) {
+                    throw failure instanceof RuntimeException runtime ? runtime : new IllegalStateException(failure);
+                }
+                return false;
+            }
+            current = ((List<T>) page).iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.cosmos.repository;
+
+import com.azure.cosmos.ConsistencyLevel;
+import com.azure.cosmos.models.CosmosItemRequestOptions;
+import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Session tokens do Cosmos DB de uma requisição HTTP (read-your-writes sem subir a consistência do cliente).
+ * <p>
+ * Escritas registram o session token devolvido pelo Cosmos ({@link #onWrite(String)}), que o
+ * controller devolve ao cliente. Uma leitura que traz o token de volta ({@link #requested()})
+ * é feita com consistência Session apenas para aquela chamada; o restante do tráfego segue com a
+ * consistência Eventual do cliente.
+ * </p>
+ * <p>
+ * Assim como o endpoint das métricas, chega ao repositório pelo {@link Context} do Reactor
+ * ({@link #context(SessionTokens)}) e, nos backends síncronos, por {@link #with(SessionTokens, Supplier)}.
+ * </p>
+ */
+public final class SessionTokens {
+
+    private static final String KEY = SessionTokens.class.getName();
+    private static final ThreadLocal<SessionTokens> CURRENT = new ThreadLocal<>();
+    private static final SessionTokens NONE = new SessionTokens(null);
+
+    private final String requested;
+    // Ordenado por partição para o token devolvido ser estável; sem monitor, não prende threads virtuais
+    private final Map<String, String> written = new ConcurrentSkipListMap<>();
+
+    private SessionTokens(String requested) {
+        this.requested = requested;
+    }
+
+    /**
+     * Tokens de uma requisição; {@code requested} é o token enviado pelo cliente (pode ser null).
+     */
+    public static SessionTokens forRequest(String requested) {
+        return new SessionTokens(requested != null && !requested.isBlank() ? requested : null);
+    }
+
+    public static Context context(SessionTokens tokens) {
+        return Context.of(KEY, tokens);
+    }
+
+    public static SessionTokens of(ContextView context) {
+        return context.getOrDefault(KEY, NONE);
+    }
+
+    public static <T> T with(SessionTokens tokens, Supplier<T> call) {
+        final SessionTokens previous = CURRENT.get();
+        CURRENT.set(tokens);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static SessionTokens current() {
+        final SessionTokens tokens = CURRENT.get();
+        return tokens != null ? tokens : NONE;
+    }
+
+    public String requested() {
+        return requested;
+    }
+
+    /**
+     * Registra o session token de uma escrita. Tokens de partições diferentes
+     * ({@code <pkRangeId>:<lsn>}) são combinados; para a mesma partição vale o último.
+     */
+    public void onWrite(String sessionToken) {
+        if (this == NONE || sessionToken == null || sessionToken.isBlank()) {
+            return;
+        }
+        for (String token : sessionToken.split(",")) {
+            final int separator = token.indexOf(':');
+            written.put(separator > 0 ? token.substring(0, separator) : token, token);
+        }
+    }
+
+    /**
+     * Session token acumulado das escritas desta requisição, ou null se não houve escrita.
+     */
+    public String written() {
+        return written.isEmpty() ? null : String.join(",", written.values());
+    }
+
+    /**
+     * Aplica consistência Session à leitura quando o cliente enviou um token.
+     */
+    public CosmosItemRequestOptions apply(CosmosItemRequestOptions options) {
+        if (requested != null) {
+            options.setSessionToken(requested);
+            options.setConsistencyLevel(ConsistencyLevel.SESSION);
+        }
+        return options;
+    }
+
+    public CosmosQueryRequestOptions apply(CosmosQueryRequestOptions options) {
+        if (requested != null) {
+            options.setSessionToken(requested);
+            options.setConsistencyLevel(ConsistencyLevel.SESSION);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.cosmos.repository.memory;
+
+import com.example.cosmos.config.InMemoryStoreConfig;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.repository.EventPage;
+import com.example.cosmos.repository.EventStore;
+import com.example.cosmos.repository.EventWriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Backend em memória do {@link EventStore}, sem persistência.
+ * <p>
+ * Usado em benchmarks e testes de carga para medir o custo do próprio serviço, isolado do
+ * Cosmos DB. Ativo com {@code azure.cosmos.repository-mode=memory}.
+ * </p>
+ * <p>
+ * Latência pode ser injetada nas leituras por ID ({@code event-store.memory.*}) para simular
+ * réplicas lentas, e nas escritas e consultas junto com 429 e timeouts ({@link InjectedFaults}),
+ * fazendo deste backend o substituto local do container de eventos no teste de carga.
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "memory")
+public class InMemoryEventStore implements EventStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryEventStore.class);
+
+    // Eventos de cada transação ordenados por id (que cresce com o tempo): ordem estável entre
+    // chamadas, da qual depende o continuation token por offset de findPage
+    private final Map<String, Map<String, Event>> byTransaction = new ConcurrentHashMap<>();
+    private final Queue<Event> all = new ConcurrentLinkedQueue<>();
+    private final InMemoryStoreConfig config;
+    private final InjectedFaults faults;
+    private final AtomicLong reads = new AtomicLong();
+
+    public InMemoryEventStore(InMemoryStoreConfig config) {
+        this.config = config;
+        this.faults = new InjectedFaults(config);
+        log.info("InMemoryEventStore initialized");
+    }
+
+    @Override
+    public Event save(Event event) {
+        faults.apply("create", config.writeLatency);
+        if (!insert(event)) {
+            throw new RuntimeException("Failed to save event: conflict, id=" + event.getId() + ", transactionId=" + event.getTransactionId());
+        }
+        return event;
+    }
+
+    /**
+     * Como no bulk do Cosmos, as falhas injetadas são por evento; o lote espera uma vez pelo
+     * timeout mais lento.
+     */
+    @Override
+    public List<EventWriteResult> saveAll(List<Event> events) {
+        faults.sleep(config.writeLatency);
+        final List<EventWriteResult> results = new ArrayList<>(events.size());
+        boolean timedOut = false;
+        for (Event event : events) {
+            final int fault = faults.next();
+            if (fault != 0) {
+                timedOut |= fault == InjectedFaults.TIMEOUT;
+                results.add(new EventWriteResult(event, fault, 0, faults.failure("bulkCreate", fault).getMessage()));
+            } else {
+                results.add(insert(event)
+                    ? new EventWriteResult(event, 201, 0, null)
+                    : new EventWriteResult(event, 409, 0, "Event already exists"));
+            }
+        }
+        if (timedOut) {
+            faults.sleep(config.timeoutAfter);
+        }
+        return results;
+    }
+
+    @Override
+    public Optional<Event> findById(String id, String transactionId) {
+        faults.apply("read", readLatency());
+        final var events = byTransaction.get(transactionId);
+        return events != null ? Optional.ofNullable(events.get(id)) : Optional.empty();
+    }
+
+    @Override
+    public List<Event> findByTransactionId(String transactionId) {
+        faults.apply("query", config.queryLatency);
+        return eventsOf(transactionId);
+    }
+
+    /**
+     * O continuation token é o offset do próximo item.
+     */
+    @Override
+    public EventPage findPage(String transactionId, int pageSize, String continuationToken) {
+        faults.apply("query", config.queryLatency);
+        final long offset = continuationToken != null ? Long.parseLong(continuationToken) : 0;
+        final Stream<Event> source = transactionId != null ? eventsOf(transactionId).stream() : all.stream();
+        final List<Event> items = source.skip(offset).limit(pageSize + 1L).toList();
+        if (items.size() <= pageSize) {
+            return new EventPage(items, null, 0);
+        }
+        return new EventPage(items.subList(0, pageSize), Long.toString(offset + pageSize), 0);
+    }
+
+    @Override
+    public Stream<Event> findAll() {
+        return all.stream();
+    }
+
+    private List<Event> eventsOf(String transactionId) {
+        final var events = byTransaction.get(transactionId);
+        return events != null ? new ArrayList<>(events.values()) : List.of();
+    }
+
+    private Duration readLatency() {
+        if (config.slowReadEvery > 0 && reads.incrementAndGet() % config.slowReadEvery == 0) {
+            return config.readLatency.plus(config.slowReadLatency);
+        }
+        return config.readLatency;
+    }
+
+    private boolean insert(Event event) {
+        final var events = byTransaction.computeIfAbsent(event.getTransactionId(), k -> new ConcurrentSkipListMap<>());
+        if (events.putIfAbsent(event.getId(), event) != null) {
+            return false;
+        }
+        all.add(event);
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.cosmos.repository.memory;
+
+import com.azure.cosmos.CosmosException;
+import com.example.cosmos.config.InMemoryStoreConfig;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Falhas injetadas pelo {@link InMemoryEventStore} ({@code event-store.memory.*}), com a mesma
+ * forma das do Cosmos DB: um 429 é uma {@link CosmosException} com o retry-after no header, então
+ * o admission control recua e devolve 429 + Retry-After ao cliente como faria em produção.
+ */
+final class InjectedFaults {
+
+    static final int THROTTLED = 429;
+    static final int TIMEOUT = 408;
+
+    // Header em que o Cosmos informa o retry-after (lido por CosmosException#getRetryAfterDuration)
+    private static final String RETRY_AFTER_MS = "x-ms-retry-after-ms";
+
+    private final InMemoryStoreConfig config;
+
+    InjectedFaults(InMemoryStoreConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Sorteia o desfecho de uma operação: 0 (sucesso), {@link #THROTTLED} ou {@link #TIMEOUT}.
+     */
+    int next() {
+        if (config.throttleRate == 0 && config.timeoutRate == 0) {
+            return 0;
+        }
+        final double draw = ThreadLocalRandom.current().nextDouble();
+        if (draw < config.throttleRate) {
+            return THROTTLED;
+        }
+        return draw < config.throttleRate + config.timeoutRate ? TIMEOUT : 0;
+    }
+
+    /**
+     * Espera a latência da operação e, se sorteado, falha como o Cosmos: 429 imediato ou 408
+     * após {@code timeout-after}.
+     */
+    void apply(String operation, Duration latency) {
+        sleep(latency);
+        final int fault = next();
+        if (fault == TIMEOUT) {
+            sleep(config.timeoutAfter);
+        }
+        if (fault != 0) {
+            throw failure(operation, fault);
+        }
+    }
+
+    InjectedCosmosException failure(String operation, int statusCode) {
+        return statusCode == THROTTLED
+            ? new InjectedCosmosException(THROTTLED, "Injected request rate too large on " + operation,
+                Map.of(RETRY_AFTER_MS, Long.toString(config.throttleRetryAfter.toMillis())))
+            : new InjectedCosmosException(TIMEOUT, "Injected request timeout on " + operation, Map.of());
+    }
+
+    void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the in-memory store", e);
+        }
+    }
+
+    /**
+     * O construtor da {@link CosmosException} é protegido; a subclasse só o expõe.
+     */
+    static final class InjectedCosmosException extends CosmosException {
+
+        private static final long serialVersionUID = 1L;
+
+        InjectedCosmosException(int statusCode, String message, Map<String, String> responseHeaders) {
+            super(statusCode, message, responseHeaders, null);
+        }
+    }
+}
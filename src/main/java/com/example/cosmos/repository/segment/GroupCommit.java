@@ -0,0 +1,122 @@
+package com.example.cosmos.repository.segment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Group commit de fsync.
+ * <p>
+ * Escritores chamam {@link #awaitDurable(long)} com a posição do seu registro. Uma única thread
+ * aguarda a janela configurada para acumular escritas concorrentes e então executa um fsync que
+ * cobre todas elas, liberando de uma vez todos os escritores cujas posições ficaram duráveis.
+ * </p>
+ */
+final class GroupCommit implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommit.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition requested = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final Duration window;
+    private final LongSupplier flush;
+    private final Thread flusher;
+
+    private long requestedPosition = -1;
+    private long durablePosition = -1;
+    private volatile boolean running = true;
+
+    /**
+     * @param window janela de acúmulo de escritas antes de cada fsync
+     * @param flush  executa o fsync e retorna a maior posição que ficou durável
+     */
+    GroupCommit(String name, Duration window, LongSupplier flush) {
+        this.window = window;
+        this.flush = flush;
+        this.flusher = Thread.ofPlatform().name(name).daemon().start(this::run);
+    }
+
+    /**
+     * Bloqueia até que o registro em {@code position} esteja persistido em disco.
+     */
+    void awaitDurable(long position) {
+        lock.lock();
+        try {
+            if (position > requestedPosition) {
+                requestedPosition = position;
+                requested.signal();
+            }
+            while (durablePosition < position) {
+                if (!running) {
+                    throw new IllegalStateException("Segment store is closed");
+                }
+                flushed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for fsync", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                lock.lock();
+                try {
+                    while (running && requestedPosition <= durablePosition) {
+                        requested.await();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (!running) {
+                    break;
+                }
+
+                // Janela de group commit: escritas que chegarem agora entram no mesmo fsync
+                TimeUnit.NANOSECONDS.sleep(window.toNanos());
+                final long durable = flush.getAsLong();
+
+                lock.lock();
+                try {
+                    durablePosition = Math.max(durablePosition, durable);
+                    flushed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Group commit fsync failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final long durable = flush.getAsLong();
+        lock.lock();
+        try {
+            durablePosition = Math.max(durablePosition, durable);
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.cosmos.repository.segment;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Hash table de endereçamento aberto (linear probing) alocada fora do heap.
+ * <p>
+ * Cada slot ocupa 16 bytes: o hash de 64 bits da chave e a posição do registro + 1
+ * (0 = slot vazio). As chaves em si não ficam no índice; colisões de hash são resolvidas
+ * relendo a chave do registro no segmento via {@link KeyMatcher}.
+ * Não é thread-safe: o {@link SegmentEventStore} sincroniza o acesso.
+ * </p>
+ */
+final class OffHeapIndex {
+
+    private static final int SLOT_BYTES = 16;
+    private static final double MAX_LOAD = 0.7;
+
+    /**
+     * Verifica se o registro na posição informada pertence à chave procurada.
+     */
+    @FunctionalInterface
+    interface KeyMatcher {
+        boolean matches(long position);
+    }
+
+    private ByteBuffer slots;
+    private int capacity;
+    private int size;
+
+    OffHeapIndex(int initialCapacity) {
+        allocate(Integer.highestOneBit(Math.max(16, initialCapacity - 1)) << 1);
+    }
+
+    /**
+     * @return a posição associada à chave, ou -1 se ausente
+     */
+    long get(long hash, KeyMatcher matcher) {
+        final int mask = capacity - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            final int offset = slot * SLOT_BYTES;
+            final long value = slots.getLong(offset + 8);
+            if (value == 0) {
+                return -1;
+            }
+            if (slots.getLong(offset) == hash && matcher.matches(value - 1)) {
+                return value - 1;
+            }
+        }
+    }
+
+    /**
+     * Associa a posição à chave, substituindo a posição anterior da mesma chave.
+     */
+    void put(long hash, long position, KeyMatcher matcher) {
+        if (size + 1 > capacity * MAX_LOAD) {
+            grow();
+        }
+        final int mask = capacity - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            final int offset = slot * SLOT_BYTES;
+            final long value = slots.getLong(offset + 8);
+            if (value == 0) {
+                slots.putLong(offset, hash);
+                slots.putLong(offset + 8, position + 1);
+                size++;
+                return;
+            }
+            if (slots.getLong(offset) == hash && matcher.matches(value - 1)) {
+                slots.putLong(offset + 8, position + 1);
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private void allocate(int newCapacity) {
+        this.capacity = newCapacity;
+        this.slots = ByteBuffer.allocateDirect(newCapacity * SLOT_BYTES);
+        this.size = 0;
+    }
+
+    /**
+     * Dobra a capacidade e reinsere as entradas. As chaves já são distintas, então não é
+     * preciso consultar os registros.
+     */
+    private void grow() {
+        final ByteBuffer old = slots;
+        final int oldCapacity = capacity;
+        allocate(oldCapacity << 1);
+        final int mask = capacity - 1;
+        for (int i = 0; i < oldCapacity; i++) {
+            final long value = old.getLong(i * SLOT_BYTES + 8);
+            if (value == 0) {
+                continue;
+            }
+            final long hash = old.getLong(i * SLOT_BYTES);
+            int slot = (int) hash & mask;
+            while (slots.getLong(slot * SLOT_BYTES + 8) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots.putLong(slot * SLOT_BYTES, hash);
+            slots.putLong(slot * SLOT_BYTES + 8, value);
+            size++;
+        }
+    }
+
+    /**
+     * Hash de 64 bits (FNV-1a seguido do finalizador do MurmurHash3) de uma ou duas strings.
+     */
+    static long hash(String first, String second) {
+        long h = 0xcbf29ce484222325L;
+        h = fnv(h, first);
+        if (second != null) {
+            h = (h ^ 0xff) * 0x100000001b3L;
+            h = fnv(h, second);
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long fnv(long h, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
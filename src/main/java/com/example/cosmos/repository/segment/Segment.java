@@ -0,0 +1,181 @@
+package com.example.cosmos.repository.segment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivo de segmento append-only mapeado em memória.
+ * <p>
+ * Formato de cada registro (big-endian):
+ * <pre>
+ * int   length        bytes após este campo
+ * int   crc32c        dos bytes após este campo
+ * long  prev          posição do registro anterior da mesma transação (-1 = nenhum)
+ * short txIdLength, byte[] transactionId (UTF-8)
+ * short idLength,   byte[] id (UTF-8)
+ * byte[] payload      JSON do evento
+ * </pre>
+ * O arquivo é pré-alocado com zeros, então {@code length == 0} marca o fim dos dados.
+ * </p>
+ */
+final class Segment implements Closeable {
+
+    static final int LENGTH_BYTES = 4;
+    private static final int CRC_OFFSET = 4;
+    private static final int PREV_OFFSET = 8;
+    private static final int KEYS_OFFSET = 16;
+
+    final int index;
+    final Path path;
+    final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Próximo offset livre. Alterado apenas sob o lock de escrita do store.
+     */
+    int writeOffset;
+
+    private Segment(int index, Path path, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+        this.index = index;
+        this.path = path;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static Segment open(Path path, int index, int capacity) throws IOException {
+        final var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        return new Segment(index, path, capacity, channel, buffer);
+    }
+
+    /**
+     * Posição global: índice do segmento nos 32 bits altos, offset nos 32 bits baixos.
+     */
+    static long position(int segmentIndex, int offset) {
+        return ((long) segmentIndex << 32) | (offset & 0xffffffffL);
+    }
+
+    static int segmentIndex(long position) {
+        return (int) (position >>> 32);
+    }
+
+    static int offset(long position) {
+        return (int) position;
+    }
+
+    /**
+     * Tamanho total que um registro ocupa no segmento.
+     */
+    static int recordSize(byte[] transactionId, byte[] id, byte[] payload) {
+        return KEYS_OFFSET + 2 + transactionId.length + 2 + id.length + payload.length;
+    }
+
+    boolean fits(int recordSize) {
+        return writeOffset + recordSize <= capacity;
+    }
+
+    /**
+     * Grava um registro no {@link #writeOffset} e o avança.
+     *
+     * @return o offset do registro gravado
+     */
+    int append(long prev, byte[] transactionId, byte[] id, byte[] payload) {
+        final int size = recordSize(transactionId, id, payload);
+        final var record = ByteBuffer.allocate(size);
+        record.putInt(size - LENGTH_BYTES);
+        record.putInt(0);
+        record.putLong(prev);
+        record.putShort((short) transactionId.length).put(transactionId);
+        record.putShort((short) id.length).put(id);
+        record.put(payload);
+
+        final var crc = new CRC32C();
+        crc.update(record.array(), PREV_OFFSET, size - PREV_OFFSET);
+        record.putInt(CRC_OFFSET, (int) crc.getValue());
+
+        final int offset = writeOffset;
+        buffer.put(offset, record.array());
+        writeOffset += size;
+        return offset;
+    }
+
+    /**
+     * @return o tamanho total do registro em {@code offset}, ou -1 se não houver registro válido
+     */
+    int validRecordSize(int offset) {
+        if (offset + KEYS_OFFSET > capacity) {
+            return -1;
+        }
+        final int length = buffer.getInt(offset);
+        if (length < KEYS_OFFSET - LENGTH_BYTES || offset + LENGTH_BYTES + length > capacity) {
+            return -1;
+        }
+        final var crc = new CRC32C();
+        crc.update(buffer.slice(offset + PREV_OFFSET, length - (PREV_OFFSET - LENGTH_BYTES)));
+        if ((int) crc.getValue() != buffer.getInt(offset + CRC_OFFSET)) {
+            return -1;
+        }
+        return LENGTH_BYTES + length;
+    }
+
+    int recordSize(int offset) {
+        return LENGTH_BYTES + buffer.getInt(offset);
+    }
+
+    long prev(int offset) {
+        return buffer.getLong(offset + PREV_OFFSET);
+    }
+
+    String transactionId(int offset) {
+        return readString(offset + KEYS_OFFSET);
+    }
+
+    String id(int offset) {
+        final int txIdLength = buffer.getShort(offset + KEYS_OFFSET);
+        return readString(offset + KEYS_OFFSET + 2 + txIdLength);
+    }
+
+    byte[] payload(int offset) {
+        final int txIdLength = buffer.getShort(offset + KEYS_OFFSET);
+        final int idStart = offset + KEYS_OFFSET + 2 + txIdLength;
+        final int payloadStart = idStart + 2 + buffer.getShort(idStart);
+        final var payload = new byte[offset + recordSize(offset) - payloadStart];
+        buffer.get(payloadStart, payload);
+        return payload;
+    }
+
+    /**
+     * Zera o segmento a partir de {@code offset}, descartando um registro parcialmente gravado.
+     */
+    void truncate(int offset) {
+        final var zeros = new byte[8192];
+        for (int position = offset; position < capacity; position += zeros.length) {
+            buffer.put(position, zeros, 0, Math.min(zeros.length, capacity - position));
+        }
+        writeOffset = offset;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String readString(int start) {
+        final var bytes = new byte[buffer.getShort(start)];
+        buffer.get(start + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
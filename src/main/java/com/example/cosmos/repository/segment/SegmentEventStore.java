@@ -0,0 +1,432 @@
+package com.example.cosmos.repository.segment;
+
+import com.example.cosmos.config.SegmentStoreConfig;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.repository.EventPage;
+import com.example.cosmos.repository.EventStore;
+import com.example.cosmos.repository.EventWriteResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Backend local do {@link EventStore}: segmentos append-only mapeados em memória.
+ * <p>
+ * Cada evento é anexado ao segmento ativo; quando ele enche, um novo segmento é criado (rollover).
+ * Dois índices off-heap ({@link OffHeapIndex}) apontam para os registros:
+ * (transactionId, id) para point reads e transactionId para o registro mais recente da transação,
+ * que por sua vez aponta para o anterior, formando uma lista encadeada por transação.
+ * Os índices são reconstruídos a partir dos segmentos no startup; um registro parcialmente gravado
+ * (CRC inválido) no fim do último segmento é descartado.
+ * </p>
+ * <p>
+ * Com {@code fsync-enabled}, cada escrita só retorna depois de durável, via {@link GroupCommit}.
+ * Ativo com {@code azure.cosmos.repository-mode=segment}.
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "azure.cosmos", name = "repository-mode", havingValue = "segment")
+public class SegmentEventStore implements EventStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentEventStore.class);
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d{8})\\.log");
+
+    private final Path directory;
+    private final int segmentCapacity;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    // Leituras de registros não precisam de lock: um registro nunca muda depois de gravado
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapIndex byId;
+    private final OffHeapIndex byTransaction;
+    private final Set<Segment> dirty = new HashSet<>();
+    private final GroupCommit groupCommit;
+
+    private Segment active;
+    private long lastWritten = -1;
+
+    public SegmentEventStore(SegmentStoreConfig config, ObjectMapper objectMapper) throws IOException {
+        this.directory = Path.of(config.directory);
+        this.segmentCapacity = Math.toIntExact(config.segmentSize.toBytes());
+        this.writer = objectMapper.writerFor(Event.class);
+        this.reader = objectMapper.readerFor(Event.class);
+        this.byId = new OffHeapIndex(config.indexInitialCapacity);
+        this.byTransaction = new OffHeapIndex(config.indexInitialCapacity);
+
+        Files.createDirectories(directory);
+        recover();
+        this.groupCommit = config.fsyncEnabled
+            ? new GroupCommit("segment-store-fsync", config.fsyncInterval, this::flush)
+            : null;
+        log.info("SegmentEventStore initialized: directory={}, segments={}, events={}",
+            directory, segments.size(), byId.size());
+    }
+
+    @Override
+    public Event save(Event event) {
+        log.info("Saving event: {}", event);
+        final byte[] payload = serialize(event);
+        final long position;
+        lock.writeLock().lock();
+        try {
+            if (positionOf(event.getId(), event.getTransactionId()) >= 0) {
+                throw new RuntimeException("Failed to save event: conflict, id=" + event.getId() + ", transactionId=" + event.getTransactionId());
+            }
+            position = append(event, payload);
+        } catch (IOException e) {
+            log.error("Error saving event: {}", event, e);
+            throw new RuntimeException("Failed to save event", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(position);
+        log.info("Event saved successfully: id={}, transactionId={}", event.getId(), event.getTransactionId());
+        return event;
+    }
+
+    /**
+     * Grava todos os eventos sob uma única aquisição do lock e aguarda um único fsync.
+     */
+    @Override
+    public List<EventWriteResult> saveAll(List<Event> events) {
+        log.info("Saving {} events", events.size());
+        final List<EventWriteResult> results = new ArrayList<>(events.size());
+        long last = -1;
+        lock.writeLock().lock();
+        try {
+            for (Event event : events) {
+                if (positionOf(event.getId(), event.getTransactionId()) >= 0) {
+                    results.add(new EventWriteResult(event, 409, 0, "Event already exists"));
+                    continue;
+                }
+                last = append(event, serialize(event));
+                results.add(new EventWriteResult(event, 201, 0, null));
+            }
+        } catch (IOException e) {
+            log.error("Error saving {} events", events.size(), e);
+            throw new RuntimeException("Failed to save events", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(last);
+        return results;
+    }
+
+    @Override
+    public Optional<Event> findById(String id, String transactionId) {
+        log.info("Finding event by id={}, transactionId={}", id, transactionId);
+        final long position;
+        lock.readLock().lock();
+        try {
+            position = positionOf(id, transactionId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (position < 0) {
+            log.warn("Event not found: id={}, transactionId={}", id, transactionId);
+            return Optional.empty();
+        }
+        return Optional.of(eventAt(position));
+    }
+
+    /**
+     * Percorre a lista encadeada da transação; retorna os eventos em ordem de gravação.
+     */
+    @Override
+    public List<Event> findByTransactionId(String transactionId) {
+        log.info("Finding events by transactionId={}", transactionId);
+        final List<Event> events = new ArrayList<>();
+        for (long position = headOf(transactionId); position >= 0; position = prevOf(position)) {
+            events.add(eventAt(position));
+        }
+        Collections.reverse(events);
+        log.info("Found {} events for transactionId={}", events.size(), transactionId);
+        return events;
+    }
+
+    /**
+     * O continuation token é a posição (hex) do próximo registro. Páginas de uma transação
+     * seguem do evento mais recente para o mais antigo.
+     */
+    @Override
+    public EventPage findPage(String transactionId, int pageSize, String continuationToken) {
+        log.info("Finding events page: transactionId={}, pageSize={}", transactionId, pageSize);
+        final List<Event> items = new ArrayList<>(pageSize);
+
+        if (transactionId != null) {
+            long position = continuationToken != null ? Long.parseUnsignedLong(continuationToken, 16) : headOf(transactionId);
+            for (; position >= 0 && items.size() < pageSize; position = prevOf(position)) {
+                items.add(eventAt(position));
+            }
+            return new EventPage(items, position >= 0 ? Long.toHexString(position) : null, 0);
+        }
+
+        final var scan = new SegmentScan(continuationToken != null ? Long.parseUnsignedLong(continuationToken, 16) : 0, lastWritten());
+        while (scan.hasNext() && items.size() < pageSize) {
+            items.add(eventAt(scan.next()));
+        }
+        return new EventPage(items, scan.hasNext() ? Long.toHexString(scan.peek()) : null, 0);
+    }
+
+    /**
+     * Varre os segmentos em ordem de gravação até a última posição gravada no momento da chamada.
+     */
+    @Override
+    public Stream<Event> findAll() {
+        log.info("Finding all events");
+        final Iterator<Long> positions = new SegmentScan(0, lastWritten());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(positions, Spliterator.ORDERED), false)
+            .map(this::eventAt);
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        log.info("Closing SegmentEventStore");
+        if (groupCommit != null) {
+            groupCommit.close();
+        } else {
+            flush();
+        }
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    /**
+     * Reconstrói os índices a partir dos segmentos existentes.
+     */
+    private void recover() throws IOException {
+        final List<Path> files;
+        try (var list = Files.list(directory)) {
+            files = list.filter(path -> SEGMENT_FILE.matcher(path.getFileName().toString()).matches())
+                .sorted()
+                .toList();
+        }
+
+        for (Path file : files) {
+            final var matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+            matcher.matches();
+            final int index = Integer.parseInt(matcher.group(1));
+            if (index != segments.size()) {
+                throw new IllegalStateException("Missing segment before " + file);
+            }
+            final var segment = Segment.open(file, index, segmentCapacity);
+            segments.add(segment);
+
+            int offset = 0;
+            for (int size; (size = segment.validRecordSize(offset)) > 0; offset += size) {
+                final long position = Segment.position(index, offset);
+                final var transactionId = segment.transactionId(offset);
+                final var id = segment.id(offset);
+                byId.put(OffHeapIndex.hash(transactionId, id), position, p -> matches(p, id, transactionId));
+                byTransaction.put(OffHeapIndex.hash(transactionId, null), position, p -> matches(p, null, transactionId));
+                lastWritten = position;
+            }
+            if (offset + Segment.LENGTH_BYTES <= segment.capacity && segment.recordSize(offset) != Segment.LENGTH_BYTES) {
+                log.warn("Discarding partially written record at {}:{}", file, offset);
+                segment.truncate(offset);
+            }
+            segment.writeOffset = offset;
+        }
+
+        if (segments.isEmpty()) {
+            segments.add(Segment.open(segmentPath(0), 0, segmentCapacity));
+        }
+        active = segments.get(segments.size() - 1);
+    }
+
+    /**
+     * Anexa um registro ao segmento ativo, com rollover se necessário. Requer o lock de escrita.
+     */
+    private long append(Event event, byte[] payload) throws IOException {
+        final var transactionId = event.getTransactionId().getBytes(StandardCharsets.UTF_8);
+        final var id = event.getId().getBytes(StandardCharsets.UTF_8);
+        final int size = Segment.recordSize(transactionId, id, payload);
+        if (size > segmentCapacity) {
+            throw new IllegalArgumentException("Event larger than segment size: " + size + " bytes");
+        }
+        if (!active.fits(size)) {
+            rollover();
+        }
+
+        final long prev = headOf(event.getTransactionId());
+        final int offset = active.append(prev, transactionId, id, payload);
+        final long position = Segment.position(active.index, offset);
+
+        byId.put(OffHeapIndex.hash(event.getTransactionId(), event.getId()), position,
+            p -> matches(p, event.getId(), event.getTransactionId()));
+        byTransaction.put(OffHeapIndex.hash(event.getTransactionId(), null), position,
+            p -> matches(p, null, event.getTransactionId()));
+        dirty.add(active);
+        lastWritten = position;
+        return position;
+    }
+
+    private void rollover() throws IOException {
+        final int index = active.index + 1;
+        log.info("Rolling over to segment {}", index);
+        active = Segment.open(segmentPath(index), index, segmentCapacity);
+        segments.add(active);
+    }
+
+    /**
+     * fsync dos segmentos alterados desde o último flush.
+     *
+     * @return a maior posição garantidamente durável
+     */
+    private long flush() {
+        final long durable;
+        final List<Segment> toForce;
+        lock.writeLock().lock();
+        try {
+            durable = lastWritten;
+            toForce = new ArrayList<>(dirty);
+            dirty.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        toForce.forEach(Segment::force);
+        return durable;
+    }
+
+    private void awaitDurable(long position) {
+        if (groupCommit != null && position >= 0) {
+            groupCommit.awaitDurable(position);
+        }
+    }
+
+    private long positionOf(String id, String transactionId) {
+        return byId.get(OffHeapIndex.hash(transactionId, id), p -> matches(p, id, transactionId));
+    }
+
+    private long headOf(String transactionId) {
+        lock.readLock().lock();
+        try {
+            return byTransaction.get(OffHeapIndex.hash(transactionId, null), p -> matches(p, null, transactionId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long lastWritten() {
+        lock.readLock().lock();
+        try {
+            return lastWritten;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matches(long position, String id, String transactionId) {
+        final var segment = segments.get(Segment.segmentIndex(position));
+        final int offset = Segment.offset(position);
+        return segment.transactionId(offset).equals(transactionId)
+            && (id == null || segment.id(offset).equals(id));
+    }
+
+    private long prevOf(long position) {
+        return segments.get(Segment.segmentIndex(position)).prev(Segment.offset(position));
+    }
+
+    private Event eventAt(long position) {
+        final var payload = segments.get(Segment.segmentIndex(position)).payload(Segment.offset(position));
+        try {
+            return reader.readValue(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read event at " + Long.toHexString(position), e);
+        }
+    }
+
+    private byte[] serialize(Event event) {
+        try {
+            return writer.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize event", e);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("segment-%08d.log", index));
+    }
+
+    /**
+     * Iterador das posições dos registros, em ordem de gravação, de {@code from} até {@code last}.
+     */
+    private final class SegmentScan implements Iterator<Long> {
+
+        private final long last;
+        private long next;
+
+        SegmentScan(long from, long last) {
+            this.last = last;
+            this.next = last >= 0 ? normalize(from) : -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0 && Long.compareUnsigned(next, last) <= 0;
+        }
+
+        long peek() {
+            return next;
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final long current = next;
+            final var segment = segments.get(Segment.segmentIndex(current));
+            final int offset = Segment.offset(current);
+            next = normalize(Segment.position(segment.index, offset + segment.recordSize(offset)));
+            return current;
+        }
+
+        /**
+         * Avança para o início do próximo segmento quando a posição passou do fim dos dados.
+         */
+        private long normalize(long position) {
+            int index = Segment.segmentIndex(position);
+            int offset = Segment.offset(position);
+            while (index < segments.size()) {
+                final var segment = segments.get(index);
+                if (offset + Segment.LENGTH_BYTES <= segment.capacity && segment.recordSize(offset) > Segment.LENGTH_BYTES) {
+                    return Segment.position(index, offset);
+                }
+                index++;
+                offset = 0;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.cosmos.service;
+
+/**
+ * Gerador dos ids de eventos e de transações.
+ * <p>
+ * Selecionado por {@code event-store.id-generator}: {@code time-ordered} (padrão) ou {@code uuid}.
+ * </p>
+ */
+public interface EventIdGenerator {
+
+    String nextId();
+}
@@ -0,0 +1,141 @@
+package com.example.cosmos.service;
+
+import com.example.cosmos.config.EventReadCacheConfig;
+import com.example.cosmos.model.Event;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache de leitura em memória na frente do repositório de eventos.
+ * <p>
+ * Eventos são imutáveis depois de gravados, então a busca por ID pode ser cacheada com TTL longo.
+ * A lista de uma transação é invalidada quando um evento novo dessa transação é salvo por esta
+ * instância, e uma carga iniciada antes da escrita não é guardada (ver {@link #onSaved(Event)});
+ * o TTL curto limita a defasagem causada por escritas de outras instâncias.
+ * Ausências (404) não são cacheadas. Hits/misses são publicados via Micrometer
+ * ({@code cache.gets{cache=events.by-id|events.by-transaction}}).
+ * </p>
+ */
+@Component
+public class EventReadCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EventReadCache.class);
+
+    private final EventReadCacheConfig config;
+    private final Cache<EventKey, Event> byId;
+    private final Cache<String, List<Event>> byTransaction;
+    // Geração da última escrita de cada transação, comparada com a do início de cada carga
+    private final Cache<String, Long> lastWrite;
+    private final AtomicLong generation = new AtomicLong();
+
+    public EventReadCache(EventReadCacheConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.byId = newCache(config.byIdMaxSize, config.byIdTtl);
+        this.byTransaction = newCache(config.byTransactionMaxSize, config.byTransactionTtl);
+        this.lastWrite = newCache(config.byTransactionMaxSize, config.byTransactionTtl);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "events.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byTransaction, "events.by-transaction");
+        log.info("EventReadCache initialized: byId={}, byTransaction={}", config.byIdEnabled, config.byTransactionEnabled);
+    }
+
+    /**
+     * Busca um evento no cache ou, em caso de miss, via {@code loader}.
+     */
+    public Mono<Event> getById(String id, String transactionId, Supplier<Mono<Event>> loader) {
+        if (!config.byIdEnabled) {
+            return loader.get();
+        }
+        final var key = new EventKey(id, transactionId);
+        return Mono.defer(() -> {
+            Event cached = byId.getIfPresent(key);
+            if (cached != null) {
+                log.debug("Read cache hit: id={}, transactionId={}", id, transactionId);
+                return Mono.just(cached);
+            }
+            return loader.get().doOnNext(event -> byId.put(key, event));
+        });
+    }
+
+    /**
+     * O evento em cache, sem carregá-lo em caso de miss; null se ausente ou com o cache desligado.
+     */
+    public Event peekById(String id, String transactionId) {
+        return config.byIdEnabled ? byId.getIfPresent(new EventKey(id, transactionId)) : null;
+    }
+
+    /**
+     * Busca os eventos de uma transação no cache ou, em caso de miss, via {@code loader}.
+     */
+    public Flux<Event> getByTransactionId(String transactionId, Supplier<Flux<Event>> loader) {
+        if (!config.byTransactionEnabled) {
+            return loader.get();
+        }
+        return Flux.defer(() -> {
+            List<Event> cached = byTransaction.getIfPresent(transactionId);
+            if (cached != null) {
+                log.debug("Read cache hit: transactionId={}", transactionId);
+                return Flux.fromIterable(cached);
+            }
+            final long loadStarted = generation.get();
+            return loader.get()
+                .collectList()
+                .doOnNext(events -> cacheUnlessWritten(transactionId, loadStarted, Collections.unmodifiableList(events)))
+                .flatMapIterable(events -> events);
+        });
+    }
+
+    /**
+     * Registra um evento recém-salvo no cache por ID (write-through) e invalida a lista da
+     * transação.
+     * <p>
+     * Só invalidar não basta: uma carga da transação iniciada antes da escrita terminaria depois
+     * e guardaria a lista sem o evento novo. Por isso a escrita marca a transação com uma geração,
+     * e a carga só é guardada se nenhuma escrita da transação aconteceu desde o seu início.
+     * </p>
+     */
+    public void onSaved(Event event) {
+        if (config.byIdEnabled) {
+            byId.put(new EventKey(event.getId(), event.getTransactionId()), event);
+        }
+        if (config.byTransactionEnabled) {
+            lastWrite.put(event.getTransactionId(), generation.incrementAndGet());
+            byTransaction.invalidate(event.getTransactionId());
+        }
+    }
+
+    /**
+     * A verificação e o put são atômicos em relação à invalidação de {@link #onSaved(Event)}, que
+     * marca a geração antes de invalidar: ou a carga vê a escrita, ou a invalidação remove a carga.
+     */
+    private void cacheUnlessWritten(String transactionId, long loadStarted, List<Event> events) {
+        byTransaction.asMap().compute(transactionId, (key, current) -> {
+            final Long written = lastWrite.getIfPresent(key);
+            return written != null && written > loadStarted ? current : events;
+        });
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    private record EventKey(String id, String transactionId) {
+    }
+}
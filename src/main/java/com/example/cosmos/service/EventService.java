@@ -1,15 +1,29 @@
 package com.example.cosmos.service;
 
+import com.example.cosmos.admission.AdmissionControl;
 import com.example.cosmos.model.Event;
 import com.example.cosmos.model.EventType;
-import com.example.cosmos.repository.EventRepository;
+import com.example.cosmos.projection.TransactionStatusProjection;
+import com.example.cosmos.repository.ConditionalRead;
+import com.example.cosmos.repository.EventPage;
+import com.example.cosmos.repository.EventProjection;
+import com.example.cosmos.repository.EventTypeCounts;
+import com.example.cosmos.repository.EventWriteResult;
+import com.example.cosmos.repository.ReactiveEventRepository;
+import com.example.cosmos.repository.ScanOptions;
+import com.example.cosmos.repository.SessionTokens;
+import com.example.cosmos.timeindex.EventTimeIndex;
+import com.example.cosmos.timeindex.TimeRange;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Service para lógica de negócio de eventos.
@@ -18,67 +32,226 @@ import java.util.UUID;
 public class EventService {
 
     private static final Logger log = LoggerFactory.getLogger(EventService.class);
-    private final EventRepository eventRepository;
+    private final ReactiveEventRepository eventRepository;
+    private final EventReadCache readCache;
+    private final EventIdGenerator idGenerator;
+    private final ReadCoalescer coalescer;
+    private final TransactionStatusProjection statusProjection;
+    private final AdmissionControl admission;
+    private final EventTimeIndex timeIndex;
 
-    public EventService(EventRepository eventRepository) {
+    public EventService(
+        ReactiveEventRepository eventRepository,
+        EventReadCache readCache,
+        EventIdGenerator idGenerator,
+        ReadCoalescer coalescer,
+        TransactionStatusProjection statusProjection,
+        AdmissionControl admission,
+        EventTimeIndex timeIndex
+    ) {
         this.eventRepository = eventRepository;
-        log.info("EventService initialized");
+        this.readCache = readCache;
+        this.idGenerator = idGenerator;
+        this.coalescer = coalescer;
+        this.statusProjection = statusProjection;
+        this.admission = admission;
+        this.timeIndex = timeIndex;
+        log.info("EventService initialized with {} and {}",
+            eventRepository.getClass().getSimpleName(), idGenerator.getClass().getSimpleName());
     }
 
     /**
      * Cria um novo evento com transactionId gerado automaticamente.
      */
-    public Event createEvent(EventType eventType) {
-        String transactionId = UUID.randomUUID().toString();
-        log.info("Creating event with auto-generated transactionId={}, eventType={}", transactionId, eventType);
+    public Mono<Event> createEvent(EventType eventType) {
+        Event event = newEvent(null, eventType);
+        log.info("Creating event with auto-generated transactionId={}, eventType={}", event.getTransactionId(), eventType);
         
-        Event event = new Event();
-        event.setId(UUID.randomUUID().toString());
-        event.setTransactionId(transactionId);
-        event.setEventType(eventType);
-        event.setTimestamp(Instant.now());
-        
-        return eventRepository.save(event);
+        return admission.write(() -> eventRepository.save(event))
+            .doOnNext(this::onSaved);
     }
 
     /**
      * Cria um novo evento com transactionId específico (método mantido para compatibilidade).
      */
-    public Event createEvent(String transactionId, EventType eventType) {
+    public Mono<Event> createEvent(String transactionId, EventType eventType) {
         log.info("Creating event: transactionId={}, eventType={}", transactionId, eventType);
         
+        Event event = newEvent(transactionId, eventType);
+        
+        return admission.write(() -> eventRepository.save(event))
+            .doOnNext(this::onSaved);
+    }
+
+    /**
+     * Cria eventos em lote via bulk. Emite um resultado por evento, na ordem de entrada.
+     */
+    public Flux<EventWriteResult> createEvents(Flux<Event> events) {
+        log.info("Creating events via bulk ingest");
+        return admission.writeMany(() -> eventRepository.saveAll(events))
+            .doOnNext(result -> {
+                if (result.isSuccess()) {
+                    onSaved(result.getEvent());
+                }
+            });
+    }
+
+    /**
+     * Monta um novo evento. Quando o transactionId não é informado, um novo é gerado.
+     * Com o gerador {@code time-ordered}, os ids de uma transação ordenam pela criação.
+     */
+    public Event newEvent(String transactionId, EventType eventType) {
         Event event = new Event();
-        event.setId(UUID.randomUUID().toString());
-        event.setTransactionId(transactionId);
+        event.setId(idGenerator.nextId());
+        event.setTransactionId(transactionId != null && !transactionId.isBlank() ? transactionId : idGenerator.nextId());
         event.setEventType(eventType);
         event.setTimestamp(Instant.now());
-        
-        return eventRepository.save(event);
+        return event;
     }
 
     /**
      * Busca um evento por ID e transactionId.
+     * Em caso de miss no cache, buscas concorrentes pelo mesmo evento compartilham a chamada ao repositório.
+     * Com session token (read-your-writes), cache e coalescing são ignorados: a leitura vai ao Cosmos
+     * com o token do próprio cliente.
      */
-    public Event getEvent(String id, String transactionId) {
+    public Mono<Event> getEvent(String id, String transactionId) {
         log.info("Getting event: id={}, transactionId={}", id, transactionId);
-        return eventRepository.findById(id, transactionId)
-            .orElseThrow(() -> new RuntimeException("Event not found: id=" + id + ", transactionId=" + transactionId));
+        return Mono.deferContextual(context -> hasSessionToken(context)
+                ? admission.read(() -> eventRepository.findById(id, transactionId))
+                : readCache.getById(id, transactionId, () -> coalescer.coalesce(
+                    "findById",
+                    new EventKey(id, transactionId),
+                    () -> admission.read(() -> eventRepository.findById(id, transactionId)))))
+            .switchIfEmpty(Mono.error(() -> new RuntimeException("Event not found: id=" + id + ", transactionId=" + transactionId)));
+    }
+
+    /**
+     * Busca condicional de um evento ({@code If-None-Match}). Com o evento em cache, a comparação
+     * é local; senão a leitura vai ao repositório com o ETag, e no Cosmos um evento inalterado não
+     * é transferido. Não há coalescing: o resultado depende do ETag de cada cliente.
+     */
+    public Mono<ConditionalRead> getEventIfNoneMatch(String id, String transactionId, String ifNoneMatch) {
+        log.info("Getting event: id={}, transactionId={}, ifNoneMatch={}", id, transactionId, ifNoneMatch);
+        return Mono.deferContextual(context -> {
+                final Event cached = hasSessionToken(context) ? null : readCache.peekById(id, transactionId);
+                return cached != null
+                    ? Mono.just(ConditionalRead.of(cached, ifNoneMatch))
+                    : admission.read(() -> eventRepository.findByIdIfNoneMatch(id, transactionId, ifNoneMatch));
+            })
+            .switchIfEmpty(Mono.error(() -> new RuntimeException("Event not found: id=" + id + ", transactionId=" + transactionId)));
     }
 
     /**
      * Busca todos os eventos de uma transação.
+     * Em caso de miss no cache, buscas concorrentes pela mesma transação compartilham a query.
+     * Com session token, assim como em {@link #getEvent}, a query vai direto ao repositório.
      */
-    public List<Event> getEventsByTransactionId(String transactionId) {
+    public Flux<Event> getEventsByTransactionId(String transactionId) {
         log.info("Getting events by transactionId={}", transactionId);
-        return eventRepository.findByTransactionId(transactionId);
+        return Flux.deferContextual(context -> hasSessionToken(context)
+            ? admission.read(() -> eventRepository.findByTransactionId(transactionId).collectList())
+                .flatMapIterable(events -> events)
+            : readCache.getByTransactionId(transactionId, () -> coalescer
+                .coalesce(
+                    "findByTransactionId",
+                    new TransactionKey(transactionId),
+                    () -> admission.read(() -> eventRepository.findByTransactionId(transactionId).collectList()))
+                .flatMapIterable(events -> events)));
     }
 
     /**
-     * Busca todos os eventos.
+     * Busca os eventos de uma transação só com os campos da projeção. Uma projeção parcial vai
+     * direto ao repositório: cache e coalescing guardam eventos inteiros.
      */
-    public List<Event> getAllEvents() {
-        log.info("Getting all events");
-        return eventRepository.findAll();
+    public Flux<Event> getEventsByTransactionId(String transactionId, EventProjection projection) {
+        if (projection.isAll()) {
+            return getEventsByTransactionId(transactionId);
+        }
+        log.info("Getting events by transactionId={}, fields={}", transactionId, projection);
+        return admission.read(() -> eventRepository.findByTransactionId(transactionId, projection).collectList())
+            .flatMapIterable(events -> events);
+    }
+
+    /**
+     * Quantidade de eventos de uma transação por tipo, agregada no backend.
+     */
+    public Mono<EventTypeCounts> countEventsByTransactionId(String transactionId) {
+        log.info("Counting events by transactionId={}", transactionId);
+        return admission.read(() -> eventRepository.countByEventType(transactionId));
     }
-}
 
+    /**
+     * Busca o documento cru de um evento, para ser escrito na resposta sem mapeamento.
+     * Não passa pelo cache, que guarda eventos mapeados.
+     */
+    public Mono<JsonNode> getRawEvent(String id, String transactionId) {
+        log.info("Getting raw event: id={}, transactionId={}", id, transactionId);
+        return admission.read(() -> eventRepository.findRawById(id, transactionId))
+            .switchIfEmpty(Mono.error(() -> new RuntimeException("Event not found: id=" + id + ", transactionId=" + transactionId)));
+    }
+
+    /**
+     * Busca os documentos crus dos eventos de uma transação, emitidos à medida que são lidos.
+     * Não passa pelo cache.
+     */
+    public Flux<JsonNode> getRawEventsByTransactionId(String transactionId) {
+        log.info("Getting raw events by transactionId={}", transactionId);
+        return admission.readMany(() -> eventRepository.findRawByTransactionId(transactionId));
+    }
+
+    /**
+     * Busca uma página de eventos, opcionalmente filtrada por transactionId.
+     */
+    public Mono<EventPage> getEventsPage(String transactionId, int pageSize, String continuationToken) {
+        log.info("Getting events page: transactionId={}, pageSize={}", transactionId, pageSize);
+        return admission.read(() -> eventRepository.findPage(transactionId, pageSize, continuationToken));
+    }
+
+    /**
+     * Busca todos os eventos (scan cross-partition), com os ajustes de scan informados.
+     */
+    public Flux<Event> getAllEvents(ScanOptions scanOptions) {
+        return getAllEvents(scanOptions, EventProjection.ALL);
+    }
+
+    /**
+     * {@link #getAllEvents(ScanOptions)} só com os campos da projeção.
+     */
+    public Flux<Event> getAllEvents(ScanOptions scanOptions, EventProjection projection) {
+        log.info("Getting all events ({}, fields={})", scanOptions, projection);
+        return admission.readMany(() -> eventRepository.findAll(scanOptions, projection));
+    }
+
+    /**
+     * Busca os eventos de uma janela de tempo, em ordem de timestamp, pelo índice temporal.
+     */
+    public Flux<Event> getEventsByTimeRange(TimeRange range) {
+        log.info("Getting events by time range: {}", range);
+        return admission.readMany(() -> timeIndex.findByTimeRange(range));
+    }
+
+    /**
+     * Quantidade de eventos de uma janela de tempo por tipo, pelo índice temporal.
+     */
+    public Mono<EventTypeCounts> countEventsByTimeRange(TimeRange range) {
+        log.info("Counting events by time range: {}", range);
+        return admission.read(() -> timeIndex.countByEventType(range));
+    }
+
+    private static boolean hasSessionToken(ContextView context) {
+        return SessionTokens.of(context).requested() != null;
+    }
+
+    private void onSaved(Event event) {
+        readCache.onSaved(event);
+        statusProjection.onSaved(event);
+        timeIndex.onSaved(event);
+    }
+
+    private record EventKey(String id, String transactionId) {
+    }
+
+    private record TransactionKey(String transactionId) {
+    }
+}
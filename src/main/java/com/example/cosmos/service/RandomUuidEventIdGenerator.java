@@ -0,0 +1,20 @@
+package com.example.cosmos.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Ids UUIDv4 aleatórios (36 caracteres, sem ordenação), o formato original.
+ * Ativo com {@code event-store.id-generator=uuid}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "event-store", name = "id-generator", havingValue = "uuid")
+public class RandomUuidEventIdGenerator implements EventIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
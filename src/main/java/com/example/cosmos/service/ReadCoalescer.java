@@ -0,0 +1,70 @@
+package com.example.cosmos.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: leituras idênticas e concorrentes compartilham uma única chamada ao backend.
+ * <p>
+ * A primeira chamada para uma chave dispara o {@code loader}; as que chegam enquanto ela está em
+ * andamento recebem o mesmo resultado (ou erro). Ao terminar, a chave sai do mapa e a próxima
+ * leitura vai de novo ao backend, então não há defasagem além da própria chamada.
+ * Leituras coalescidas são contadas em {@code events.read.coalesced{operation}}.
+ * </p>
+ */
+@Component
+public class ReadCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadCoalescer.class);
+
+    private final ConcurrentMap<Object, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    // Um contador por operação, registrado na primeira leitura coalescida
+    private final ConcurrentMap<String, Counter> coalesced = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Executa o {@code loader} ou se junta à chamada já em andamento para a mesma chave.
+     * A chave deve ter {@code equals}/{@code hashCode} por valor (ex.: um record).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> coalesce(String operation, Object key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            final var started = new AtomicReference<Mono<T>>();
+            final Mono<T> shared = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                started.set(share(k, loader));
+                return started.get();
+            });
+            if (started.get() == null) {
+                log.debug("Coalesced read: operation={}, key={}", operation, key);
+                coalesced.computeIfAbsent(operation, op -> Counter.builder("events.read.coalesced")
+                    .description("Leituras atendidas por uma chamada já em andamento")
+                    .tag("operation", op)
+                    .register(meterRegistry)).increment();
+            }
+            return shared;
+        });
+    }
+
+    private <T> Mono<T> share(Object key, Supplier<Mono<T>> loader) {
+        final var self = new AtomicReference<Mono<T>>();
+        final Mono<T> shared = Mono.defer(loader)
+            .doFinally(signal -> inFlight.remove(key, self.get()))
+            .share();
+        self.set(shared);
+        return shared;
+    }
+}
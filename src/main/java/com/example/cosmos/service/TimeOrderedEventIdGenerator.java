@@ -0,0 +1,61 @@
+package com.example.cosmos.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ids compactos ordenados por tempo, no estilo ULID: 128 bits em 26 caracteres Crockford base32.
+ * <p>
+ * Layout: 48 bits de timestamp (ms) | 16 bits de sequência | 64 bits aleatórios.
+ * Os 64 bits altos são monotônicos nesta instância: dentro do mesmo milissegundo a sequência
+ * é incrementada e, se estourar, avança o relógio lógico em vez de repetir ou bloquear.
+ * Assim a ordem lexicográfica dos ids é a ordem de criação. A parte aleatória vem do
+ * {@link ThreadLocalRandom}, que não disputa o {@code SecureRandom} como o {@code UUID.randomUUID()}.
+ * </p>
+ * Ativo por padrão ({@code event-store.id-generator=time-ordered}).
+ */
+@Component
+@ConditionalOnProperty(prefix = "event-store", name = "id-generator", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedEventIdGenerator implements EventIdGenerator {
+
+    static final int LENGTH = 26;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int SEQUENCE_BITS = 16;
+
+    private final AtomicLong last = new AtomicLong();
+    private final LongSupplier clock;
+
+    public TimeOrderedEventIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    TimeOrderedEventIdGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        final long now = clock.getAsLong() << SEQUENCE_BITS;
+        final long high = last.accumulateAndGet(now, (previous, candidate) -> candidate > previous ? candidate : previous + 1);
+        return encode(high, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Codifica os 128 bits em base32, do dígito menos significativo para o mais significativo
+     * (os 2 bits extras do primeiro caractere são sempre zero).
+     */
+    static String encode(long high, long low) {
+        final char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (low & 31)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+}
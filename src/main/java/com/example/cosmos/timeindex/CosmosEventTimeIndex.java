@@ -0,0 +1,190 @@
+package com.example.cosmos.timeindex;
+
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosBulkOperations;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.FeedResponse;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.SqlParameter;
+import com.azure.cosmos.models.SqlQuerySpec;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.config.TimeIndexConfig;
+import com.example.cosmos.metrics.CosmosMetrics;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.TimeIndexedEvent;
+import com.example.cosmos.repository.EventTypeCounts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Índice temporal no Cosmos DB: container secundário particionado por bucket de tempo
+ * ({@link TimeBuckets}), com uma cópia compacta de cada evento ({@link TimeIndexedEvent}).
+ * <p>
+ * Uma consulta lê apenas os buckets cobertos pela janela, cada um com uma query single-partition
+ * ordenada por timestamp. Os buckets são consultados em paralelo ({@code fan-out-concurrency}) e
+ * emitidos na ordem cronológica: como os buckets não se sobrepõem, concatená-los em ordem já é o
+ * merge ordenado, e os eventos saem em stream sem ordenar nada em memória.
+ * </p>
+ * <p>
+ * O container é alimentado pelo {@link TimeIndexChangeFeed}, então um evento aparece nas consultas
+ * alguns instantes após a escrita.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("${azure.cosmos.time-index.enabled:false} and '${azure.cosmos.repository-mode:sync}' matches 'sync|async'")
+public class CosmosEventTimeIndex implements EventTimeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CosmosEventTimeIndex.class);
+
+    private static final String BY_BUCKET =
+        "SELECT * FROM c WHERE c.ts >= @from AND c.ts < @to ORDER BY c.ts";
+    private static final String BY_BUCKET_AND_TYPE =
+        "SELECT * FROM c WHERE c.ts >= @from AND c.ts < @to AND c.e = @eventType ORDER BY c.ts";
+    private static final String COUNT_BY_BUCKET =
+        "SELECT c.e, COUNT(1) AS n FROM c WHERE c.ts >= @from AND c.ts < @to GROUP BY c.e";
+    private static final String QUERY_OPERATION = "query:byTimeBucket";
+    private static final String COUNT_OPERATION = "query:countByTimeBucket";
+    private static final String INDEXER = "time-index";
+
+    private final CosmosContainer container;
+    private final CosmosAsyncContainer asyncContainer;
+    private final TimeBuckets buckets;
+    private final int fanOutConcurrency;
+    private final CosmosMetrics metrics;
+    private final ExecutionMode execution;
+
+    public CosmosEventTimeIndex(
+        @Qualifier("eventsByTime") ObjectProvider<CosmosContainer> container,
+        @Qualifier("eventsByTimeAsync") ObjectProvider<CosmosAsyncContainer> asyncContainer,
+        TimeIndexConfig config,
+        CosmosMetrics metrics,
+        ExecutionMode execution
+    ) {
+        this.container = container.getIfAvailable();
+        this.asyncContainer = this.container == null ? asyncContainer.getObject() : null;
+        this.buckets = new TimeBuckets(config.bucketSize, config.maxBuckets);
+        this.fanOutConcurrency = config.fanOutConcurrency;
+        this.metrics = metrics;
+        this.execution = execution;
+        log.info("CosmosEventTimeIndex initialized (bucketSize={}, fanOutConcurrency={})", config.bucketSize, fanOutConcurrency);
+    }
+
+    @Override
+    public Flux<Event> findByTimeRange(TimeRange range) {
+        return Flux.deferContextual(context -> {
+            final List<String> covered = buckets.bucketsOf(range);
+            log.info("Finding events in {} across {} buckets", range, covered.size());
+            final String endpoint = CosmosMetrics.endpointOf(context);
+            return Flux.fromIterable(covered)
+                .flatMapSequential(bucket -> queryBucket(bucket, range, endpoint), fanOutConcurrency);
+        });
+    }
+
+    private Flux<Event> queryBucket(String bucket, TimeRange range, String endpoint) {
+        final SqlQuerySpec spec = range.eventType() == null
+            ? new SqlQuerySpec(BY_BUCKET,
+                new SqlParameter("@from", range.from().toEpochMilli()),
+                new SqlParameter("@to", range.to().toEpochMilli()))
+            : new SqlQuerySpec(BY_BUCKET_AND_TYPE,
+                new SqlParameter("@from", range.from().toEpochMilli()),
+                new SqlParameter("@to", range.to().toEpochMilli()),
+                new SqlParameter("@eventType", range.eventType().code()));
+        final var options = new CosmosQueryRequestOptions();
+        options.setPartitionKey(new PartitionKey(bucket));
+
+        // No modo sync cada bucket bloqueia uma thread do scheduler bloqueante, não a do chamador
+        final Flux<FeedResponse<Event>> pages = container != null
+            ? Flux.defer(() -> Flux.fromIterable(container.queryItems(spec, options, Event.class).iterableByPage()))
+                .subscribeOn(execution.blockingScheduler())
+            : asyncContainer.queryItems(spec, options, Event.class).byPage();
+
+        return pages
+            .doOnNext(page -> metrics.record(QUERY_OPERATION, endpoint, page))
+            .doOnError(CosmosException.class, e -> metrics.record(QUERY_OPERATION, endpoint, e))
+            .concatMapIterable(FeedResponse::getResults);
+    }
+
+    /**
+     * Cada bucket é agregado no servidor ({@code GROUP BY c.e}, uma linha por tipo) e as linhas são
+     * somadas aqui; nenhum evento trafega.
+     */
+    @Override
+    public Mono<EventTypeCounts> countByEventType(TimeRange range) {
+        return Mono.deferContextual(context -> {
+            final List<String> covered = buckets.bucketsOf(range);
+            log.info("Counting events in {} across {} buckets", range, covered.size());
+            final SqlQuerySpec spec = new SqlQuerySpec(COUNT_BY_BUCKET,
+                new SqlParameter("@from", range.from().toEpochMilli()),
+                new SqlParameter("@to", range.to().toEpochMilli()));
+            final String endpoint = CosmosMetrics.endpointOf(context);
+            return Flux.fromIterable(covered)
+                .flatMap(bucket -> countBucket(bucket, spec, endpoint), fanOutConcurrency)
+                .reduce(EventTypeCounts.empty(), EventTypeCounts::plus);
+        });
+    }
+
+    private Mono<EventTypeCounts> countBucket(String bucket, SqlQuerySpec spec, String endpoint) {
+        final var options = new CosmosQueryRequestOptions();
+        options.setPartitionKey(new PartitionKey(bucket));
+
+        final Flux<FeedResponse<EventTypeCounts.Row>> pages = container != null
+            ? Flux.defer(() -> Flux.fromIterable(container.queryItems(spec, options, EventTypeCounts.Row.class).iterableByPage()))
+                .subscribeOn(execution.blockingScheduler())
+            : asyncContainer.queryItems(spec, options, EventTypeCounts.Row.class).byPage();
+
+        return pages
+            .doOnNext(page -> metrics.record(COUNT_OPERATION, endpoint, page))
+            .doOnError(CosmosException.class, e -> metrics.record(COUNT_OPERATION, endpoint, e))
+            .concatMapIterable(FeedResponse::getResults)
+            .collectList()
+            .map(EventTypeCounts::fromRows);
+    }
+
+    /**
+     * Grava (upsert) os eventos nos seus buckets. Idempotente, então reaplicar uma página do
+     * change feed após uma queda não duplica nada.
+     *
+     * @throws IllegalStateException se algum evento não foi indexado
+     */
+    void index(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        final List<CosmosItemOperation> operations = new ArrayList<>(events.size());
+        for (Event event : events) {
+            final String bucket = buckets.bucketOf(event.getTimestamp());
+            operations.add(CosmosBulkOperations.getUpsertItemOperation(
+                TimeIndexedEvent.from(event, bucket),
+                new PartitionKey(bucket)
+            ));
+        }
+
+        final Iterable<CosmosBulkOperationResponse<Object>> responses = container != null
+            ? container.executeBulkOperations(operations)
+            : asyncContainer.<Object>executeBulkOperations(Flux.fromIterable(operations)).toIterable();
+
+        int failed = 0;
+        for (CosmosBulkOperationResponse<Object> response : responses) {
+            metrics.record("bulkUpsert", INDEXER, response);
+            if (response.getResponse() == null || !response.getResponse().isSuccessStatusCode()) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException("Failed to index " + failed + " of " + events.size() + " events");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.cosmos.timeindex;
+
+import com.example.cosmos.model.Event;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Modos Cosmos sem o container do índice temporal: consultas por janela são recusadas em vez de
+ * virarem um scan do container inteiro.
+ */
+@Component
+@ConditionalOnExpression("!${azure.cosmos.time-index.enabled:false} and '${azure.cosmos.repository-mode:sync}' matches 'sync|async'")
+public class DisabledEventTimeIndex implements EventTimeIndex {
+
+    @Override
+    public Flux<Event> findByTimeRange(TimeRange range) {
+        return Flux.error(new UnsupportedOperationException("Time range queries require azure.cosmos.time-index.enabled=true"));
+    }
+}
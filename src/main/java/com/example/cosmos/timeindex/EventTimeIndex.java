@@ -0,0 +1,49 @@
+package com.example.cosmos.timeindex;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.repository.EventTypeCounts;
+import com.example.cosmos.repository.InvalidQueryException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Índice de eventos por timestamp, para consultas por janela de tempo cujo custo acompanha o
+ * tamanho da janela e não o volume total de eventos.
+ * <p>
+ * Implementações, escolhidas por {@code azure.cosmos.repository-mode}:
+ * <ul>
+ *   <li><b>sync/async</b> - {@link CosmosEventTimeIndex}, container particionado por bucket de tempo
+ *       ({@code azure.cosmos.time-index.enabled=true}); sem ele, {@link DisabledEventTimeIndex}</li>
+ *   <li><b>segment/memory</b> - {@link LocalEventTimeIndex}, em memória</li>
+ * </ul>
+ * </p>
+ */
+public interface EventTimeIndex {
+
+    /**
+     * Eventos da janela em ordem de timestamp, emitidos à medida que chegam. Falhas, inclusive de
+     * validação, chegam como sinal de erro e nunca como exceção na chamada: o service monta a
+     * consulta dentro do admission control.
+     *
+     * @throws InvalidQueryException (sinal de erro) se a janela exceder o limite do índice
+     */
+    Flux<Event> findByTimeRange(TimeRange range);
+
+    /**
+     * Quantidade de eventos da janela por tipo ({@code eventType} da janela é ignorado). O padrão
+     * conta os eventos de {@link #findByTimeRange(TimeRange)} um a um.
+     *
+     * @throws InvalidQueryException (sinal de erro) se a janela exceder o limite do índice
+     */
+    default Mono<EventTypeCounts> countByEventType(TimeRange range) {
+        return Flux.defer(() -> findByTimeRange(new TimeRange(range.from(), range.to(), null)))
+            .collectList()
+            .map(EventTypeCounts::of);
+    }
+
+    /**
+     * Chamado pelo service após cada escrita bem-sucedida. Só os índices sem change feed o usam.
+     */
+    default void onSaved(Event event) {
+    }
+}
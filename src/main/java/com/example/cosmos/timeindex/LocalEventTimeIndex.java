@@ -0,0 +1,65 @@
+package com.example.cosmos.timeindex;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.repository.EventStore;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Índice temporal dos modos locais ({@code segment}/{@code memory}): um skip list ordenado por
+ * timestamp, em que uma janela é um {@code subSet}.
+ * <p>
+ * Assim como o {@link com.example.cosmos.projection.LocalTransactionStatusFeed}, faz o replay de
+ * todos os eventos do store na inicialização e depois é atualizado pelas escritas desta instância.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("'${azure.cosmos.repository-mode:sync}' matches 'segment|memory'")
+public class LocalEventTimeIndex implements EventTimeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalEventTimeIndex.class);
+
+    // id e transactionId desempatam eventos do mesmo instante; "" é o menor valor possível
+    private static final Comparator<Event> ORDER = Comparator.comparing(Event::getTimestamp)
+        .thenComparing(Event::getId)
+        .thenComparing(Event::getTransactionId);
+
+    private final EventStore eventStore;
+    private final NavigableSet<Event> events = new ConcurrentSkipListSet<>(ORDER);
+
+    public LocalEventTimeIndex(EventStore eventStore) {
+        this.eventStore = eventStore;
+    }
+
+    @PostConstruct
+    void replay() {
+        try (Stream<Event> stored = eventStore.findAll()) {
+            stored.forEach(events::add);
+        }
+        log.info("Replayed {} events into the local time index", events.size());
+    }
+
+    @Override
+    public Flux<Event> findByTimeRange(TimeRange range) {
+        final var window = events.subSet(
+            new Event("", "", null, range.from()), true,
+            new Event("", "", null, range.to()), false
+        );
+        return Flux.fromIterable(window)
+            .filter(range::contains);
+    }
+
+    @Override
+    public void onSaved(Event event) {
+        events.add(event);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.cosmos.timeindex;
+
+import com.example.cosmos.repository.InvalidQueryException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Divisão do tempo em buckets de largura fixa, alinhados à época.
+ * <p>
+ * A chave de um bucket é o instante em que ele começa (ex.: {@code 2024-05-01T13:00:00Z} com
+ * buckets de 1h), de modo que qualquer instância calcula a mesma chave para o mesmo evento.
+ * </p>
+ */
+public final class TimeBuckets {
+
+    private final long sizeMillis;
+    private final int maxBuckets;
+
+    public TimeBuckets(Duration size, int maxBuckets) {
+        if (size.toMillis() <= 0) {
+            throw new IllegalArgumentException("Bucket size must be at least 1ms: " + size);
+        }
+        this.sizeMillis = size.toMillis();
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Chave do bucket que contém o instante.
+     */
+    public String bucketOf(Instant timestamp) {
+        return Instant.ofEpochMilli(Math.floorDiv(timestamp.toEpochMilli(), sizeMillis) * sizeMillis).toString();
+    }
+
+    /**
+     * Buckets cobertos pela janela, em ordem cronológica. Rejeita janelas com mais de
+     * {@code maxBuckets} buckets.
+     */
+    public List<String> bucketsOf(TimeRange range) {
+        final long first = Math.floorDiv(range.from().toEpochMilli(), sizeMillis);
+        // to é exclusivo: um to alinhado ao início de um bucket não o inclui
+        final long last = Math.floorDiv(range.to().toEpochMilli() - 1, sizeMillis);
+        final long count = last - first + 1;
+        if (count > maxBuckets) {
+            throw new InvalidQueryException(
+                "Time range covers " + count + " buckets, the maximum is " + maxBuckets + ": " + range);
+        }
+        final List<String> buckets = new ArrayList<>((int) count);
+        for (long bucket = first; bucket <= last; bucket++) {
+            buckets.add(Instant.ofEpochMilli(bucket * sizeMillis).toString());
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.cosmos.timeindex;
+
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.models.CosmosChangeFeedRequestOptions;
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.models.FeedResponse;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.config.TimeIndexConfig;
+import com.example.cosmos.model.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Consome o change feed do container de eventos (pull model) e alimenta o
+ * {@link CosmosEventTimeIndex}.
+ * <p>
+ * Mesmo esquema do {@link com.example.cosmos.projection.TransactionStatusChangeFeed}, com
+ * continuation própria: a indexação avança no seu ritmo e pode ser reconstruída do zero apagando
+ * o checkpoint. A continuation só avança depois que a página foi indexada; uma falha repete a
+ * página, o que é seguro porque a indexação é um upsert.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("${azure.cosmos.time-index.enabled:false} and '${azure.cosmos.repository-mode:sync}' matches 'sync|async'")
+public class TimeIndexChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeIndexChangeFeed.class);
+
+    private final CosmosContainer container;
+    private final CosmosAsyncContainer asyncContainer;
+    private final CosmosEventTimeIndex timeIndex;
+    private final TimeIndexConfig config;
+    private final ObjectMapper objectMapper;
+    private final Path checkpointFile;
+    private final ExecutionMode execution;
+
+    private volatile boolean running = true;
+    private Thread poller;
+    private String continuation;
+
+    public TimeIndexChangeFeed(
+        @Qualifier("events") ObjectProvider<CosmosContainer> container,
+        @Qualifier("eventsAsync") ObjectProvider<CosmosAsyncContainer> asyncContainer,
+        CosmosEventTimeIndex timeIndex,
+        TimeIndexConfig config,
+        ObjectMapper objectMapper,
+        ExecutionMode execution
+    ) {
+        this.container = container.getIfAvailable();
+        this.asyncContainer = this.container == null ? asyncContainer.getObject() : null;
+        this.timeIndex = timeIndex;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.checkpointFile = Path.of(config.checkpointFile);
+        this.execution = execution;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (Files.exists(checkpointFile)) {
+            continuation = objectMapper.readValue(checkpointFile.toFile(), Checkpoint.class).continuation();
+        }
+        poller = execution.thread("time-index-poller").start(this::run);
+        log.info("TimeIndexChangeFeed started (resumed={})", continuation != null);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                final FeedResponse<Event> page = nextPage();
+                final List<Event> events = page != null ? page.getResults() : List.of();
+                timeIndex.index(events);
+                if (page != null && page.getContinuationToken() != null && !page.getContinuationToken().equals(continuation)) {
+                    continuation = page.getContinuationToken();
+                    checkpoint();
+                }
+                if (events.isEmpty()) {
+                    Thread.sleep(config.pollInterval.toMillis());
+                } else {
+                    log.debug("Indexed {} events from change feed", events.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error indexing events change feed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private FeedResponse<Event> nextPage() {
+        final var options = continuation != null
+            ? CosmosChangeFeedRequestOptions.createForProcessingFromContinuation(continuation)
+            : CosmosChangeFeedRequestOptions.createForProcessingFromBeginning(FeedRange.forFullRange());
+        options.setMaxItemCount(config.maxItemCount);
+
+        if (container != null) {
+            final var pages = container.queryChangeFeed(options, Event.class).iterableByPage().iterator();
+            return pages.hasNext() ? pages.next() : null;
+        }
+        return asyncContainer.queryChangeFeed(options, Event.class).byPage().next().block();
+    }
+
+    private void checkpoint() throws IOException {
+        Files.createDirectories(checkpointFile.toAbsolutePath().getParent());
+        final Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        objectMapper.writeValue(temp.toFile(), new Checkpoint(continuation));
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(config.pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+            poller.join();
+        }
+    }
+
+    record Checkpoint(String continuation) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.cosmos.timeindex;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.InvalidQueryException;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Janela de tempo [{@code from}, {@code to}) de uma consulta, opcionalmente filtrada por tipo
+ * de evento (null = todos).
+ */
+public record TimeRange(Instant from, Instant to, EventType eventType) {
+
+    public TimeRange {
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        if (!from.isBefore(to)) {
+            throw new InvalidQueryException("from must be before to: from=" + from + ", to=" + to);
+        }
+    }
+
+    public boolean contains(Event event) {
+        final Instant timestamp = event.getTimestamp();
+        return !timestamp.isBefore(from)
+            && timestamp.isBefore(to)
+            && (eventType == null || eventType == event.getEventType());
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.cosmos.benchmark;
+
+import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.CosmosDatabase;
+import com.azure.cosmos.models.CosmosContainerProperties;
+import com.azure.cosmos.models.CosmosItemRequestOptions;
+import com.azure.cosmos.models.PartitionKey;
+import com.example.cosmos.config.CosmosDbConfig;
+import com.example.cosmos.config.IndexingPolicies;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.EventDocumentFormat;
+import com.example.cosmos.repository.EventQuery;
+import com.example.cosmos.service.EventIdGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de tamanho de documento e custo (RU) dos formatos full e compact.
+ * <p>
+ * Para cada formato cria um container temporário com a indexing policy configurada (mais os
+ * caminhos compactos de {@link IndexingPolicies#withCompactPaths}), grava uma carga de eventos,
+ * lê cada um por id e por transação e reporta o tamanho médio do payload e o RU médio por operação.
+ * Executar com {@code ./gradlew bootRunPerf --args='--spring.profiles.active=document-format-benchmark'} (modo sync).
+ * </p>
+ */
+@Component
+@Profile("document-format-benchmark")
+public class DocumentFormatBenchmark implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentFormatBenchmark.class);
+
+    private static final int TRANSACTIONS = 50;
+    private static final int EVENTS_PER_TRANSACTION = 4;
+
+    private final CosmosDatabase cosmosDb;
+    private final CosmosDbConfig config;
+    private final EventIdGenerator idGenerator;
+    private final ObjectMapper objectMapper;
+
+    public DocumentFormatBenchmark(
+        @Qualifier("cosmosDb") CosmosDatabase cosmosDb,
+        CosmosDbConfig config,
+        EventIdGenerator idGenerator,
+        ObjectMapper objectMapper
+    ) {
+        this.cosmosDb = cosmosDb;
+        this.config = config;
+        this.idGenerator = idGenerator;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        final List<String> report = new ArrayList<>();
+        report.add(String.format("%-10s %14s %12s %12s %12s", "format", "payload bytes", "write RU", "read RU", "byTx RU"));
+        for (EventDocumentFormat format : EventDocumentFormat.values()) {
+            report.add(run(format));
+        }
+
+        log.info("Document format benchmark ({} transactions x {} events):\n{}",
+            TRANSACTIONS, EVENTS_PER_TRANSACTION, String.join("\n", report));
+    }
+
+    private String run(EventDocumentFormat format) throws JsonProcessingException {
+        final var containerName = config.eventsContainerName + "-bench-" + format.name().toLowerCase();
+        final var properties = new CosmosContainerProperties(containerName, config.eventsContainerPartition);
+        properties.setIndexingPolicy(IndexingPolicies.build(
+            config.indexingMode,
+            IndexingPolicies.withCompactPaths(config.indexingIncludedPaths),
+            config.indexingExcludedPaths,
+            IndexingPolicies.withCompactPaths(config.indexingCompositeIndexes)
+        ));
+        cosmosDb.createContainerIfNotExists(properties);
+        final CosmosContainer container = cosmosDb.getContainer(containerName);
+
+        try {
+            final List<Event> events = new ArrayList<>();
+            long payloadBytes = 0;
+            double writeCharge = 0;
+            for (int t = 0; t < TRANSACTIONS; t++) {
+                final var transactionId = idGenerator.nextId();
+                for (int e = 0; e < EVENTS_PER_TRANSACTION; e++) {
+                    final var event = new Event(
+                        idGenerator.nextId(),
+                        transactionId,
+                        e == EVENTS_PER_TRANSACTION - 1 ? EventType.FINALIZED : EventType.STARTED,
+                        Instant.now()
+                    );
+                    events.add(event);
+                    final Object document = format.toDocument(event);
+                    payloadBytes += objectMapper.writeValueAsBytes(document).length;
+                    writeCharge += container
+                        .createItem(document, new PartitionKey(transactionId), new CosmosItemRequestOptions())
+                        .getRequestCharge();
+                }
+            }
+
+            double readCharge = 0;
+            for (Event event : events) {
+                final var response = container.readItem(event.getId(), new PartitionKey(event.getTransactionId()), Event.class);
+                if (event.getTimestamp().toEpochMilli() != response.getItem().getTimestamp().toEpochMilli()) {
+                    throw new IllegalStateException("Event read back differs: " + response.getItem());
+                }
+                readCharge += response.getRequestCharge();
+            }
+
+            double byTransactionCharge = 0;
+            for (int i = 0; i < events.size(); i += EVENTS_PER_TRANSACTION) {
+                final var query = EventQuery.byTransactionId(events.get(i).getTransactionId());
+                for (var page : container.queryItems(query.spec(), query.options(), Event.class).iterableByPage()) {
+                    byTransactionCharge += page.getRequestCharge();
+                }
+            }
+
+            final int writes = events.size();
+            return String.format("%-10s %14.1f %12.2f %12.2f %12.2f",
+                format.name().toLowerCase(),
+                (double) payloadBytes / writes,
+                writeCharge / writes,
+                readCharge / writes,
+                byTransactionCharge / TRANSACTIONS);
+        } finally {
+            container.delete();
+        }
+    }
+}
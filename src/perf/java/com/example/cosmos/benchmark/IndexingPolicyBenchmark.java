@@ -0,0 +1,150 @@
+package com.example.cosmos.benchmark;
+
+import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.CosmosDatabase;
+import com.azure.cosmos.models.CosmosContainerProperties;
+import com.azure.cosmos.models.CosmosItemRequestOptions;
+import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.IndexingPolicy;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.SqlParameter;
+import com.azure.cosmos.models.SqlQuerySpec;
+import com.example.cosmos.config.CosmosDbConfig;
+import com.example.cosmos.config.IndexingPolicies;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.EventQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Benchmark de custo (RU) de escrita vs. query para cada indexing policy candidata.
+ * <p>
+ * Para cada policy cria um container temporário, grava uma carga de eventos, executa as queries
+ * da aplicação e reporta o RU médio por operação. O container é removido ao final.
+ * Executar com {@code ./gradlew bootRunPerf --args='--spring.profiles.active=indexing-benchmark'} (modo sync).
+ * </p>
+ */
+@Component
+@Profile("indexing-benchmark")
+public class IndexingPolicyBenchmark implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexingPolicyBenchmark.class);
+
+    private static final int TRANSACTIONS = 50;
+    private static final int EVENTS_PER_TRANSACTION = 4;
+
+    private static final String ORDERED_BY_TRANSACTION_ID =
+        "SELECT * FROM c WHERE c.transactionId = @transactionId ORDER BY c.timestamp ASC";
+    private static final String BY_EVENT_TYPE =
+        "SELECT * FROM c WHERE c.eventType = @eventType";
+
+    private final CosmosDatabase cosmosDb;
+    private final CosmosDbConfig config;
+
+    public IndexingPolicyBenchmark(@Qualifier("cosmosDb") CosmosDatabase cosmosDb, CosmosDbConfig config) {
+        this.cosmosDb = cosmosDb;
+        this.config = config;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        final Map<String, IndexingPolicy> candidates = new LinkedHashMap<>();
+        candidates.put("none", IndexingPolicies.build("none", List.of(), List.of(), List.of()));
+        candidates.put("consistent-all", IndexingPolicies.build("consistent", List.of("/*"), List.of(), List.of()));
+        candidates.put("consistent-lean", IndexingPolicies.build(
+            "consistent", config.indexingIncludedPaths, config.indexingExcludedPaths, List.of()));
+        candidates.put("configured", IndexingPolicies.fromConfig(config));
+
+        final List<String> report = new ArrayList<>();
+        report.add(String.format("%-18s %12s %16s %16s %16s", "policy", "write RU", "byTx RU", "byTx+order RU", "byType RU"));
+        candidates.forEach((name, policy) -> report.add(run(name, policy)));
+
+        log.info("Indexing policy benchmark ({} transactions x {} events):\n{}",
+            TRANSACTIONS, EVENTS_PER_TRANSACTION, String.join("\n", report));
+    }
+
+    private String run(String name, IndexingPolicy policy) {
+        final var containerName = config.eventsContainerName + "-bench-" + name;
+        log.info("Benchmarking indexing policy {}: {}", name, IndexingPolicies.describe(policy));
+
+        final var properties = new CosmosContainerProperties(containerName, config.eventsContainerPartition);
+        properties.setIndexingPolicy(policy);
+        cosmosDb.createContainerIfNotExists(properties);
+        final CosmosContainer container = cosmosDb.getContainer(containerName);
+
+        try {
+            final List<String> transactionIds = new ArrayList<>();
+            double writeCharge = 0;
+            for (int t = 0; t < TRANSACTIONS; t++) {
+                final var transactionId = UUID.randomUUID().toString();
+                transactionIds.add(transactionId);
+                for (int e = 0; e < EVENTS_PER_TRANSACTION; e++) {
+                    final var event = new Event(
+                        UUID.randomUUID().toString(),
+                        transactionId,
+                        e == EVENTS_PER_TRANSACTION - 1 ? EventType.FINALIZED : EventType.STARTED,
+                        Instant.now()
+                    );
+                    writeCharge += container
+                        .createItem(event, new PartitionKey(transactionId), new CosmosItemRequestOptions())
+                        .getRequestCharge();
+                }
+            }
+
+            double byTransactionCharge = 0;
+            double orderedCharge = 0;
+            for (String transactionId : transactionIds) {
+                final var query = EventQuery.byTransactionId(transactionId);
+                byTransactionCharge += queryCharge(container, query.spec(), query.options());
+
+                final var ordered = new SqlQuerySpec(ORDERED_BY_TRANSACTION_ID, new SqlParameter("@transactionId", transactionId));
+                orderedCharge += queryCharge(container, ordered, query.options());
+            }
+            final var byType = new SqlQuerySpec(BY_EVENT_TYPE, new SqlParameter("@eventType", EventType.FINALIZED.name()));
+            final double byTypeCharge = queryCharge(container, byType, new CosmosQueryRequestOptions());
+
+            final int writes = TRANSACTIONS * EVENTS_PER_TRANSACTION;
+            return String.format("%-18s %12.2f %16s %16s %16s",
+                name,
+                writeCharge / writes,
+                format(byTransactionCharge / TRANSACTIONS),
+                format(orderedCharge / TRANSACTIONS),
+                format(byTypeCharge));
+        } finally {
+            container.delete();
+        }
+    }
+
+    /**
+     * Executa a query até o fim e retorna o RU total, ou {@link Double#NaN} se a policy não a suporta.
+     */
+    private double queryCharge(CosmosContainer container, SqlQuerySpec spec, CosmosQueryRequestOptions options) {
+        try {
+            double charge = 0;
+            for (var page : container.queryItems(spec, options, Event.class).iterableByPage()) {
+                charge += page.getRequestCharge();
+            }
+            return charge;
+        } catch (Exception e) {
+            log.warn("Query not supported by policy: {} ({})", spec.getQueryText(), e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    private static String format(double charge) {
+        return Double.isNaN(charge) ? "failed" : String.format("%.2f", charge);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.cosmos.benchmark;
+
+import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.CosmosDatabase;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosBulkOperations;
+import com.azure.cosmos.models.CosmosContainerProperties;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.ThroughputProperties;
+import com.example.cosmos.config.CosmosDbConfig;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.config.IndexingPolicies;
+import com.example.cosmos.metrics.CosmosMetrics;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.EventRepository;
+import com.example.cosmos.repository.ScanOptions;
+import com.example.cosmos.service.EventIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark de throughput do scan cross-partition ({@code findAll}) conforme o paralelismo varia.
+ * <p>
+ * Cria um container temporário com throughput dedicado suficiente para ter várias partições
+ * físicas (o paralelismo só tem efeito entre partições físicas), grava uma carga de eventos via
+ * bulk e mede o tempo de um scan completo para cada {@code maxDegreeOfParallelism}, com o buffer
+ * e o tamanho de página configurados. Reporta a mediana de algumas execuções, após um aquecimento.
+ * O container é removido ao final.
+ * Executar com {@code ./gradlew bootRunPerf --args='--spring.profiles.active=scan-benchmark'} (modo sync).
+ * </p>
+ */
+@Component
+@Profile("scan-benchmark")
+public class ScanParallelismBenchmark implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScanParallelismBenchmark.class);
+
+    // 40k RU/s => 4 partições físicas (até 10k RU/s por partição)
+    private static final int THROUGHPUT = 40_000;
+    private static final int TRANSACTIONS = 5_000;
+    private static final int EVENTS_PER_TRANSACTION = 4;
+    private static final int RUNS = 3;
+    private static final int[] PARALLELISM = {0, 1, 2, 4, 8, -1};
+
+    private final CosmosDatabase cosmosDb;
+    private final CosmosDbConfig config;
+    private final CosmosMetrics metrics;
+    private final EventIdGenerator idGenerator;
+    private final ExecutionMode execution;
+
+    public ScanParallelismBenchmark(
+        @Qualifier("cosmosDb") CosmosDatabase cosmosDb,
+        CosmosDbConfig config,
+        CosmosMetrics metrics,
+        EventIdGenerator idGenerator,
+        ExecutionMode execution
+    ) {
+        this.cosmosDb = cosmosDb;
+        this.config = config;
+        this.metrics = metrics;
+        this.idGenerator = idGenerator;
+        this.execution = execution;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        final var containerName = config.eventsContainerName + "-bench-scan";
+        final var properties = new CosmosContainerProperties(containerName, config.eventsContainerPartition);
+        properties.setIndexingPolicy(IndexingPolicies.fromConfig(config));
+        cosmosDb.createContainerIfNotExists(properties, ThroughputProperties.createManualThroughput(THROUGHPUT));
+        final CosmosContainer container = cosmosDb.getContainer(containerName);
+
+        try {
+            final int events = seed(container);
+            final var store = new EventRepository(container, metrics, config, execution);
+
+            final List<String> report = new ArrayList<>();
+            report.add(String.format("%-12s %10s %12s %14s", "parallelism", "events", "median ms", "events/s"));
+            for (int parallelism : PARALLELISM) {
+                final var options = new ScanOptions(parallelism, null, null);
+                scan(store, options, events);
+                final long[] elapsed = new long[RUNS];
+                for (int run = 0; run < RUNS; run++) {
+                    elapsed[run] = scan(store, options, events);
+                }
+                Arrays.sort(elapsed);
+                final double medianMillis = elapsed[RUNS / 2] / 1_000_000.0;
+                report.add(String.format("%-12d %10d %12.1f %14.0f",
+                    parallelism, events, medianMillis, events / (medianMillis / 1000)));
+            }
+
+            log.info("Scan parallelism benchmark ({} events, {} RU/s, bufferedItems={}, maxItemCount={}):\n{}",
+                events, THROUGHPUT, config.scanMaxBufferedItemCount, config.scanMaxItemCount, String.join("\n", report));
+        } finally {
+            container.delete();
+        }
+    }
+
+    private int seed(CosmosContainer container) {
+        final List<CosmosItemOperation> operations = new ArrayList<>(TRANSACTIONS * EVENTS_PER_TRANSACTION);
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            final var transactionId = idGenerator.nextId();
+            for (int e = 0; e < EVENTS_PER_TRANSACTION; e++) {
+                final var event = new Event(
+                    idGenerator.nextId(),
+                    transactionId,
+                    e == EVENTS_PER_TRANSACTION - 1 ? EventType.FINALIZED : EventType.STARTED,
+                    Instant.now()
+                );
+                operations.add(CosmosBulkOperations.getCreateItemOperation(event, new PartitionKey(transactionId)));
+            }
+        }
+        int created = 0;
+        for (CosmosBulkOperationResponse<Object> response : container.executeBulkOperations(operations)) {
+            if (response.getResponse() != null && response.getResponse().isSuccessStatusCode()) {
+                created++;
+            }
+        }
+        log.info("Seeded {} events into the scan benchmark container", created);
+        return created;
+    }
+
+    /**
+     * Um scan completo; retorna o tempo em nanos.
+     */
+    private long scan(EventRepository store, ScanOptions options, int expected) {
+        final long start = System.nanoTime();
+        final long count;
+        try (Stream<Event> events = store.findAll(options)) {
+            count = events.count();
+        }
+        final long elapsed = System.nanoTime() - start;
+        if (count != expected) {
+            throw new IllegalStateException("Scan returned " + count + " events, expected " + expected);
+        }
+        return elapsed;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.cosmos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do teste de carga ({@link com.example.cosmos.loadtest.LoadTestRunner}, profile
+ * {@code load-test}).
+ * <p>
+ * A carga é open-loop: as requisições saem na taxa configurada independentemente das respostas,
+ * então um serviço lento acumula requisições em andamento em vez de reduzir a carga.
+ * </p>
+ */
+@ConfigurationProperties(prefix = "load-test")
+public class LoadTestConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestConfig.class);
+
+    public enum Arrivals {
+        /**
+         * Intervalo fixo entre requisições.
+         */
+        CONSTANT,
+        /**
+         * Intervalos exponenciais (processo de Poisson), com rajadas como as de clientes independentes.
+         */
+        POISSON
+    }
+
+    /**
+     * URL base do serviço testado; vazio = esta própria instância.
+     */
+    public final String targetUrl;
+
+    /**
+     * Requisições por segundo oferecidas.
+     */
+    public final double rate;
+
+    public final Arrivals arrivals;
+
+    /**
+     * Período inicial com carga, mas fora das medições.
+     */
+    public final Duration warmup;
+
+    /**
+     * Período medido, após o warmup.
+     */
+    public final Duration duration;
+
+    /**
+     * Pesos da mistura: criação (POST /api/events), leitura por ID (GET /api/events/{id}) e leitura
+     * da transação (GET /api/events?transactionId=).
+     */
+    public final int createWeight;
+    public final int readWeight;
+    public final int transactionReadWeight;
+
+    /**
+     * Transações gravadas antes da carga (via bulk), usadas pelas leituras.
+     */
+    public final int seedTransactions;
+    public final int eventsPerTransaction;
+
+    /**
+     * Máximo de requisições em andamento; além disso a requisição é descartada e contada
+     * ({@code dropped}), para que o próprio gerador não fique sem memória.
+     */
+    public final int maxInFlight;
+
+    public final Duration requestTimeout;
+
+    /**
+     * Diretório onde gravar a distribuição de percentis de cada operação ({@code .hgrm});
+     * vazio = não grava.
+     */
+    public final String histogramDirectory;
+
+    /**
+     * Encerra a aplicação ao final do teste.
+     */
+    public final boolean exitWhenDone;
+
+    public LoadTestConfig(
+        @DefaultValue("")
+        String targetUrl,
+        @DefaultValue("200")
+        double rate,
+        @DefaultValue("constant")
+        Arrivals arrivals,
+        @DefaultValue("10s")
+        Duration warmup,
+        @DefaultValue("60s")
+        Duration duration,
+        @DefaultValue("20")
+        int createWeight,
+        @DefaultValue("60")
+        int readWeight,
+        @DefaultValue("20")
+        int transactionReadWeight,
+        @DefaultValue("1000")
+        int seedTransactions,
+        @DefaultValue("4")
+        int eventsPerTransaction,
+        @DefaultValue("2000")
+        int maxInFlight,
+        @DefaultValue("10s")
+        Duration requestTimeout,
+        @DefaultValue("")
+        String histogramDirectory,
+        @DefaultValue("true")
+        boolean exitWhenDone
+    ) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("load-test.rate must be positive");
+        }
+        if (createWeight < 0 || readWeight < 0 || transactionReadWeight < 0
+            || createWeight + readWeight + transactionReadWeight == 0) {
+            throw new IllegalArgumentException("load-test weights must be non-negative and not all zero");
+        }
+        if ((readWeight > 0 || transactionReadWeight > 0) && (seedTransactions <= 0 || eventsPerTransaction <= 0)) {
+            throw new IllegalArgumentException("load-test reads need seed-transactions and events-per-transaction");
+        }
+        this.targetUrl = targetUrl;
+        this.rate = rate;
+        this.arrivals = arrivals;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.createWeight = createWeight;
+        this.readWeight = readWeight;
+        this.transactionReadWeight = transactionReadWeight;
+        this.seedTransactions = seedTransactions;
+        this.eventsPerTransaction = eventsPerTransaction;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.histogramDirectory = histogramDirectory;
+        this.exitWhenDone = exitWhenDone;
+
+        log.info("loadTest.targetUrl={}", targetUrl);
+        log.info("loadTest.rate={}", rate);
+        log.info("loadTest.arrivals={}", arrivals);
+        log.info("loadTest.warmup={}", warmup);
+        log.info("loadTest.duration={}", duration);
+        log.info("loadTest.mix=create:{},read:{},transactionRead:{}", createWeight, readWeight, transactionReadWeight);
+        log.info("loadTest.seed={}x{}", seedTransactions, eventsPerTransaction);
+        log.info("loadTest.maxInFlight={}", maxInFlight);
+        log.info("loadTest.requestTimeout={}", requestTimeout);
+    }
+}
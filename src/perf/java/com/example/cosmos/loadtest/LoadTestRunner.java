@@ -0,0 +1,268 @@
+package com.example.cosmos.loadtest;
+
+import com.example.cosmos.config.LoadTestConfig;
+import com.example.cosmos.controller.dto.BulkEventResultResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Teste de carga dos endpoints HTTP de eventos.
+ * <p>
+ * Grava um conjunto inicial de transações via {@code POST /api/events/bulk} e então dispara
+ * requisições open-loop na taxa configurada ({@link LoadTestConfig}), sorteando a operação
+ * pelos pesos da mistura: criação, leitura por ID e leitura da transação. As leituras escolhem
+ * eventos e transações do conjunto inicial. Ao final reporta, por operação, o throughput
+ * alcançado, os percentis de latência (histograma HDR) e as respostas por status (429/503 do
+ * admission control, 500 de timeouts etc.).
+ * </p>
+ * <p>
+ * Sem {@code target-url} a carga vai para esta própria instância; com
+ * {@code azure.cosmos.repository-mode=memory} e as falhas de {@code event-store.memory.*}
+ * (latência, 429 com retry-after, timeouts) o teste roda sem Azure:
+ * {@code ./gradlew bootRunPerf --args='--spring.profiles.active=load-test --azure.cosmos.repository-mode=memory'}.
+ * Fica no source set {@code perf}, fora do jar da aplicação.
+ * </p>
+ */
+@Component
+@Profile("load-test")
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final int SEED_CHUNK_TRANSACTIONS = 250;
+    private static final String CREATE_BODY = "{\"eventType\":\"STARTED\"}";
+
+    enum Operation {
+        CREATE("create"),
+        READ("read"),
+        TRANSACTION_READ("transaction-read");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    private record SeededEvent(String id, String transactionId) {
+    }
+
+    private final LoadTestConfig config;
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+    private final HttpClient client;
+
+    public LoadTestRunner(
+        LoadTestConfig config,
+        Environment environment,
+        ObjectMapper objectMapper,
+        ConfigurableApplicationContext context
+    ) {
+        this.config = config;
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.context = context;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(config.requestTimeout)
+            .build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        // O servidor já está no ar quando os ApplicationRunners rodam
+        final String baseUrl = config.targetUrl.isBlank()
+            ? "http://localhost:" + environment.getProperty("local.server.port", "8080")
+            : config.targetUrl.replaceAll("/+$", "");
+        log.info("Load test against {}: {} req/s ({}), warmup {}, duration {}",
+            baseUrl, config.rate, config.arrivals, config.warmup, config.duration);
+
+        final List<SeededEvent> seeded = seed(baseUrl);
+        final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation.label));
+        }
+        final var total = new OperationStats("total");
+
+        final long sent = drive(baseUrl, seeded, stats, total);
+
+        final double seconds = config.duration.toNanos() / 1e9;
+        final List<String> report = new ArrayList<>();
+        report.add(OperationStats.header());
+        for (OperationStats operation : stats.values()) {
+            if (operation.completed() > 0) {
+                report.add(operation.line(seconds));
+            }
+        }
+        report.add(total.line(seconds));
+        log.info("Load test finished: offered {} req/s, sent {} req/s, completed {} req/s\n{}",
+            config.rate, String.format("%.1f", sent / seconds), String.format("%.1f", total.completed() / seconds),
+            String.join("\n", report));
+
+        if (!config.histogramDirectory.isBlank()) {
+            final Path directory = Path.of(config.histogramDirectory);
+            for (OperationStats operation : stats.values()) {
+                operation.write(directory);
+            }
+            total.write(directory);
+            log.info("Latency histograms written to {}", directory.toAbsolutePath());
+        }
+
+        if (config.exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    /**
+     * Grava as transações iniciais em lotes NDJSON, com transactionIds gerados aqui; retorna os
+     * eventos gravados com sucesso (falhas injetadas ficam de fora).
+     */
+    private List<SeededEvent> seed(String baseUrl) throws IOException, InterruptedException {
+        final List<SeededEvent> seeded = new ArrayList<>(config.seedTransactions * config.eventsPerTransaction);
+        for (int first = 0; first < config.seedTransactions; first += SEED_CHUNK_TRANSACTIONS) {
+            final int last = Math.min(first + SEED_CHUNK_TRANSACTIONS, config.seedTransactions);
+            final var body = new StringBuilder();
+            for (int t = first; t < last; t++) {
+                final String transactionId = "load-" + UUID.randomUUID();
+                for (int e = 0; e < config.eventsPerTransaction; e++) {
+                    body.append("{\"transactionId\":\"").append(transactionId).append("\",\"eventType\":\"")
+                        .append(e == config.eventsPerTransaction - 1 ? "FINALIZED" : "STARTED").append("\"}\n");
+                }
+            }
+            final var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/events/bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+            final HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            try (var lines = response.body()) {
+                lines.filter(line -> !line.isBlank()).forEach(line -> {
+                    try {
+                        final var result = objectMapper.readValue(line, BulkEventResultResponse.class);
+                        if (result.getStatus() >= 200 && result.getStatus() < 300) {
+                            seeded.add(new SeededEvent(result.getId(), result.getTransactionId()));
+                        }
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Unexpected bulk response line: " + line, e);
+                    }
+                });
+            }
+        }
+        if (seeded.isEmpty() && (config.readWeight > 0 || config.transactionReadWeight > 0)) {
+            throw new IllegalStateException("No events were seeded; reads have nothing to read");
+        }
+        log.info("Seeded {} events ({} requested)", seeded.size(), config.seedTransactions * config.eventsPerTransaction);
+        return seeded;
+    }
+
+    /**
+     * Laço open-loop: cada requisição tem um instante previsto de saída, calculado só pela taxa.
+     * Retorna quantas requisições medidas foram enviadas.
+     */
+    private long drive(String baseUrl, List<SeededEvent> seeded, Map<Operation, OperationStats> stats, OperationStats total)
+        throws InterruptedException {
+        final var inFlight = new Semaphore(config.maxInFlight);
+        final double meanIntervalNanos = 1e9 / config.rate;
+        final long start = System.nanoTime();
+        final long measureFrom = start + config.warmup.toNanos();
+        final long end = measureFrom + config.duration.toNanos();
+        long sent = 0;
+        double intended = start;
+
+        while (intended < end) {
+            final long scheduled = (long) intended;
+            long now;
+            while ((now = System.nanoTime()) < scheduled) {
+                LockSupport.parkNanos(scheduled - now);
+            }
+            final boolean measured = scheduled >= measureFrom;
+            final Operation operation = pick();
+            final OperationStats operationStats = stats.get(operation);
+
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    operationStats.drop();
+                    total.drop();
+                }
+            } else {
+                if (measured) {
+                    sent++;
+                }
+                client.sendAsync(request(baseUrl, operation, seeded), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (measured) {
+                            final long latency = System.nanoTime() - scheduled;
+                            final int status = response != null ? response.statusCode() : OperationStats.NO_RESPONSE;
+                            operationStats.record(status, latency);
+                            total.record(status, latency);
+                        }
+                        inFlight.release();
+                    });
+            }
+            intended += config.arrivals == LoadTestConfig.Arrivals.POISSON
+                ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos
+                : meanIntervalNanos;
+        }
+
+        // Espera as requisições em andamento (no máximo um timeout)
+        if (inFlight.tryAcquire(config.maxInFlight, config.requestTimeout.toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+            inFlight.release(config.maxInFlight);
+        } else {
+            log.warn("Some requests were still in flight at the end of the load test");
+        }
+        return sent;
+    }
+
+    private Operation pick() {
+        int draw = ThreadLocalRandom.current().nextInt(config.createWeight + config.readWeight + config.transactionReadWeight);
+        if (draw < config.createWeight) {
+            return Operation.CREATE;
+        }
+        draw -= config.createWeight;
+        return draw < config.readWeight ? Operation.READ : Operation.TRANSACTION_READ;
+    }
+
+    private HttpRequest request(String baseUrl, Operation operation, List<SeededEvent> seeded) {
+        final HttpRequest.Builder builder;
+        if (operation == Operation.CREATE) {
+            builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/events"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(CREATE_BODY));
+        } else {
+            final SeededEvent event = seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+            final String transactionId = URLEncoder.encode(event.transactionId(), StandardCharsets.UTF_8);
+            final String path = operation == Operation.READ
+                ? "/api/events/" + URLEncoder.encode(event.id(), StandardCharsets.UTF_8) + "?transactionId=" + transactionId
+                : "/api/events?transactionId=" + transactionId;
+            builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        }
+        return builder.timeout(config.requestTimeout).build();
+    }
+}
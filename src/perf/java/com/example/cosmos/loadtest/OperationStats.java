@@ -0,0 +1,83 @@
+package com.example.cosmos.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Medições de uma operação do teste de carga: histograma HDR de latência (em microssegundos) e
+ * contagem de respostas por status.
+ * <p>
+ * A latência é medida a partir do instante em que a requisição deveria ter saído, não de quando
+ * saiu: se o gerador atrasar (GC, fila de envio), o atraso entra na medição em vez de sumir
+ * (coordinated omission).
+ * </p>
+ */
+final class OperationStats {
+
+    // Status das requisições sem resposta (timeout ou erro de conexão)
+    static final int NO_RESPONSE = 0;
+
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    void record(int status, long latencyNanos) {
+        latency.recordValue(Math.max(1, latencyNanos / 1_000));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Requisição não enviada por excesso de requisições em andamento.
+     */
+    void drop() {
+        dropped.increment();
+    }
+
+    long completed() {
+        return latency.getTotalCount();
+    }
+
+    static String header() {
+        return String.format("%-18s %9s %10s %9s %9s %9s %9s %9s %8s  %s",
+            "operation", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "dropped", "statuses");
+    }
+
+    String line(double seconds) {
+        final Map<String, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status == NO_RESPONSE ? "none" : status.toString(), count.sum()));
+        return String.format("%-18s %9d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %8d  %s",
+            name, completed(), completed() / seconds,
+            millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+            millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+            millis(latency.getMaxValue()), dropped.sum(), byStatus);
+    }
+
+    /**
+     * Grava a distribuição de percentis em milissegundos (formato {@code .hgrm}, plotável no
+     * HdrHistogram plotter).
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+            latency.outputPercentileDistribution(out, 1_000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.cosmos.admission;
+
+import com.example.cosmos.config.AdmissionControlConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Uma permissão de leitura, sem crescer: um vazamento recusaria a próxima chamada
+    private final AdmissionControl admission = new AdmissionControl(
+        new AdmissionControlConfig(true, 1, 1, 1, 1, 1, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1)),
+        meterRegistry
+    );
+
+    @Test
+    void releasesPermitWhenTheCallFailsToAssemble() {
+        Supplier<Mono<String>> failing = () -> {
+            throw new IllegalArgumentException("bad request");
+        };
+        Supplier<Flux<String>> failingMany = () -> {
+            throw new IllegalArgumentException("bad request");
+        };
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> admission.read(failing).block()).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> admission.readMany(failingMany).blockLast()).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(admission.read(() -> Mono.just("ok")).block()).isEqualTo("ok");
+        assertThat(inFlight("read")).isZero();
+    }
+
+    @Test
+    void rejectsWhenNoPermitIsLeft() {
+        var pending = admission.read(Mono::<String>never).subscribe();
+
+        assertThatThrownBy(() -> admission.read(() -> Mono.just("ok")).block())
+            .isInstanceOfSatisfying(ServiceOverloadedException.class,
+                e -> assertThat(e.getStatus().value()).isEqualTo(503));
+
+        pending.dispose();
+        assertThat(inFlight("read")).isZero();
+        assertThat(admission.read(() -> Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    private double inFlight(String budget) {
+        return meterRegistry.get("events.admission.in-flight").tag("budget", budget).gauge().value();
+    }
+}
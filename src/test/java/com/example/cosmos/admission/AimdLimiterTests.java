@@ -0,0 +1,56 @@
+package com.example.cosmos.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTests {
+
+    private static final long THRESHOLD = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void rejectsAboveLimitWithoutBlocking() {
+        var limiter = new AimdLimiter(2, 1, 10, 0.5, THRESHOLD);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(System.nanoTime(), AimdLimiter.Outcome.IGNORED);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void burstOfThrottlingDecreasesOnce() {
+        var limiter = new AimdLimiter(8, 1, 10, 0.5, THRESHOLD);
+        var start = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire();
+        }
+
+        for (int i = 0; i < 8; i++) {
+            limiter.release(start, AimdLimiter.Outcome.OVERLOADED);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void fastResponsesUnderLoadIncreaseLimit() {
+        var limiter = new AimdLimiter(4, 1, 10, 0.5, THRESHOLD);
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < limiter.getLimit(); i++) {
+                limiter.tryAcquire();
+            }
+            while (limiter.getInFlight() > 0) {
+                limiter.release(System.nanoTime(), AimdLimiter.Outcome.SUCCESS);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(4).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.cosmos.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexingPoliciesTests {
+
+    @Test
+    void addsCompactCounterpartsOfRenamedFields() {
+        var paths = IndexingPolicies.withCompactPaths(List.of("/transactionId/?", "/eventType/?", "/timestamp/?"));
+
+        assertThat(paths).containsExactly("/transactionId/?", "/eventType/?", "/timestamp/?", "/e/?", "/ts/?");
+    }
+
+    @Test
+    void addsCompactCompositeIndexes() {
+        var composites = IndexingPolicies.withCompactPaths(List.of("/transactionId ASC;/timestamp DESC"));
+
+        assertThat(composites).containsExactly("/transactionId ASC;/timestamp DESC", "/transactionId ASC;/ts DESC");
+    }
+
+    @Test
+    void leavesFieldsWithTheSamePrefixAlone() {
+        assertThat(IndexingPolicies.withCompactPaths(List.of("/timestampUtc/?"))).containsExactly("/timestampUtc/?");
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.cosmos.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RawEventJsonTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void dropsSystemPropertiesAndExpandsCompactDocuments() throws Exception {
+        var full = objectMapper.readTree("""
+            {"id":"a","transactionId":"tx-1","eventType":"STARTED","timestamp":"2024-01-01T10:00:00.123Z","_rid":"x","_etag":"\\"1\\"","_ts":1704103200}
+            """);
+        var compact = objectMapper.readTree("""
+            {"id":"b","transactionId":"tx-1","e":"F","ts":1704103200123,"_rid":"y","_ts":1704103200}
+            """);
+
+        var out = new ByteArrayOutputStream();
+        RawEventJson.writeJsonArray(List.of(full, compact), out);
+        var json = out.toString(StandardCharsets.UTF_8);
+
+        assertThat(json).isEqualTo("[" +
+            "{\"id\":\"a\",\"transactionId\":\"tx-1\",\"eventType\":\"STARTED\",\"timestamp\":\"2024-01-01T10:00:00.123Z\"}," +
+            "{\"id\":\"b\",\"transactionId\":\"tx-1\",\"eventType\":\"FINALIZED\",\"timestamp\":\"2024-01-01T10:00:00.123Z\"}" +
+            "]");
+    }
+
+    @Test
+    void writesNothingWhenTheReadFailsBeforeTheFirstDocument() {
+        var out = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> RawEventJson.writeJsonArray(Flux.<JsonNode>error(new IllegalStateException("429")).toIterable(), out))
+            .hasMessage("429");
+        assertThat(out.size()).isZero();
+    }
+
+    @Test
+    void leavesTheArrayOpenWhenTheReadFailsMidway() throws Exception {
+        var document = objectMapper.readTree("""
+            {"id":"a","transactionId":"tx-1","eventType":"STARTED","timestamp":"2024-01-01T10:00:00.123Z"}
+            """);
+        var out = new ByteArrayOutputStream();
+
+        Iterable<JsonNode> documents = () -> Stream.concat(
+            Stream.of(document),
+            Stream.<JsonNode>generate(() -> { throw new IllegalStateException("timeout"); })
+        ).iterator();
+
+        assertThatThrownBy(() -> RawEventJson.writeJsonArray(documents, out))
+            .hasMessage("timeout");
+        assertThat(out.toString(StandardCharsets.UTF_8)).startsWith("[{").doesNotEndWith("]");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.cosmos.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventFormatTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void readsFullAndCompactDocuments() throws Exception {
+        var full = """
+            {"id":"a","transactionId":"tx-1","eventType":"FINALIZED","timestamp":"2024-01-01T10:00:00.123Z","_ts":1704103200}
+            """;
+        var compact = """
+            {"id":"a","transactionId":"tx-1","e":"F","ts":1704103200123,"_ts":1704103200}
+            """;
+
+        var reader = objectMapper.readerFor(Event.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Event fromFull = reader.readValue(full);
+        Event fromCompact = reader.readValue(compact);
+
+        for (Event event : new Event[] {fromFull, fromCompact}) {
+            assertThat(event.getId()).isEqualTo("a");
+            assertThat(event.getTransactionId()).isEqualTo("tx-1");
+            assertThat(event.getEventType()).isEqualTo(EventType.FINALIZED);
+            assertThat(event.getTimestamp()).isEqualTo(Instant.parse("2024-01-01T10:00:00.123Z"));
+        }
+    }
+
+    @Test
+    void compactDocumentRoundTrips() throws Exception {
+        var event = new Event("a", "tx-1", EventType.STARTED, Instant.ofEpochMilli(1_704_103_200_123L));
+
+        var json = objectMapper.writeValueAsString(CompactEvent.from(event));
+        Event read = objectMapper.readValue(json, Event.class);
+
+        assertThat(json).doesNotContain("eventType").doesNotContain("timestamp");
+        assertThat(read.getEventType()).isEqualTo(EventType.STARTED);
+        assertThat(read.getTimestamp()).isEqualTo(event.getTimestamp());
+    }
+
+    @Test
+    void readsButNeverWritesTheCosmosEtag() throws Exception {
+        var json = """
+            {"id":"a","transactionId":"tx-1","eventType":"STARTED","timestamp":"2024-01-01T10:00:00Z","_etag":"\\"0000d20b\\""}
+            """;
+
+        Event event = objectMapper.readValue(json, Event.class);
+
+        assertThat(event.getEtag()).isEqualTo("\"0000d20b\"");
+        assertThat(objectMapper.writeValueAsString(event)).doesNotContain("etag");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.cosmos.projection;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionStatusProjectionTests {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void mergesEventsInAnyOrder() {
+        var projection = new TransactionStatusProjection(new SimpleMeterRegistry());
+
+        projection.apply(event("b", "tx-1", EventType.FINALIZED, T0.plusSeconds(30)));
+        projection.apply(event("a", "tx-1", EventType.STARTED, T0));
+        projection.apply(event("c", "tx-2", EventType.STARTED, T0.plusSeconds(5)));
+
+        var status = projection.get("tx-1").orElseThrow();
+        assertThat(status.isFinalized()).isTrue();
+        assertThat(status.getFirstTimestamp()).isEqualTo(T0);
+        assertThat(status.getLastTimestamp()).isEqualTo(T0.plusSeconds(30));
+        assertThat(status.getEventCount()).isEqualTo(2);
+        assertThat(projection.get("tx-2").orElseThrow().isFinalized()).isFalse();
+        assertThat(projection.get("tx-3")).isEmpty();
+    }
+
+    @Test
+    void checkpointRoundTrip() throws Exception {
+        var objectMapper = new ObjectMapper();
+        var projection = new TransactionStatusProjection(new SimpleMeterRegistry());
+        projection.apply(event("a", "tx-1", EventType.STARTED, T0));
+        projection.apply(event("b", "tx-1", EventType.FINALIZED, T0.plusSeconds(30)));
+        projection.apply(event("c", "tx-2", EventType.STARTED, T0.plusSeconds(5)));
+        var file = directory.resolve("checkpoint.json");
+
+        TransactionStatusChangeFeed.Checkpoint.of("continuation-1", projection.snapshot()).write(objectMapper, file);
+        var restored = new TransactionStatusProjection(new SimpleMeterRegistry());
+        var checkpoint = TransactionStatusChangeFeed.Checkpoint.read(objectMapper, file);
+        restored.restore(checkpoint.snapshot());
+
+        assertThat(checkpoint.continuation()).isEqualTo("continuation-1");
+        assertThat(restored.snapshot()).hasSize(2);
+        for (String transactionId : new String[] {"tx-1", "tx-2"}) {
+            assertThat(restored.get(transactionId).orElseThrow())
+                .usingRecursiveComparison()
+                .isEqualTo(projection.get(transactionId).orElseThrow());
+        }
+    }
+
+    private static Event event(String id, String transactionId, EventType type, Instant timestamp) {
+        return new Event(id, transactionId, type, timestamp);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTests {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T13:00:00Z");
+
+    @Test
+    void prefersTheCosmosEtag() {
+        var event = new Event("a", "tx-1", EventType.STARTED, T0);
+        var computed = ETags.of(event);
+
+        event.setEtag("\"0000d20b-0000-0200-0000-663240000000\"");
+
+        assertThat(computed).startsWith("\"").endsWith("\"");
+        assertThat(ETags.of(event)).isEqualTo("\"0000d20b-0000-0200-0000-663240000000\"");
+    }
+
+    @Test
+    void listTagIgnoresOrderButNotContentOrVariant() {
+        var started = new Event("a", "tx-1", EventType.STARTED, T0);
+        var finalized = new Event("b", "tx-1", EventType.FINALIZED, T0.plusSeconds(1));
+
+        var tag = ETags.of(List.of(started, finalized), "*");
+
+        assertThat(ETags.of(List.of(finalized, started), "*")).isEqualTo(tag);
+        assertThat(ETags.of(List.of(started), "*")).isNotEqualTo(tag);
+        assertThat(ETags.of(List.of(started, finalized), "id")).isNotEqualTo(tag);
+    }
+
+    @Test
+    void matchesIfNoneMatchLists() {
+        assertThat(ETags.matches("\"x\", W/\"y\"", "\"y\"")).isTrue();
+        assertThat(ETags.matches("*", "\"y\"")).isTrue();
+        assertThat(ETags.matches("\"x\"", "\"y\"")).isFalse();
+        assertThat(ETags.matches(null, "\"y\"")).isFalse();
+
+        assertThat(ETags.single(" \"y\" ")).isEqualTo("\"y\"");
+        assertThat(ETags.single("W/\"y\"")).isNull();
+        assertThat(ETags.single("\"x\", \"y\"")).isNull();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.cosmos.repository;
+
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventProjectionTests {
+
+    @Test
+    void selectsBothDocumentFormatsInFieldOrder() {
+        var projection = EventProjection.of("timestamp, id,eventType");
+
+        assertThat(projection.isAll()).isFalse();
+        assertThat(projection.select()).isEqualTo("SELECT c.id, c.eventType, c.e, c.timestamp, c.ts");
+        assertThat(EventQuery.byTransactionId("tx-1", projection).spec().getQueryText())
+            .isEqualTo("SELECT c.id, c.eventType, c.e, c.timestamp, c.ts FROM c WHERE c.transactionId = @transactionId");
+    }
+
+    @Test
+    void emptyOrCompleteFieldListIsTheWholeDocument() {
+        assertThat(EventProjection.of(null)).isSameAs(EventProjection.ALL);
+        assertThat(EventProjection.of(" ")).isSameAs(EventProjection.ALL);
+        assertThat(EventProjection.of("id,transactionId,eventType,timestamp").select()).isEqualTo("SELECT *");
+    }
+
+    @Test
+    void appliesInMemory() {
+        var event = new Event("a", "tx-1", EventType.STARTED, Instant.parse("2024-05-01T13:00:00Z"));
+
+        var projected = EventProjection.of("id,eventType").apply(event);
+
+        assertThat(projected.getId()).isEqualTo("a");
+        assertThat(projected.getEventType()).isEqualTo(EventType.STARTED);
+        assertThat(projected.getTransactionId()).isNull();
+        assertThat(projected.getTimestamp()).isNull();
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        assertThatThrownBy(() -> EventProjection.of("id,payload"))
+            .isInstanceOf(InvalidQueryException.class)
+            .hasMessageContaining("payload");
+    }
+
+    @Test
+    void sumsGroupByRowsOfBothFormats() {
+        var counts = EventTypeCounts.fromRows(List.of(
+            new EventTypeCounts.Row("STARTED", null, 3),
+            new EventTypeCounts.Row(null, "S", 2),
+            new EventTypeCounts.Row(null, "F", 1)
+        ));
+
+        assertThat(counts.counts()).containsEntry(EventType.STARTED, 5L).containsEntry(EventType.FINALIZED, 1L);
+        assertThat(counts.total()).isEqualTo(6);
+    }
+}
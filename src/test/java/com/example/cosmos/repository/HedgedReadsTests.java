@@ -0,0 +1,69 @@
+package com.example.cosmos.repository;
+
+import com.azure.cosmos.CosmosException;
+import com.example.cosmos.config.BulkIngestConfig;
+import com.example.cosmos.config.ExecutionMode;
+import com.example.cosmos.config.HedgingConfig;
+import com.example.cosmos.config.InMemoryStoreConfig;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.memory.InMemoryEventStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedReadsTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void hedgeWinsOverSlowRead() {
+        // Uma a cada duas leituras é lenta: a 2ª (original) demora, a 3ª (hedge) não
+        var store = new InMemoryEventStore(InMemoryStoreConfig.readLatency(Duration.ZERO, 2, Duration.ofSeconds(2)));
+        var event = new Event("a", "tx-1", EventType.STARTED, Instant.now());
+        store.save(event);
+        var repository = repository(store);
+
+        assertThat(repository.findById("a", "tx-1").block()).isEqualTo(event);
+        assertThat(hedges("fired")).isZero();
+
+        var start = System.nanoTime();
+        assertThat(repository.findById("a", "tx-1").block()).isEqualTo(event);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(hedges("fired")).isEqualTo(1);
+        assertThat(hedges("won")).isEqualTo(1);
+    }
+
+    @Test
+    void notFoundIsAnAnswer() {
+        var store = new InMemoryEventStore(InMemoryStoreConfig.noLatency());
+
+        assertThat(repository(store).findById("missing", "tx-1").block()).isNull();
+        assertThat(hedges("fired")).isZero();
+    }
+
+    @Test
+    void throttledReadIsAnErrorNotAMiss() {
+        // Todas as operações recebem 429, como o Cosmos sob throttling
+        var store = new InMemoryEventStore(new InMemoryStoreConfig(Duration.ZERO, 0, Duration.ZERO, Duration.ZERO,
+            Duration.ZERO, 1, Duration.ofMillis(250), 0, Duration.ZERO));
+
+        assertThatThrownBy(() -> repository(store).findById("a", "tx-1").block())
+            .isInstanceOfSatisfying(CosmosException.class, e -> assertThat(e.getStatusCode()).isEqualTo(429));
+    }
+
+    private BlockingEventRepository repository(InMemoryEventStore store) {
+        var hedgedReads = new HedgedReads(new HedgingConfig(true, Duration.ofMillis(50)), meterRegistry);
+        return new BlockingEventRepository(store, new BulkIngestConfig(100, 4), hedgedReads, ExecutionMode.platform());
+    }
+
+    private double hedges(String outcome) {
+        var counter = meterRegistry.find("events.read.hedge").tags("operation", "findById", "outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.cosmos.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScanPipelineTests {
+
+    private static final Thread.Builder PRODUCER = Thread.ofPlatform().name("scan-producer").daemon();
+
+    @Test
+    void emitsAllPagesInOrder() {
+        List<List<Integer>> pages = List.of(List.of(1, 2), List.of(), List.of(3), List.of(4, 5, 6));
+
+        try (var stream = ScanPipeline.stream(pages, 1, PRODUCER)) {
+            assertThat(stream.toList()).containsExactly(1, 2, 3, 4, 5, 6);
+        }
+    }
+
+    @Test
+    void producerStaysWithinCapacity() throws InterruptedException {
+        var produced = new AtomicInteger();
+        Iterable<List<Integer>> pages = () -> IntStream.range(0, 100)
+            .mapToObj(i -> {
+                produced.incrementAndGet();
+                return List.of(i);
+            })
+            .iterator();
+
+        try (var stream = ScanPipeline.stream(pages, 2, PRODUCER)) {
+            Iterator<Integer> iterator = stream.iterator();
+            assertThat(iterator.next()).isZero();
+            Thread.sleep(100);
+            // A página consumida, as 2 da fila e a que o produtor tenta enfileirar
+            assertThat(produced.get()).isLessThanOrEqualTo(4);
+        }
+    }
+
+    @Test
+    void propagatesProducerFailure() {
+        Iterable<List<Integer>> pages = () -> IntStream.range(0, 3)
+            .mapToObj(i -> {
+                if (i == 2) {
+                    throw new IllegalStateException("boom");
+                }
+                return List.of(i);
+            })
+            .iterator();
+
+        try (var stream = ScanPipeline.stream(pages, 4, PRODUCER)) {
+            assertThatThrownBy(stream::toList).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        }
+    }
+}
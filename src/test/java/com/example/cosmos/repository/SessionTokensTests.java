@@ -0,0 +1,52 @@
+package com.example.cosmos.repository;
+
+import org.junit.jupiter.api.Test;
+import reactor.util.context.Context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionTokensTests {
+
+    @Test
+    void mergesTokensByPartition() {
+        var tokens = SessionTokens.forRequest(null);
+        tokens.onWrite("0:1#10");
+        tokens.onWrite("1:1#5");
+        tokens.onWrite("0:1#12");
+
+        assertThat(tokens.written()).isEqualTo("0:1#12,1:1#5");
+    }
+
+    @Test
+    void noWritesNoToken() {
+        assertThat(SessionTokens.forRequest(null).written()).isNull();
+    }
+
+    @Test
+    void blankRequestedTokenIsIgnored() {
+        assertThat(SessionTokens.forRequest(" ").requested()).isNull();
+        assertThat(SessionTokens.forRequest("0:1#12").requested()).isEqualTo("0:1#12");
+    }
+
+    @Test
+    void withoutContextWritesAreDiscarded() {
+        var none = SessionTokens.of(Context.empty());
+        none.onWrite("0:1#10");
+
+        assertThat(none.written()).isNull();
+        assertThat(SessionTokens.current()).isSameAs(none);
+    }
+
+    @Test
+    void threadBridgeRestoresPrevious() {
+        var outer = SessionTokens.forRequest("0:1#1");
+        var inner = SessionTokens.forRequest("0:1#2");
+
+        SessionTokens.with(outer, () -> {
+            assertThat(SessionTokens.with(inner, SessionTokens::current)).isSameAs(inner);
+            assertThat(SessionTokens.current()).isSameAs(outer);
+            return null;
+        });
+        assertThat(SessionTokens.current().requested()).isNull();
+    }
+}
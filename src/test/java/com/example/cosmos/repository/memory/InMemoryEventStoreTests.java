@@ -0,0 +1,80 @@
+package com.example.cosmos.repository.memory;
+
+import com.azure.cosmos.CosmosException;
+import com.example.cosmos.config.InMemoryStoreConfig;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.EventWriteResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryEventStoreTests {
+
+    @Test
+    void throttlesLikeCosmos() {
+        var store = new InMemoryEventStore(faults(1, 0));
+
+        assertThatThrownBy(() -> store.save(event("a")))
+            .isInstanceOfSatisfying(CosmosException.class, e -> {
+                assertThat(e.getStatusCode()).isEqualTo(429);
+                assertThat(e.getRetryAfterDuration()).isEqualTo(Duration.ofMillis(250));
+            });
+        assertThatThrownBy(() -> store.findById("a", "tx-1"))
+            .isInstanceOfSatisfying(CosmosException.class, e -> assertThat(e.getStatusCode()).isEqualTo(429));
+        assertThat(store.saveAll(List.of(event("b"), event("c"))))
+            .extracting(EventWriteResult::getStatusCode)
+            .containsExactly(429, 429);
+        assertThat(store.findAll()).isEmpty();
+    }
+
+    @Test
+    void timesOutAfterTheConfiguredDelay() {
+        var store = new InMemoryEventStore(faults(0, 1));
+
+        final long start = System.nanoTime();
+        assertThatThrownBy(() -> store.findByTransactionId("tx-1"))
+            .isInstanceOfSatisfying(CosmosException.class, e -> assertThat(e.getStatusCode()).isEqualTo(408));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    void noFaultsByDefault() {
+        var store = new InMemoryEventStore(InMemoryStoreConfig.noLatency());
+        var event = event("a");
+
+        store.save(event);
+
+        assertThat(store.findById("a", "tx-1")).contains(event);
+        assertThat(store.findByTransactionId("tx-1")).containsExactly(event);
+    }
+
+    @Test
+    void transactionEventsComeOrderedById() {
+        var store = new InMemoryEventStore(InMemoryStoreConfig.noLatency());
+        var ids = List.of("01M5C", "01M5A", "01M5D", "01M5B");
+
+        ids.forEach(id -> store.save(event(id)));
+
+        assertThat(store.findByTransactionId("tx-1")).extracting(Event::getId)
+            .containsExactly("01M5A", "01M5B", "01M5C", "01M5D");
+        var first = store.findPage("tx-1", 2, null);
+        assertThat(first.getItems()).extracting(Event::getId).containsExactly("01M5A", "01M5B");
+        assertThat(store.findPage("tx-1", 2, first.getContinuationToken()).getItems())
+            .extracting(Event::getId).containsExactly("01M5C", "01M5D");
+    }
+
+    private static InMemoryStoreConfig faults(double throttleRate, double timeoutRate) {
+        return new InMemoryStoreConfig(Duration.ZERO, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+            throttleRate, Duration.ofMillis(250), timeoutRate, Duration.ofMillis(50));
+    }
+
+    private static Event event(String id) {
+        return new Event(id, "tx-1", EventType.STARTED, Instant.now());
+    }
+}
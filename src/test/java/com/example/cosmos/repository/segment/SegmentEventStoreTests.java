@@ -0,0 +1,79 @@
+package com.example.cosmos.repository.segment;
+
+import com.example.cosmos.config.SegmentStoreConfig;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentEventStoreTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savesAndFindsEvents() throws Exception {
+        try (var store = open(DataSize.ofMegabytes(1))) {
+            var started = event("tx-1", "a", EventType.STARTED);
+            var finalized = event("tx-1", "b", EventType.FINALIZED);
+            store.save(started);
+            store.save(finalized);
+            store.save(event("tx-2", "a", EventType.STARTED));
+
+            assertThat(store.findById("a", "tx-1")).contains(started);
+            assertThat(store.findById("a", "tx-2")).isPresent();
+            assertThat(store.findById("c", "tx-1")).isEmpty();
+            assertThat(store.findByTransactionId("tx-1")).containsExactly(started, finalized);
+            assertThat(store.findAll()).hasSize(3);
+            assertThatThrownBy(() -> store.save(event("tx-1", "a", EventType.STARTED)))
+                .isInstanceOf(RuntimeException.class);
+        }
+    }
+
+    @Test
+    void rollsOverSegmentsAndRecoversIndexesOnReopen() throws Exception {
+        final List<Event> saved = new ArrayList<>();
+        try (var store = open(DataSize.ofKilobytes(4))) {
+            for (int i = 0; i < 100; i++) {
+                var event = event("tx-" + (i % 3), "id-" + i, EventType.STARTED);
+                store.save(event);
+                saved.add(event);
+            }
+        }
+
+        try (var store = open(DataSize.ofKilobytes(4))) {
+            assertThat(store.findAll()).containsExactlyElementsOf(saved);
+            assertThat(store.findByTransactionId("tx-0"))
+                .containsExactlyElementsOf(saved.stream().filter(e -> e.getTransactionId().equals("tx-0")).toList());
+            assertThat(store.findById("id-99", "tx-0")).contains(saved.get(99));
+
+            var page = store.findPage(null, 40, null);
+            assertThat(page.getItems()).hasSize(40);
+            var next = store.findPage(null, 100, page.getContinuationToken());
+            assertThat(next.getItems()).hasSize(60);
+            assertThat(next.getContinuationToken()).isNull();
+        }
+    }
+
+    private SegmentEventStore open(DataSize segmentSize) throws Exception {
+        var config = new SegmentStoreConfig(directory.toString(), segmentSize, 16, true, Duration.ofMillis(1));
+        return new SegmentEventStore(config, objectMapper);
+    }
+
+    private static Event event(String transactionId, String id, EventType eventType) {
+        return new Event(id, transactionId, eventType, Instant.now());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.cosmos.service;
+
+import com.example.cosmos.config.EventReadCacheConfig;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventReadCacheTests {
+
+    private final EventReadCache cache = new EventReadCache(
+        new EventReadCacheConfig(true, 100, Duration.ofMinutes(5), true, 100, Duration.ofMinutes(5)),
+        new SimpleMeterRegistry()
+    );
+
+    private final Event started = new Event("a", "tx-1", EventType.STARTED, Instant.now());
+    private final Event finalized = new Event("b", "tx-1", EventType.FINALIZED, Instant.now());
+
+    @Test
+    void loadThatStartedBeforeAWriteIsNotCached() {
+        Sinks.One<List<Event>> backend = Sinks.one();
+        List<Event> firstRead = new ArrayList<>();
+        cache.getByTransactionId("tx-1", () -> backend.asMono().flatMapIterable(events -> events)).subscribe(firstRead::add);
+
+        // A escrita acontece enquanto a leitura ainda está no backend
+        cache.onSaved(finalized);
+        backend.tryEmitValue(List.of(started));
+
+        assertThat(firstRead).containsExactly(started);
+        assertThat(cache.getByTransactionId("tx-1", () -> Flux.just(started, finalized)).collectList().block())
+            .containsExactly(started, finalized);
+    }
+
+    @Test
+    void writeInvalidatesTheCachedTransaction() {
+        assertThat(cache.getByTransactionId("tx-1", () -> Flux.just(started)).collectList().block()).containsExactly(started);
+        assertThat(cache.getByTransactionId("tx-1", Flux::empty).collectList().block()).containsExactly(started);
+
+        cache.onSaved(finalized);
+
+        assertThat(cache.getByTransactionId("tx-1", () -> Flux.just(started, finalized)).collectList().block())
+            .containsExactly(started, finalized);
+        assertThat(cache.peekById("b", "tx-1")).isEqualTo(finalized);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.cosmos.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadCoalescerTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadCoalescer coalescer = new ReadCoalescer(meterRegistry);
+
+    @Test
+    void concurrentReadsShareOneCall() {
+        var calls = new AtomicInteger();
+        Sinks.One<String> backend = Sinks.one();
+
+        List<String> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            coalescer.coalesce("find", "key", () -> {
+                calls.incrementAndGet();
+                return backend.asMono();
+            }).subscribe(results::add);
+        }
+        backend.tryEmitValue("value");
+
+        assertThat(calls).hasValue(1);
+        assertThat(results).containsExactly("value", "value", "value", "value", "value");
+        assertThat(meterRegistry.counter("events.read.coalesced", "operation", "find").count()).isEqualTo(4);
+    }
+
+    @Test
+    void completedCallIsNotReused() {
+        var calls = new AtomicInteger();
+
+        coalescer.coalesce("find", "key", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+        var second = coalescer.coalesce("find", "key", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+
+        assertThat(second).isEqualTo(2);
+        assertThat(calls).hasValue(2);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.cosmos.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedEventIdGeneratorTests {
+
+    @Test
+    void idsSortByCreationOrder() {
+        // Relógio parado: a ordem tem que vir da sequência
+        var generator = new TimeOrderedEventIdGenerator(() -> 1_700_000_000_000L);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(ids).allMatch(id -> id.length() == TimeOrderedEventIdGenerator.LENGTH);
+    }
+
+    @Test
+    void encodesTimestampInLeadingCharacters() {
+        var earlier = new TimeOrderedEventIdGenerator(() -> 1_000L).nextId();
+        var later = new TimeOrderedEventIdGenerator(() -> 2_000L).nextId();
+
+        assertThat(earlier).isLessThan(later);
+        assertThat(TimeOrderedEventIdGenerator.encode(0, 0)).isEqualTo("0".repeat(26));
+        assertThat(TimeOrderedEventIdGenerator.encode(-1, -1)).isEqualTo("7" + "Z".repeat(25));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.cosmos.timeindex;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DisabledEventTimeIndexTests {
+
+    private final TimeRange range = new TimeRange(Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-05-02T00:00:00Z"), null);
+
+    @Test
+    void refusesAsAnErrorSignal() {
+        var index = new DisabledEventTimeIndex();
+
+        // Montar a consulta não lança: a recusa só aparece na assinatura, dentro do admission control
+        var events = index.findByTimeRange(range);
+        var counts = index.countByEventType(range);
+
+        assertThatThrownBy(events::blockLast).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(counts::block).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
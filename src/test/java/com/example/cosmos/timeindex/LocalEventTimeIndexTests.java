@@ -0,0 +1,51 @@
+package com.example.cosmos.timeindex;
+
+import com.example.cosmos.config.InMemoryStoreConfig;
+import com.example.cosmos.model.Event;
+import com.example.cosmos.model.EventType;
+import com.example.cosmos.repository.memory.InMemoryEventStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalEventTimeIndexTests {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T13:00:00Z");
+
+    @Test
+    void returnsTheWindowInTimestampOrder() {
+        var store = new InMemoryEventStore(InMemoryStoreConfig.noLatency());
+        var late = store.save(new Event("c", "tx-2", EventType.FINALIZED, T0.plusSeconds(30)));
+        var early = store.save(new Event("a", "tx-1", EventType.STARTED, T0.plusSeconds(10)));
+        store.save(new Event("z", "tx-3", EventType.STARTED, T0.plusSeconds(60)));
+        var index = new LocalEventTimeIndex(store);
+        index.replay();
+
+        var written = new Event("b", "tx-1", EventType.FINALIZED, T0.plusSeconds(20));
+        index.onSaved(written);
+
+        var range = new TimeRange(T0, T0.plusSeconds(60), null);
+        assertThat(index.findByTimeRange(range).collectList().block()).containsExactly(early, written, late);
+
+        var finalized = new TimeRange(T0, T0.plusSeconds(60), EventType.FINALIZED);
+        assertThat(index.findByTimeRange(finalized).collectList().block()).containsExactly(written, late);
+    }
+
+    @Test
+    void countsTheWindowByEventType() {
+        var store = new InMemoryEventStore(InMemoryStoreConfig.noLatency());
+        store.save(new Event("a", "tx-1", EventType.STARTED, T0.plusSeconds(10)));
+        store.save(new Event("b", "tx-1", EventType.FINALIZED, T0.plusSeconds(20)));
+        store.save(new Event("c", "tx-2", EventType.STARTED, T0.plusSeconds(30)));
+        store.save(new Event("d", "tx-2", EventType.FINALIZED, T0.plusSeconds(90)));
+        var index = new LocalEventTimeIndex(store);
+        index.replay();
+
+        var counts = index.countByEventType(new TimeRange(T0, T0.plusSeconds(60), EventType.FINALIZED)).block();
+
+        assertThat(counts.counts()).containsEntry(EventType.STARTED, 2L).containsEntry(EventType.FINALIZED, 1L);
+        assertThat(counts.total()).isEqualTo(3);
+    }
+}
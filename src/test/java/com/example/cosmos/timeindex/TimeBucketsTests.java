@@ -0,0 +1,47 @@
+package com.example.cosmos.timeindex;
+
+import com.example.cosmos.repository.InvalidQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeBucketsTests {
+
+    private final TimeBuckets buckets = new TimeBuckets(Duration.ofHours(1), 24);
+
+    @Test
+    void bucketIsTheStartOfTheHour() {
+        assertThat(buckets.bucketOf(Instant.parse("2024-05-01T13:59:59.999Z"))).isEqualTo("2024-05-01T13:00:00Z");
+        assertThat(buckets.bucketOf(Instant.parse("2024-05-01T14:00:00Z"))).isEqualTo("2024-05-01T14:00:00Z");
+    }
+
+    @Test
+    void rangeCoversOnlyItsBuckets() {
+        var range = new TimeRange(Instant.parse("2024-05-01T13:30:00Z"), Instant.parse("2024-05-01T16:00:00Z"), null);
+
+        // to é exclusivo: o bucket das 16h não é lido
+        assertThat(buckets.bucketsOf(range)).containsExactly(
+            "2024-05-01T13:00:00Z",
+            "2024-05-01T14:00:00Z",
+            "2024-05-01T15:00:00Z"
+        );
+    }
+
+    @Test
+    void rejectsRangesLargerThanTheLimit() {
+        var range = new TimeRange(Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-05-02T00:00:01Z"), null);
+
+        assertThatThrownBy(() -> buckets.bucketsOf(range)).isInstanceOf(InvalidQueryException.class);
+    }
+
+    @Test
+    void rejectsEmptyRanges() {
+        var instant = Instant.parse("2024-05-01T00:00:00Z");
+
+        assertThatThrownBy(() -> new TimeRange(instant, instant, null)).isInstanceOf(InvalidQueryException.class);
+    }
+}